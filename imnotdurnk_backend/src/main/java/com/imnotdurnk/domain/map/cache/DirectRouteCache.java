@@ -0,0 +1,149 @@
+package com.imnotdurnk.domain.map.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imnotdurnk.domain.map.dto.MapDto;
+import com.imnotdurnk.global.util.RedisUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 환승 없는 경로 검색(/map) 결과의 2단계 캐시
+ *
+ * 1단계는 서버 메모리의 크기 제한 LRU, 2단계는 Redis 로 여러 서버가 결과를 공유함
+ * 키는 {@link RouteCacheKey} 로 좌표와 시각을 묶고, 만료 시간은 시각 구간 길이와 같게 둠
+ * 시간표 버전을 키에 넣어서 시간표가 바뀌면 이전 결과를 쓰지 않음
+ * Redis 장애 시에는 캐시 없이 바로 검색하도록 예외를 삼킴
+ */
+@Component
+public class DirectRouteCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectRouteCache.class);
+
+    private static final String PREFIX = "map:direct";
+    private static final TypeReference<List<MapDto>> RESULT_TYPE = new TypeReference<>() {};
+
+    private final RedisUtil redisUtil;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final double cellSize;
+    private final int bucketSeconds;
+    private final Map<String, Entry> local;
+
+    private final Counter localHit;
+    private final Counter redisHit;
+    private final Counter miss;
+    private final Counter redisError;
+
+    public DirectRouteCache(RedisUtil redisUtil, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${map.cache.enabled:true}") boolean enabled,
+                            @Value("${map.cache.cell-size:100}") double cellSize,
+                            @Value("${map.cache.time-bucket:300}") int bucketSeconds,
+                            @Value("${map.cache.local-size:1000}") int localSize) {
+        this.redisUtil = redisUtil;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.cellSize = cellSize;
+        this.bucketSeconds = bucketSeconds;
+        this.local = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > localSize;
+            }
+        };
+
+        this.localHit = counter(meterRegistry, "local", "hit");
+        this.redisHit = counter(meterRegistry, "redis", "hit");
+        this.miss = counter(meterRegistry, "none", "miss");
+        this.redisError = counter(meterRegistry, "redis", "error");
+    }
+
+    /**
+     * 캐시된 결과를 반환하고, 없으면 검색해서 저장
+     *
+     * @param version 검색에 쓰는 시간표 버전, 시간표 없이 DB 로 검색하면 null
+     * @param time 기준 시각 (자정 기준 초)
+     * @param search 캐시에 없을 때 실행할 검색
+     * @return 검색 결과
+     */
+    public List<MapDto> get(String version, double startLat, double startLon, double destLat, double destLon, int time,
+                            Supplier<List<MapDto>> search) {
+        if (!enabled) return search.get();
+        String prefix = PREFIX + ":" + (version == null ? "db" : version);
+        String key = RouteCacheKey.of(prefix, cellSize, bucketSeconds, startLat, startLon, destLat, destLon, time);
+
+        List<MapDto> cached = getLocal(key);
+        if (cached != null) {
+            localHit.increment();
+            return cached;
+        }
+
+        String json = null;
+        try {
+            json = redisUtil.getData(key);
+        } catch (RuntimeException e) {
+            redisError.increment();
+            log.warn("경로 캐시 조회 실패: {}", e.getMessage());
+        }
+        if (json != null) {
+            try {
+                List<MapDto> result = objectMapper.readValue(json, RESULT_TYPE);
+                redisHit.increment();
+                putLocal(key, result);
+                return result;
+            } catch (JsonProcessingException e) {
+                log.warn("경로 캐시 역직렬화 실패: {}", key);
+            }
+        }
+
+        miss.increment();
+        List<MapDto> result = search.get();
+        putLocal(key, result);
+        try {
+            redisUtil.setDataExpire(key, objectMapper.writeValueAsString(result), bucketSeconds);
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisError.increment();
+            log.warn("경로 캐시 저장 실패: {}", e.getMessage());
+        }
+        return result;
+    }
+
+    private List<MapDto> getLocal(String key) {
+        synchronized (local) {
+            Entry entry = local.get(key);
+            if (entry == null) return null;
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                local.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    private void putLocal(String key, List<MapDto> value) {
+        synchronized (local) {
+            local.put(key, new Entry(value, System.currentTimeMillis() + bucketSeconds * 1000L));
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String level, String result) {
+        return Counter.builder("map.route.cache")
+                .description("환승 없는 경로 검색 결과 캐시 조회 수")
+                .tag("level", level)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Entry(List<MapDto> value, long expiresAt) {}
+}
@@ -0,0 +1,50 @@
+package com.imnotdurnk.domain.map.cache;
+
+import com.imnotdurnk.global.util.GeoUtil;
+
+/**
+ * 경로 검색 결과 캐시 키
+ *
+ * 출발지·목적지 좌표를 일정 크기(기본 100m)의 격자 칸으로, 기준 시각을 일정 길이(기본 5분)의 구간으로 맞춰서
+ * 같은 술집 골목에서 비슷한 시각에 보낸 요청이 같은 키를 갖게 함
+ */
+public final class RouteCacheKey {
+
+    // 위도 1도의 길이(m)
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * GeoUtil.EARTH_RADIUS_METERS;
+
+    private RouteCacheKey() {}
+
+    /**
+     * @param prefix 캐시 종류 구분용 접두어
+     * @param cellSize 격자 크기(m)
+     * @param bucketSeconds 시각 구간 길이(초)
+     * @param time 기준 시각 (자정 기준 초)
+     */
+    public static String of(String prefix, double cellSize, int bucketSeconds,
+                            double startLat, double startLon, double destLat, double destLon, int time) {
+        return prefix + ":" + cell(startLat, startLon, cellSize) + ":" + cell(destLat, destLon, cellSize)
+                + ":" + Math.floorDiv(time, bucketSeconds);
+    }
+
+    /**
+     * 시각과 관계없는 결과(외부 길찾기 응답 등)의 키
+     *
+     * @param prefix 캐시 종류 구분용 접두어
+     * @param cellSize 격자 크기(m)
+     */
+    public static String of(String prefix, double cellSize,
+                            double startLat, double startLon, double destLat, double destLon) {
+        return prefix + ":" + cell(startLat, startLon, cellSize) + ":" + cell(destLat, destLon, cellSize);
+    }
+
+    // 경도 방향 칸 크기는 칸이 속한 위도 줄의 중심 위도로 보정해서, 같은 줄 안에서는 항상 같은 값을 씀
+    private static String cell(double lat, double lon, double cellSize) {
+        double cellLat = cellSize / METERS_PER_DEGREE;
+        long row = (long) Math.floor(lat / cellLat);
+        double rowCenter = (row + 0.5) * cellLat;
+        double cellLon = cellSize / (METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(rowCenter))));
+        long col = (long) Math.floor(lon / cellLon);
+        return row + "," + col;
+    }
+}
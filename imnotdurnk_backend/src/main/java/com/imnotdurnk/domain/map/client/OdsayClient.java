@@ -0,0 +1,211 @@
+package com.imnotdurnk.domain.map.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imnotdurnk.domain.map.cache.RouteCacheKey;
+import com.imnotdurnk.global.exception.ApiRequestFailedException;
+import com.imnotdurnk.global.exception.QuotaExceededException;
+import com.imnotdurnk.global.util.RedisUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Odsay 대중교통 길찾기 API 클라이언트
+ *
+ * Odsay 는 호출 건수로 과금되므로 같은 술집에서 반복되는 조회가 한 번의 호출로 끝나도록 함
+ * - 출발지·도착지 좌표를 일정 크기(기본 50m)의 격자 칸으로 맞춘 키로 응답을 Redis 에 캐시
+ * - 같은 키로 동시에 들어온 조회는 진행 중인 요청 하나를 함께 기다림
+ * - 하루 호출 수를 Redis 에 세고, 한도를 넘으면 호출 전에 {@link QuotaExceededException}
+ * - 커넥션 풀을 가진 WebClient 하나를 재사용하고 연결·응답 대기 한도를 둠
+ * Redis 장애 시에는 캐시와 호출 수 집계 없이 바로 호출함
+ */
+@Component
+public class OdsayClient {
+
+    private static final Logger log = LoggerFactory.getLogger(OdsayClient.class);
+
+    private static final String BASE_URL = "https://api.odsay.com/v1/api";
+    private static final String PREFIX = "map:odsay";
+    private static final String QUOTA_PREFIX = "map:odsay:quota";
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final ObjectMapper objectMapper;
+    private final RedisUtil redisUtil;
+    private final Scheduler mapScheduler;
+    private final WebClient webClient;
+    private final String apiKey;
+    private final double cellSize;
+    private final long cacheTtlSeconds;
+    private final long dailyQuota;
+
+    private final Map<String, Mono<JsonNode>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter cacheHit;
+    private final Counter call;
+    private final Counter rejected;
+
+    @Autowired
+    public OdsayClient(ObjectMapper objectMapper, RedisUtil redisUtil, Scheduler mapScheduler, MeterRegistry meterRegistry,
+                       @Value("${odsay.apikey}") String apiKey,
+                       @Value("${map.odsay.cell-size:50}") double cellSize,
+                       @Value("${map.odsay.cache-ttl:86400}") long cacheTtlSeconds,
+                       @Value("${map.odsay.daily-quota:1000}") long dailyQuota,
+                       @Value("${map.odsay.timeout-ms:3000}") int timeoutMillis,
+                       @Value("${map.odsay.max-connections:20}") int maxConnections) {
+        this(objectMapper, redisUtil, mapScheduler, meterRegistry, apiKey, cellSize, cacheTtlSeconds, dailyQuota,
+                WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient(timeoutMillis, maxConnections))));
+    }
+
+    // 테스트에서는 응답을 흉내 내는 WebClient.Builder 를 넣음
+    OdsayClient(ObjectMapper objectMapper, RedisUtil redisUtil, Scheduler mapScheduler, MeterRegistry meterRegistry,
+                String apiKey, double cellSize, long cacheTtlSeconds, long dailyQuota, WebClient.Builder webClientBuilder) {
+        this.objectMapper = objectMapper;
+        this.redisUtil = redisUtil;
+        this.mapScheduler = mapScheduler;
+        this.apiKey = apiKey;
+        this.cellSize = cellSize;
+        this.cacheTtlSeconds = cacheTtlSeconds;
+        this.dailyQuota = dailyQuota;
+        this.webClient = webClientBuilder
+                .baseUrl(BASE_URL)
+                .build();
+
+        this.cacheHit = counter(meterRegistry, "cache");
+        this.call = counter(meterRegistry, "call");
+        this.rejected = counter(meterRegistry, "rejected");
+    }
+
+    private static HttpClient httpClient(int timeoutMillis, int maxConnections) {
+        ConnectionProvider provider = ConnectionProvider.builder("odsay")
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .pendingAcquireTimeout(Duration.ofMillis(timeoutMillis))
+                .build();
+        return HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeoutMillis)
+                .responseTimeout(Duration.ofMillis(timeoutMillis))
+                .doOnConnected(conn ->
+                        conn.addHandlerLast(new ReadTimeoutHandler(timeoutMillis, TimeUnit.MILLISECONDS))
+                                .addHandlerLast(new WriteTimeoutHandler(timeoutMillis, TimeUnit.MILLISECONDS)));
+    }
+
+    /**
+     * 대중교통 경로 검색 (searchPubTransPathT)
+     *
+     * @return Odsay 응답 JSON, 하루 호출 한도를 넘으면 {@link QuotaExceededException}
+     */
+    public Mono<JsonNode> searchPubTransPath(double startLon, double startLat, double destLon, double destLat) {
+        String key = RouteCacheKey.of(PREFIX, cellSize, startLat, startLon, destLat, destLon);
+        // 진행 중인 조회가 있으면 함께 기다리고, 응답은 cache() 로 모든 구독자에게 나눔
+        // Redis 조회·저장은 블로킹이므로 경로 조회용 스케줄러에서 실행
+        return inFlight.computeIfAbsent(key, k -> Mono.fromCallable(() -> getCached(k))
+                .subscribeOn(mapScheduler)
+                .switchIfEmpty(Mono.defer(() -> fetch(k, startLon, startLat, destLon, destLat)))
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
+    }
+
+    private Mono<JsonNode> fetch(String key, double startLon, double startLat, double destLon, double destLat) {
+        return Mono.fromRunnable(this::acquireQuota)
+                .subscribeOn(mapScheduler)
+                .then(request(startLon, startLat, destLon, destLat))
+                .flatMap(response -> Mono.fromCallable(() -> {
+                            putCached(key, response);
+                            return response;
+                        })
+                        .subscribeOn(mapScheduler));
+    }
+
+    private Mono<JsonNode> request(double startLon, double startLat, double destLon, double destLat) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/searchPubTransPathT")
+                        .queryParam("SX", startLon)
+                        .queryParam("SY", startLat)
+                        .queryParam("EX", destLon)
+                        .queryParam("EY", destLat)
+                        .queryParam("apiKey", apiKey)
+                        .build())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .doOnSubscribe(subscription -> call.increment())
+                .onErrorMap(WebClientException.class, e -> new ApiRequestFailedException("Odsay API 호출 실패: " + e.getMessage()));
+    }
+
+    // 오늘 호출 수를 하나 올리고, 한도를 넘었으면 호출하지 않고 거절
+    private void acquireQuota() {
+        if (dailyQuota <= 0) return;
+        String key = QUOTA_PREFIX + ":" + LocalDate.now(ZONE).format(DateTimeFormatter.BASIC_ISO_DATE);
+        long used;
+        try {
+            used = redisUtil.increment(key, TimeUnit.DAYS.toSeconds(2));
+        } catch (RuntimeException e) {
+            log.warn("Odsay 호출 수 집계 실패: {}", e.getMessage());
+            return;
+        }
+        if (used > dailyQuota) {
+            rejected.increment();
+            throw new QuotaExceededException("Odsay API 일일 호출 한도를 초과했습니다.");
+        }
+    }
+
+    private JsonNode getCached(String key) {
+        String json;
+        try {
+            json = redisUtil.getData(key);
+        } catch (RuntimeException e) {
+            log.warn("Odsay 응답 캐시 조회 실패: {}", e.getMessage());
+            return null;
+        }
+        if (json == null) return null;
+        try {
+            JsonNode response = objectMapper.readTree(json);
+            cacheHit.increment();
+            return response;
+        } catch (JsonProcessingException e) {
+            log.warn("Odsay 응답 캐시 역직렬화 실패: {}", key);
+            return null;
+        }
+    }
+
+    // 오류 응답(경로 없음, 키 오류 등)은 캐시하지 않음
+    private void putCached(String key, JsonNode response) {
+        if (response.has("error")) return;
+        try {
+            redisUtil.setDataExpire(key, response.toString(), cacheTtlSeconds);
+        } catch (RuntimeException e) {
+            log.warn("Odsay 응답 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("map.odsay.request")
+                .description("Odsay 경로 검색 요청 수 (캐시 응답, 실제 호출, 한도 초과 거절)")
+                .tag("result", result)
+                .register(registry);
+    }
+}
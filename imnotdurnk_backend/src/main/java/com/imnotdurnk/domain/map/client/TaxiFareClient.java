@@ -0,0 +1,177 @@
+package com.imnotdurnk.domain.map.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imnotdurnk.domain.map.taxi.TaxiFareEstimator;
+import com.imnotdurnk.domain.map.taxi.TaxiFareStrategy;
+import com.imnotdurnk.global.util.GeoUtil;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 카카오 맵 택시 요금 조회 클라이언트
+ *
+ * - 커넥션 풀을 가진 WebClient 하나를 계속 재사용해서 요청마다 TCP/TLS 연결을 새로 맺지 않음
+ * - 출발지·도착지 좌표를 소수점 셋째 자리(약 100m)로 반올림한 쌍을 키로 요금을 캐시
+ * - 같은 키로 동시에 들어온 조회는 진행 중인 요청 하나를 함께 기다림
+ * - 호출마다 응답 대기 한도를 두고, 넘기거나 실패하면 요금 없이(빈 Mono) 끝냄
+ * - 실제로 호출해서 받은 요금으로만 {@link TaxiFareEstimator} 의 우회 계수를 보정함 (캐시 응답은 같은 표본을 반복해서 반영하게 되므로 제외)
+ */
+@Component
+public class TaxiFareClient implements TaxiFareStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(TaxiFareClient.class);
+
+    private static final String BASE_URL = "https://app.map.kakao.com/route/carset/mobility.json";
+    private static final int TIMEOUT_MILLIS = 5000;
+    private static final int CACHE_SIZE = 5000;
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final ObjectMapper objectMapper;
+    private final TaxiFareEstimator taxiFareEstimator;
+    private final WebClient webClient;
+    private final Duration budget;
+    private final long cacheTtlMillis;
+
+    private final Map<String, CachedFare> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedFare> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private final Map<String, Mono<Integer>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TaxiFareClient(ObjectMapper objectMapper, TaxiFareEstimator taxiFareEstimator,
+                          @Value("${map.taxi.budget-ms:1500}") long budgetMillis,
+                          @Value("${map.taxi.cache-ttl:600}") long cacheTtlSeconds,
+                          @Value("${map.taxi.max-connections:50}") int maxConnections) {
+        this(objectMapper, taxiFareEstimator, budgetMillis, cacheTtlSeconds,
+                WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient(maxConnections))));
+    }
+
+    // 테스트에서는 응답을 흉내 내는 WebClient.Builder 를 넣음
+    TaxiFareClient(ObjectMapper objectMapper, TaxiFareEstimator taxiFareEstimator,
+                   long budgetMillis, long cacheTtlSeconds, WebClient.Builder webClientBuilder) {
+        this.objectMapper = objectMapper;
+        this.taxiFareEstimator = taxiFareEstimator;
+        this.budget = Duration.ofMillis(budgetMillis);
+        this.cacheTtlMillis = TimeUnit.SECONDS.toMillis(cacheTtlSeconds);
+        this.webClient = webClientBuilder
+                .baseUrl(BASE_URL)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+
+    private static HttpClient httpClient(int maxConnections) {
+        ConnectionProvider provider = ConnectionProvider.builder("kakao-taxi")
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .pendingAcquireTimeout(Duration.ofMillis(TIMEOUT_MILLIS))
+                .build();
+        return HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TIMEOUT_MILLIS)
+                .responseTimeout(Duration.ofMillis(TIMEOUT_MILLIS))
+                .doOnConnected(conn ->
+                        conn.addHandlerLast(new ReadTimeoutHandler(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+                                .addHandlerLast(new WriteTimeoutHandler(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)));
+    }
+
+    /**
+     * 택시 요금(요금 + 통행료) 조회
+     * 할증은 카카오 쪽에서 호출 시점 기준으로 반영되므로 time 은 쓰지 않고, 추정기 보정도 호출 시점의 서울 시각으로 함
+     *
+     * @return 요금, 응답 대기 한도를 넘기거나 실패하면 빈 Mono
+     */
+    @Override
+    public Mono<Integer> getFare(double originLon, double originLat, double destLon, double destLat, int time) {
+        String key = key(originLon, originLat, destLon, destLat);
+        Integer cached = getCached(key);
+        if (cached != null) return Mono.just(cached);
+
+        // 진행 중인 요청이 있으면 함께 기다리고, 응답은 cache() 로 모든 구독자에게 나눔
+        // 한 구독자가 대기 한도로 먼저 빠져도 요청은 계속 진행되어 다음 조회 때 캐시에 남아 있음
+        Mono<Integer> shared = inFlight.computeIfAbsent(key, k -> request(originLon, originLat, destLon, destLat)
+                .doOnNext(fare -> {
+                    putCached(k, fare);
+                    taxiFareEstimator.calibrate(GeoUtil.distance(originLat, originLon, destLat, destLon), fare,
+                            LocalTime.now(ZONE).toSecondOfDay());
+                })
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
+
+        return shared
+                .timeout(budget)
+                .onErrorResume(e -> {
+                    log.warn("택시 요금 조회 실패: {}", e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Integer> request(double originLon, double originLat, double destLon, double destLat) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("origin", originLon + ", " + originLat)
+                        .queryParam("destination", destLon + ", " + destLat)
+                        .build())
+                .retrieve()
+                .bodyToMono(String.class)
+                .flatMap(response -> {
+                    try {
+                        JsonNode fareNode = objectMapper.readTree(response).path("results").path(0).path("summary").path("fare");
+                        if (fareNode.isMissingNode()) return Mono.empty();
+                        return Mono.just(fareNode.path("taxi").asInt() + fareNode.path("toll").asInt());
+                    } catch (JsonProcessingException e) {
+                        return Mono.error(e);
+                    }
+                });
+    }
+
+    // 좌표를 소수점 셋째 자리(위도 약 110m, 경도 약 90m)로 반올림
+    private static String key(double originLon, double originLat, double destLon, double destLat) {
+        return Math.round(originLon * 1000) + "," + Math.round(originLat * 1000) + ":"
+                + Math.round(destLon * 1000) + "," + Math.round(destLat * 1000);
+    }
+
+    private Integer getCached(String key) {
+        synchronized (cache) {
+            CachedFare fare = cache.get(key);
+            if (fare == null) return null;
+            if (fare.expiresAt < System.currentTimeMillis()) {
+                cache.remove(key);
+                return null;
+            }
+            return fare.fare;
+        }
+    }
+
+    private void putCached(String key, int fare) {
+        synchronized (cache) {
+            cache.put(key, new CachedFare(fare, System.currentTimeMillis() + cacheTtlMillis));
+        }
+    }
+
+    private record CachedFare(int fare, long expiresAt) {}
+}
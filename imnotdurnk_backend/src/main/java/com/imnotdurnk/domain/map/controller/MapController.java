@@ -1,19 +1,33 @@
 package com.imnotdurnk.domain.map.controller;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.imnotdurnk.domain.map.dto.BatchRouteDto;
+import com.imnotdurnk.domain.map.dto.BatchRouteRequestDto;
+import com.imnotdurnk.domain.map.dto.IsochroneDto;
+import com.imnotdurnk.domain.map.dto.ItinerarySummaryDto;
+import com.imnotdurnk.domain.map.dto.LastDepartureDto;
 import com.imnotdurnk.domain.map.dto.MapDto;
 import com.imnotdurnk.domain.map.dto.RouteDto;
+import com.imnotdurnk.domain.map.dto.StationViewportDto;
+import com.imnotdurnk.domain.map.dto.TimetableStatusDto;
 import com.imnotdurnk.domain.map.dto.TransitDto;
 import com.imnotdurnk.domain.map.service.MapService;
+import com.imnotdurnk.domain.map.taxi.TaxiFareMode;
 import com.imnotdurnk.global.response.ListResponse;
 import com.imnotdurnk.global.response.ListsResponse;
 import com.imnotdurnk.global.response.SingleResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 @RequestMapping("/map")
@@ -24,42 +38,57 @@ public class MapController {
 
     @Operation(
             summary = "대중교통 경로 조회",
-            description = "현재 시간에 환승없이 도달 가능한 도착지와 가장 가까운 대중교통 경로를 조회합니다."
+            description = "현재 시간에 환승없이 도달 가능한 도착지와 가장 가까운 대중교통 경로를 조회합니다. cache=false 이면 캐시를 거치지 않습니다."
     )
     @GetMapping
-    public ResponseEntity<ListResponse<?>> getSimplePath(@RequestParam(required = true) double startlat, @RequestParam(required = true) double startlon,
-                                                         @RequestParam(required = true) double destlat, @RequestParam(required = true) double destlon,
-                                                         @RequestParam(required = true) String time) {
-        ListResponse<MapDto> response = new ListResponse<>();
-        List<MapDto> result = mapService.getStopsAndRoutesInArea(startlat, startlon, destlat, destlon, time);
-        response.setDataList(result);
-        response.setMessage("결과 반환 성공");
-        return ResponseEntity.ok(response);
+    public Mono<ResponseEntity<ListResponse<?>>> getSimplePath(@RequestParam(required = true) double startlat, @RequestParam(required = true) double startlon,
+                                                               @RequestParam(required = true) double destlat, @RequestParam(required = true) double destlon,
+                                                               @RequestParam(required = true) String time,
+                                                               @RequestParam(required = false, defaultValue = "true") boolean cache) {
+        return mapService.getStopsAndRoutesInAreaReactive(startlat, startlon, destlat, destlon, time, cache)
+                .map(result -> {
+                    ListResponse<MapDto> response = new ListResponse<>();
+                    response.setDataList(result);
+                    response.setMessage("결과 반환 성공");
+                    return ResponseEntity.ok(response);
+                });
     }
 
     @Operation(
             summary = "대중교통 경로 조회",
-            description = "현재 시간에 환승없이 도달 가능한 도착지와 가장 가까운 대중교통 경로와 택시비를 조회합니다."
+            description = "현재 시간에 환승없이 도달 가능한 도착지와 가장 가까운 대중교통 경로와 택시비를 조회합니다. " +
+                    "fare 는 EXACT(카카오 조회), ESTIMATE(요금표 추정), AUTO(조회 실패 시 추정) 중 하나입니다."
     )
     @GetMapping("/detail")
-        public ResponseEntity<ListResponse<?>> getPath(@RequestParam(required = true) double startlat, @RequestParam(required = true) double startlon,
-                                                       @RequestParam(required = true) double destlat, @RequestParam(required = true) double destlon,
-                                                       @RequestParam(required = true) String time) {
-        ListResponse<MapDto> response = new ListResponse<>();
-        List<MapDto> result = mapService.getStopsAndRoutesInAreaWithTaxi(destlat,destlon,startlat, startlon, time);
-        response.setDataList(result);
-        response.setMessage("결과 반환 성공");
-        return ResponseEntity.ok(response);
+    public Mono<ResponseEntity<ListResponse<?>>> getPath(@RequestParam(required = true) double startlat, @RequestParam(required = true) double startlon,
+                                                         @RequestParam(required = true) double destlat, @RequestParam(required = true) double destlon,
+                                                         @RequestParam(required = true) String time,
+                                                         @RequestParam(required = false, defaultValue = "AUTO") TaxiFareMode fare) {
+        return mapService.getStopsAndRoutesInAreaWithTaxiReactive(destlat,destlon,startlat, startlon, time, fare)
+                .map(result -> {
+                    ListResponse<MapDto> response = new ListResponse<>();
+                    response.setDataList(result);
+                    response.setMessage("결과 반환 성공");
+                    return ResponseEntity.ok(response);
+                });
     }
 
     @Operation(
             summary ="노선 조회",
-            description = "route_id와 sequence 를 받아 경로에서의 노선을 반환합니다."
+            description = "route_id와 sequence 를 받아 경로에서의 노선을 반환합니다. encoded=true 이면 정류장 목록 대신 encoded polyline 을 반환합니다."
     )
     @GetMapping("/route")
-    public ResponseEntity<ListResponse<?>> getRoute(
+    public ResponseEntity<?> getRoute(
                                                    @RequestParam(required = true) int seq1, @RequestParam(required = true) int seq2,
-                                                   @RequestParam(required = true) String routeId){
+                                                   @RequestParam(required = true) String routeId,
+                                                   @RequestParam(defaultValue = "false") boolean encoded){
+
+        if (encoded) {
+            SingleResponse<String> response = new SingleResponse<>();
+            response.setData(mapService.getRoutePolyline(routeId, seq1, seq2));
+            response.setMessage("결과 반환 성공");
+            return ResponseEntity.ok(response);
+        }
 
         ListResponse<RouteDto> response = new ListResponse<>();
         List<RouteDto> result = mapService.getRoutes(routeId,seq1,seq2);
@@ -68,6 +97,72 @@ public class MapController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "시간표 상태 조회",
+            description = "현재 사용 중인 메모리 시간표의 버전, 출처, 적재 시각을 반환합니다."
+    )
+    @GetMapping("/timetable")
+    public ResponseEntity<SingleResponse<?>> getTimetableStatus() {
+        SingleResponse<TimetableStatusDto> response = new SingleResponse<>();
+        response.setData(mapService.getTimetableStatus());
+        response.setMessage("결과 반환 성공");
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "등시선 조회",
+            description = "출발지에서 minutes 분 안에 대중교통과 도보로 닿는 정류장(가장 이른 도착 시각)과 격자 칸을 반환합니다."
+    )
+    @GetMapping("/isochrone")
+    public Mono<ResponseEntity<SingleResponse<?>>> getIsochrone(@RequestParam(required = true) double startlat, @RequestParam(required = true) double startlon,
+                                                                @RequestParam(required = true) String time,
+                                                                @RequestParam(required = false, defaultValue = "60") int minutes) {
+        return mapService.getIsochroneReactive(startlat, startlon, time, minutes)
+                .map(result -> {
+                    SingleResponse<IsochroneDto> response = new SingleResponse<>();
+                    response.setData(result);
+                    response.setMessage("결과 반환 성공");
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    @Operation(
+            summary = "지도 영역 정류장 조회",
+            description = "bbox(최소경도,최소위도,최대경도,최대위도) 안의 정류장을 zoom 레벨의 타일 경계까지 넓혀서 반환합니다. " +
+                    "낮은 줌에서는 칸별로 묶은 정류장 수와 평균 좌표를 반환합니다. " +
+                    "ETag 를 함께 보내며, If-None-Match 가 같으면 304 를 반환합니다."
+    )
+    @GetMapping("/stations")
+    public ResponseEntity<SingleResponse<?>> getStations(@RequestParam(required = true) String bbox,
+                                                         @RequestParam(required = true) int zoom,
+                                                         WebRequest webRequest) {
+        // 같은 시간표 버전의 같은 타일 범위면 결과가 같으므로 정류장을 찾기 전에 비교
+        String etag = mapService.getStationsETag(bbox, zoom);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        SingleResponse<StationViewportDto> response = new SingleResponse<>();
+        response.setData(mapService.getStations(bbox, zoom));
+        response.setMessage("결과 반환 성공");
+        return ResponseEntity.ok().eTag(etag).body(response);
+    }
+
+    @Operation(
+            summary = "막차 조회",
+            description = "현재 위치 근처에서 타서 집 근처까지 환승 없이 가는 노선별 막차와 남은 시간을 조회합니다. " +
+                    "homelat/homelon 을 생략하면 로그인한 회원의 주소 좌표를 사용합니다."
+    )
+    @GetMapping("/last-departures")
+    public ResponseEntity<ListResponse<?>> getLastDepartures(@RequestParam(required = true) double startlat, @RequestParam(required = true) double startlon,
+                                                             @RequestParam(required = true) String time,
+                                                             @RequestParam(required = false) Double homelat, @RequestParam(required = false) Double homelon,
+                                                             @RequestHeader(value = "Authorization", required = false) String authorization) {
+        ListResponse<LastDepartureDto> response = new ListResponse<>();
+        response.setDataList(mapService.getLastDepartures(startlat, startlon, time, homelat, homelon, authorization));
+        response.setMessage("결과 반환 성공");
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "Odsay API",
             description = "Odsay API의 대중교통 경로 탐색 결과를 반환합니다."
@@ -84,18 +179,60 @@ public class MapController {
 
     @Operation(
             summary = "대중교통 경로 조회",
-            description = "Odsay API에서 환승 지점을 찾아 경로를 탐색합니다."
+            description = "환승 경로를 탐색합니다. engine=local 이면 서버 시간표로 직접 탐색하고, engine=odsay 이면 Odsay API에서 환승 지점을 찾아 탐색합니다."
     )
     @GetMapping("/odsay/route")
-    public ResponseEntity<ListsResponse<?>> getOptimizeRoute(@RequestParam(required = true) double startlat, @RequestParam(required = true) double startlon,
-                                                            @RequestParam(required = true) double destlat, @RequestParam(required = true) double destlon,
-                                                            @RequestParam(required = true) String time){
-        ListsResponse<TransitDto> response = new ListsResponse<>();
-        List<List<TransitDto>> result = mapService.getOptimizeRoute(destlat,destlon,startlat,startlon,time);
-        response.setDataList(result);
-        response.setMessage("대중교통 경로 조회 성공");
-        return ResponseEntity.ok(response);
+    public Mono<ResponseEntity<ListsResponse<?>>> getOptimizeRoute(@RequestParam(required = true) double startlat, @RequestParam(required = true) double startlon,
+                                                                  @RequestParam(required = true) double destlat, @RequestParam(required = true) double destlon,
+                                                                  @RequestParam(required = true) String time,
+                                                                  @RequestParam(required = false, defaultValue = "local") String engine){
+        return mapService.getOptimizeRouteReactive(destlat,destlon,startlat,startlon,time,engine)
+                .map(result -> {
+                    ListsResponse<TransitDto> response = new ListsResponse<>();
+                    response.setDataList(result);
+                    response.setMessage("대중교통 경로 조회 성공");
+                    return ResponseEntity.ok(response);
+                });
     }
 
-}
+    @Operation(
+            summary = "대중교통 경로 스트리밍 조회",
+            description = "/map/odsay/route 와 같은 탐색을 하되 경로가 하나 완성될 때마다 SSE 로 보냅니다. " +
+                    "경로는 itinerary 이벤트(index 는 경로 후보 순서)로, 마지막에 summary 이벤트(보낸 경로 수, 걸린 시간)를 보냅니다. " +
+                    "탐색 중 오류가 나면 error 이벤트를 보내고 끝냅니다."
+    )
+    @GetMapping(value = "/odsay/route/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<?>> streamOptimizeRoute(@RequestParam(required = true) double startlat, @RequestParam(required = true) double startlon,
+                                                        @RequestParam(required = true) double destlat, @RequestParam(required = true) double destlon,
+                                                        @RequestParam(required = true) String time,
+                                                        @RequestParam(required = false, defaultValue = "local") String engine) {
+        long startedAt = System.currentTimeMillis();
+        AtomicInteger count = new AtomicInteger();
+        // 스트림이 시작된 뒤에는 상태 코드를 바꿀 수 없으므로 오류도 이벤트로 보냄
+        return mapService.streamOptimizeRoute(destlat, destlon, startlat, startlon, time, engine)
+                .<ServerSentEvent<?>>map(itinerary -> {
+                    count.incrementAndGet();
+                    return ServerSentEvent.builder(itinerary).event("itinerary").build();
+                })
+                .concatWith(Mono.fromSupplier(() -> ServerSentEvent.builder(
+                        new ItinerarySummaryDto(count.get(), System.currentTimeMillis() - startedAt)).event("summary").build()))
+                .onErrorResume(e -> Mono.just(ServerSentEvent.builder(String.valueOf(e.getMessage())).event("error").build()));
+    }
 
+    @Operation(
+            summary = "여러 목적지 대중교통 경로 조회",
+            description = "출발지 하나에서 여러 목적지까지의 환승 경로를 서버 시간표로 한 번에 탐색합니다. " +
+                    "목적지별 결과는 요청한 순서대로, /map/odsay/route 와 같은 형식으로 반환합니다."
+    )
+    @PostMapping("/odsay/route/batch")
+    public Mono<ResponseEntity<ListResponse<?>>> getBatchRoutes(@RequestBody BatchRouteRequestDto request) {
+        return mapService.getBatchRoutesReactive(request)
+                .map(result -> {
+                    ListResponse<BatchRouteDto> response = new ListResponse<>();
+                    response.setDataList(result);
+                    response.setMessage("대중교통 경로 조회 성공");
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+}
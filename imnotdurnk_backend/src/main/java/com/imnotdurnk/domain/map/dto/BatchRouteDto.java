@@ -0,0 +1,28 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 여러 목적지 경로 조회 결과 중 목적지 하나의 경로 목록
+ */
+@Getter
+@Setter
+public class BatchRouteDto {
+    private String name;
+    private double lat;
+    private double lon;
+    // /map/odsay/route 와 같은 형식의 경로 목록, 도착 시각이 이른 순
+    private List<List<TransitDto>> itineraries;
+
+    public BatchRouteDto(String name, double lat, double lon, List<List<TransitDto>> itineraries) {
+        this.name = name;
+        this.lat = lat;
+        this.lon = lon;
+        this.itineraries = itineraries;
+    }
+
+    public BatchRouteDto() {}
+}
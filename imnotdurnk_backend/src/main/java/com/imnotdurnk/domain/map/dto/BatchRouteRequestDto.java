@@ -0,0 +1,20 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 출발지 하나에서 여러 목적지까지의 경로 조회 요청
+ */
+@Getter
+@Setter
+public class BatchRouteRequestDto {
+    private double startLat;
+    private double startLon;
+    private String time;
+    private List<RouteDestinationDto> destinations;
+
+    public BatchRouteRequestDto() {}
+}
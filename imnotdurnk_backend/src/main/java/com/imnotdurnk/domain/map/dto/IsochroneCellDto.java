@@ -0,0 +1,23 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 등시선 격자 한 칸 (남서쪽 꼭짓점 좌표와 가장 이르게 닿는 데 걸리는 분)
+ */
+@Getter
+@Setter
+public class IsochroneCellDto {
+    private double lat;
+    private double lon;
+    private int minutes;
+
+    public IsochroneCellDto(double lat, double lon, int minutes) {
+        this.lat = lat;
+        this.lon = lon;
+        this.minutes = minutes;
+    }
+
+    public IsochroneCellDto() {}
+}
@@ -0,0 +1,28 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 출발지에서 정해진 시간 안에 대중교통과 도보로 닿는 범위
+ */
+@Getter
+@Setter
+public class IsochroneDto {
+    private double startLat;
+    private double startLon;
+    // 출발 시각과 이동 한도 시각 (HH:mm:ss)
+    private String departure;
+    private String deadline;
+    private int minutes;
+    // 격자 한 칸의 크기, 각 칸은 남서쪽 꼭짓점부터 이 크기만큼의 사각형
+    private double cellSize;
+    private double cellLat;
+    private double cellLon;
+    private List<IsochroneStopDto> stops;
+    private List<IsochroneCellDto> cells;
+
+    public IsochroneDto() {}
+}
@@ -0,0 +1,31 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 등시선 범위 안의 정류장과 가장 이른 도착 시각
+ */
+@Getter
+@Setter
+public class IsochroneStopDto {
+    private String stopName;
+    private double lat;
+    private double lon;
+    private String arrival;
+    // 출발부터 도착까지 걸린 분
+    private int minutes;
+    // 탑승 횟수, 0 이면 출발지에서 걸어서 도착
+    private int rides;
+
+    public IsochroneStopDto(String stopName, double lat, double lon, String arrival, int minutes, int rides) {
+        this.stopName = stopName;
+        this.lat = lat;
+        this.lon = lon;
+        this.arrival = arrival;
+        this.minutes = minutes;
+        this.rides = rides;
+    }
+
+    public IsochroneStopDto() {}
+}
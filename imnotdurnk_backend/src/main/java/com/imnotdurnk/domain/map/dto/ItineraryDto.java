@@ -0,0 +1,25 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 경로 스트리밍(/map/odsay/route/stream)에서 경로 하나가 완성될 때마다 보내는 이벤트
+ */
+@Getter
+@Setter
+public class ItineraryDto {
+    // 경로 후보 순서 (Odsay 추천 순 또는 도착 시각이 이른 순), 완성되는 순서와 다를 수 있음
+    private int index;
+    // /map/odsay/route 의 경로 하나와 같은 형식
+    private List<TransitDto> transitList;
+
+    public ItineraryDto(int index, List<TransitDto> transitList) {
+        this.index = index;
+        this.transitList = transitList;
+    }
+
+    public ItineraryDto() {}
+}
@@ -0,0 +1,23 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 경로 스트리밍의 마지막 이벤트
+ */
+@Getter
+@Setter
+public class ItinerarySummaryDto {
+    // 보낸 경로 수
+    private int count;
+    // 요청부터 마지막 경로까지 걸린 시간(ms)
+    private long elapsedMillis;
+
+    public ItinerarySummaryDto(int count, long elapsedMillis) {
+        this.count = count;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public ItinerarySummaryDto() {}
+}
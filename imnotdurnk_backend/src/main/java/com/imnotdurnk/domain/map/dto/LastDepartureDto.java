@@ -0,0 +1,34 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 출발지 근처에서 도착지(집) 근처까지 환승 없이 가는 노선의 막차
+ */
+@Getter
+@Setter
+public class LastDepartureDto {
+    private String route;
+    private String routeId;
+    private int type;
+    private String startStop;
+    private double startLat;
+    private double startLon;
+    private int startDistance;
+    private int seq1;
+    private String destStop;
+    private double destLat;
+    private double destLon;
+    private int destDistance;
+    private int seq2;
+    // 막차 출발·도착 시각 (HH:mm:ss, 24시 이후는 25:10:00 처럼 표기)
+    private String lastDeparture;
+    private String arrival;
+    // 기준 시각부터 막차 출발까지 남은 분, 이미 지났으면 음수
+    private int minutesLeft;
+    // 지금 걸어가서 막차를 탈 수 있는지
+    private boolean available;
+
+    public LastDepartureDto() {}
+}
@@ -0,0 +1,23 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 여러 목적지 경로 조회의 목적지 하나 (name 은 응답에 그대로 돌려주는 구분용 값)
+ */
+@Getter
+@Setter
+public class RouteDestinationDto {
+    private String name;
+    private double lat;
+    private double lon;
+
+    public RouteDestinationDto(String name, double lat, double lon) {
+        this.name = name;
+        this.lat = lat;
+        this.lon = lon;
+    }
+
+    public RouteDestinationDto() {}
+}
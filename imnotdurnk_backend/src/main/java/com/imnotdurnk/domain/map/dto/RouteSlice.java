@@ -0,0 +1,17 @@
+package com.imnotdurnk.domain.map.dto;
+
+/**
+ * 노선 위의 한 구간 (stop_sequence 범위, 양 끝 포함)
+ *
+ * 같은 구간은 같은 값이 되도록 seqFrom <= seqTo 로 맞춰서 만듦
+ */
+public record RouteSlice(String routeId, int seqFrom, int seqTo) {
+
+    public static RouteSlice of(String routeId, int seq1, int seq2) {
+        return new RouteSlice(routeId, Math.min(seq1, seq2), Math.max(seq1, seq2));
+    }
+
+    public boolean contains(int seq) {
+        return seqFrom <= seq && seq <= seqTo;
+    }
+}
@@ -0,0 +1,29 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 지도에 표시할 정류장, 또는 낮은 줌에서 여러 정류장을 묶은 칸
+ */
+@Getter
+@Setter
+public class StationDto {
+    // 정류장 하나일 때만 채움, 묶음이면 null
+    private String stopId;
+    private String stopName;
+    // 묶음이면 묶인 정류장들의 평균 좌표
+    private double lat;
+    private double lon;
+    private int count;
+
+    public StationDto(String stopId, String stopName, double lat, double lon, int count) {
+        this.stopId = stopId;
+        this.stopName = stopName;
+        this.lat = lat;
+        this.lon = lon;
+        this.count = count;
+    }
+
+    public StationDto() {}
+}
@@ -0,0 +1,25 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 지도 화면 영역의 정류장 조회 결과
+ * 요청한 bbox 를 타일 경계까지 넓힌 실제 조회 영역을 함께 돌려줌
+ */
+@Getter
+@Setter
+public class StationViewportDto {
+    private int zoom;
+    // true 이면 stations 가 칸별 묶음
+    private boolean clustered;
+    private double minLat;
+    private double minLon;
+    private double maxLat;
+    private double maxLon;
+    private List<StationDto> stations;
+
+    public StationViewportDto() {}
+}
@@ -0,0 +1,24 @@
+package com.imnotdurnk.domain.map.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 메모리 시간표 상태 (진단용)
+ */
+@Getter
+@Setter
+public class TimetableStatusDto {
+    private boolean loaded;
+    private String version;
+    private String source;
+    private String builtAt;
+    private Long buildMillis;
+    private Integer stopCount;
+    private Integer routeCount;
+    private Integer tripCount;
+    private Integer stopTimeCount;
+    private Integer footpathCount;
+
+    public TimetableStatusDto() {}
+}
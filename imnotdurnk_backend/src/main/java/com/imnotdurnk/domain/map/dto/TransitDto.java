@@ -22,6 +22,8 @@ public class TransitDto {
     Integer totalWalk;
     String timestamp;
     List<RouteDto> routeList;
+    // routeList 좌표를 인코딩한 polyline (Google Encoded Polyline, 정밀도 1e-5)
+    String polyline;
 
     public TransitDto(String route, String start, String end, Double slat, Double slon, Double dlat, Double dlon, Integer duration, Integer seq1, Integer seq2, Integer type, List<RouteDto> routeList, Integer totalWalk, Integer totalWalkTime, String timestamp) {
         this.route=route;
@@ -0,0 +1,11 @@
+package com.imnotdurnk.domain.map.entity;
+
+import java.util.Optional;
+
+/**
+ * 여러 노선 구간을 한 번에 조회할 때의 정류장 행
+ */
+public interface RouteStopResult extends RouteResult {
+    Optional<String> getRouteId();
+    Optional<Integer> getSeq();
+}
@@ -14,6 +14,9 @@ public class StopTimeEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
+    @Column(name = "trip_id")
+    private String tripId;
+
     @ManyToOne
     @JoinColumn(name = "stop_id", nullable = false)
     private StopEntity stop;
@@ -34,8 +37,9 @@ public class StopTimeEntity {
     @Column(name = "stop_sequence")
     private Integer stopSequence;
 
-    public StopTimeEntity(Integer id, StopEntity stop, RouteEntity route, Integer pickupType, Integer dropoffType, String departureTime, Integer stopSequence) {
+    public StopTimeEntity(Integer id, String tripId, StopEntity stop, RouteEntity route, Integer pickupType, Integer dropoffType, String departureTime, Integer stopSequence) {
         this.id = id;
+        this.tripId = tripId;
         this.stop = stop;
         this.route = route;
         this.pickupType = pickupType;
@@ -0,0 +1,248 @@
+package com.imnotdurnk.domain.map.gtfs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * GTFS txt(CSV) 파일을 한 행씩 읽는 스트리밍 파서
+ *
+ * 행마다 String 이나 배열을 만들지 않고, 읽기 버퍼 안에서 필드의 시작·끝 위치만 기록함
+ * 실제로 쓰는 칸만 {@link #get(int)} / {@link #getInt(int, int)} 로 꺼낼 때 값을 만듦
+ * - 첫 행은 헤더, UTF-8 BOM 은 무시
+ * - 줄바꿈은 \n, \r\n 모두 허용 (값에 \r 이 남지 않음)
+ * - 따옴표로 감싼 필드와 그 안의 "" (따옴표 이스케이프), 쉼표, 줄바꿈 지원
+ */
+public class GtfsCsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+    private char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    // 현재 행의 필드 위치 (버퍼 기준), 이스케이프가 있는 필드는 escaped 에 표시
+    private int fieldCount;
+    private int[] starts = new int[32];
+    private int[] ends = new int[32];
+    private boolean[] escaped = new boolean[32];
+
+    private final Map<String, Integer> header = new HashMap<>();
+
+    public GtfsCsvReader(Reader reader) throws IOException {
+        this.reader = reader;
+        fill();
+        if (limit > 0 && buffer[0] == '\uFEFF') position = 1;
+        if (next()) {
+            for (int i = 0; i < fieldCount; i++) {
+                String name = get(i);
+                if (name != null) header.put(name, i);
+            }
+        }
+    }
+
+    /**
+     * 헤더에서 컬럼 위치를 찾음
+     *
+     * @return 컬럼 위치, 없으면 -1
+     */
+    public int column(String name) {
+        return header.getOrDefault(name, -1);
+    }
+
+    /**
+     * 필수 컬럼 위치를 찾음
+     *
+     * @throws IllegalArgumentException 헤더에 컬럼이 없을 때
+     */
+    public int requireColumn(String name) {
+        int column = column(name);
+        if (column < 0) throw new IllegalArgumentException("GTFS 헤더에 " + name + " 컬럼이 없습니다.");
+        return column;
+    }
+
+    /**
+     * 다음 행으로 이동, 빈 줄은 건너뜀
+     *
+     * @return 읽은 행이 있으면 true
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            fieldCount = 0;
+            if (position >= limit && !fill()) return false;
+            if (readRecord()) return true;
+        }
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 필드 값을 문자열로 반환, 앞뒤 공백은 제거
+     *
+     * @return 값, 칸이 없거나 비어 있으면 null
+     */
+    public String get(int column) {
+        if (column < 0 || column >= fieldCount) return null;
+        int start = starts[column];
+        int end = ends[column];
+        while (start < end && buffer[start] <= ' ') start++;
+        while (end > start && buffer[end - 1] <= ' ') end--;
+        if (start == end) return null;
+        if (!escaped[column]) return new String(buffer, start, end - start);
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            sb.append(buffer[i]);
+            if (buffer[i] == '"') i++;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 필드 값을 정수로 반환, 문자열을 만들지 않고 버퍼에서 바로 읽음
+     *
+     * @return 값, 칸이 없거나 숫자가 아니면 defaultValue
+     */
+    public int getInt(int column, int defaultValue) {
+        if (column < 0 || column >= fieldCount) return defaultValue;
+        int start = starts[column];
+        int end = ends[column];
+        while (start < end && buffer[start] <= ' ') start++;
+        while (end > start && buffer[end - 1] <= ' ') end--;
+        if (start == end) return defaultValue;
+        boolean negative = buffer[start] == '-';
+        if (negative && ++start == end) return defaultValue;
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = buffer[i];
+            if (c < '0' || c > '9') return defaultValue;
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * 필드 값을 실수로 반환
+     *
+     * @return 값, 칸이 없거나 숫자가 아니면 NaN
+     */
+    public double getDouble(int column) {
+        String value = get(column);
+        if (value == null) return Double.NaN;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // 한 행을 읽어서 필드 위치를 기록, 빈 줄이면 false
+    private boolean readRecord() throws IOException {
+        // 1. 따옴표 밖의 줄바꿈까지가 한 행
+        // 버퍼를 더 채울 때는 읽은 부분을 앞으로 당기므로 현재 위치도 같이 옮김
+        int i = position;
+        boolean quoted = false;
+        while (true) {
+            if (i >= limit) {
+                int shift = position;
+                boolean more = fill();
+                i -= shift - position;
+                if (!more) break;
+                continue;
+            }
+            char c = buffer[i];
+            if (c == '"') quoted = !quoted;
+            else if (!quoted && (c == '\n' || c == '\r')) break;
+            i++;
+        }
+        int begin = position;
+        int end = i;
+        if (i < limit && buffer[i] == '\r') {
+            i++;
+            if (i >= limit) {
+                int shift = position;
+                fill();
+                shift -= position;
+                begin -= shift;
+                end -= shift;
+                i -= shift;
+            }
+        }
+        if (i < limit && buffer[i] == '\n') i++;
+        position = i;
+        if (end == begin) return false;
+
+        // 2. 쉼표로 필드 구분
+        int start = begin;
+        while (true) {
+            int j;
+            if (start < end && buffer[start] == '"') {
+                boolean hasEscape = false;
+                j = start + 1;
+                while (j < end) {
+                    if (buffer[j] == '"') {
+                        if (j + 1 < end && buffer[j + 1] == '"') {
+                            hasEscape = true;
+                            j += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    j++;
+                }
+                addField(start + 1, j, hasEscape);
+                while (j < end && buffer[j] != ',') j++;
+            } else {
+                j = start;
+                while (j < end && buffer[j] != ',') j++;
+                addField(start, j, false);
+            }
+            if (j >= end) return true;
+            start = j + 1;
+        }
+    }
+
+    private void addField(int start, int end, boolean hasEscape) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+            escaped = Arrays.copyOf(escaped, fieldCount * 2);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        escaped[fieldCount] = hasEscape;
+        fieldCount++;
+    }
+
+    private void compact() {
+        if (position == 0) return;
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        limit -= position;
+        position = 0;
+    }
+
+    // 이미 읽은 앞부분을 버리고 뒤쪽을 채움, 한 행이 버퍼보다 길면 버퍼를 키움. 더 읽을 게 없으면 false
+    private boolean fill() throws IOException {
+        if (eof) return false;
+        compact();
+        if (limit == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package com.imnotdurnk.domain.map.gtfs;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * map.gtfs.import-enabled=true 일 때 기동 시 GTFS zip 을 적재
+ *
+ * ApplicationRunner 는 ApplicationReadyEvent 보다 먼저 실행되므로
+ * 메모리 시간표는 새로 적재된 테이블로 만들어짐
+ * 적재에 실패해도 기존 테이블은 그대로 두고 기동을 계속함
+ */
+@Component
+@RequiredArgsConstructor
+@Order(1)
+@ConditionalOnProperty(name = "map.gtfs.import-enabled", havingValue = "true")
+public class GtfsImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GtfsImportRunner.class);
+
+    private final GtfsImporter importer;
+
+    @Value("${map.gtfs.path}")
+    private String path;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path feed = Path.of(path);
+        if (!Files.isRegularFile(feed)) {
+            log.error("GTFS 파일을 찾을 수 없습니다: {}", feed);
+            return;
+        }
+        try {
+            importer.importFeed(feed);
+        } catch (RuntimeException e) {
+            log.error("GTFS 적재 실패, 기존 테이블을 유지합니다.", e);
+        }
+    }
+}
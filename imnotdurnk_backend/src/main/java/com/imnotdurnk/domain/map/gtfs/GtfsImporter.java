@@ -0,0 +1,344 @@
+package com.imnotdurnk.domain.map.gtfs;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * GTFS zip 을 읽어 station / route / stop_time 테이블을 통째로 교체
+ *
+ * 1. 운영 테이블과 같은 구조의 *_staging 테이블을 새로 만들고 보조 색인(공간 색인 포함)은 지움
+ * 2. stops.txt, routes.txt, stop_times.txt 를 스트리밍으로 읽어 배치 INSERT
+ *    적재가 끝나면 지웠던 보조 색인을 테이블마다 ALTER 한 번으로 다시 만듦 (행마다 색인을 갱신하지 않도록)
+ *    (trips.txt 는 stop_time 의 route_id 를 채우는 데만 씀, 한 route_id 에 섞인 방향·정차 패턴은
+ *    시간표를 만들 때 {@link com.imnotdurnk.domain.map.timetable.TransitTimetableBuilder} 가 패턴별 노선으로 나눔)
+ * 3. RENAME TABLE 한 문장으로 운영 테이블과 바꾸고 이전 테이블은 삭제
+ * 4. timetable_version 에 피드 버전(feed_info.txt 의 feed_version, 없으면 적재 시각)을 기록
+ *
+ * 적재 중에는 운영 테이블을 건드리지 않으므로 조회는 교체 직전까지 기존 데이터로 계속 처리됨
+ * 배치 INSERT 가 실제로 묶여서 전송되려면 JDBC URL 에 rewriteBatchedStatements=true 가 있어야 함
+ */
+@Component
+@RequiredArgsConstructor
+public class GtfsImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(GtfsImporter.class);
+
+    private static final String STAGING = "_staging";
+    private static final String OLD = "_old";
+    private static final List<String> TABLES = List.of("station", "route", "stop_time");
+
+    private final DataSource dataSource;
+
+    @Value("${map.gtfs.batch-size:5000}")
+    private int batchSize;
+
+    /**
+     * GTFS zip 을 적재하고 운영 테이블과 교체
+     *
+     * @param feed GTFS zip 파일 경로
+     */
+    public void importFeed(Path feed) {
+        long startedAt = System.currentTimeMillis();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        try (ZipFile zip = new ZipFile(feed.toFile(), StandardCharsets.UTF_8)) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                Map<String, List<String>> indexes = createStagingTables(connection);
+                boolean autoCommit = connection.getAutoCommit();
+                try {
+                    connection.setAutoCommit(false);
+                    int stops = importStops(connection, zip);
+                    int routes = importRoutes(connection, zip);
+                    int stopTimes = importStopTimes(connection, zip, readTripRoutes(zip));
+                    connection.setAutoCommit(autoCommit);
+                    log.info("GTFS 적재 완료: 정류장 {}개, 노선 {}개, 정차 시각 {}건 ({}ms)",
+                            stops, routes, stopTimes, System.currentTimeMillis() - startedAt);
+                    addIndexes(connection, indexes);
+                    log.info("GTFS 색인 생성 완료 ({}ms)", System.currentTimeMillis() - startedAt);
+                    swapTables(connection);
+                    writeVersion(connection, readFeedVersion(zip));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    // 중간에 실패하면 staging 테이블만 지우고 운영 테이블은 그대로 둠 (교체 후에는 남은 staging 이 없음)
+                    if (connection.getAutoCommit() != autoCommit) {
+                        connection.rollback();
+                        connection.setAutoCommit(autoCommit);
+                    }
+                    dropTables(connection, STAGING);
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("GTFS 테이블 교체 완료 ({}ms)", System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 운영 테이블과 같은 구조의 staging 테이블을 만들고 보조 색인을 지움
+     *
+     * @return 테이블별로 다시 만들 색인 정의 (ALTER TABLE ... ADD 절)
+     */
+    private Map<String, List<String>> createStagingTables(Connection connection) throws SQLException {
+        Map<String, List<String>> indexes = new HashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                statement.execute("DROP TABLE IF EXISTS " + table + STAGING);
+                statement.execute("CREATE TABLE " + table + STAGING + " LIKE " + table);
+                Map<String, String> definitions = readIndexes(connection, table);
+                indexes.put(table, new ArrayList<>(definitions.values()));
+                if (definitions.isEmpty()) continue;
+                List<String> drops = new ArrayList<>();
+                for (String name : definitions.keySet()) drops.add("DROP INDEX `" + name + "`");
+                statement.execute("ALTER TABLE " + table + STAGING + " " + String.join(", ", drops));
+            }
+        }
+        return indexes;
+    }
+
+    // 기본 키를 뺀 보조 색인의 이름 -> ADD 절, 복합 색인은 컬럼 순서와 접두 길이를 그대로 옮김
+    private Map<String, String> readIndexes(Connection connection, String table) throws SQLException {
+        Map<String, StringBuilder> columns = new LinkedHashMap<>();
+        Map<String, String> kinds = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT INDEX_NAME, NON_UNIQUE, INDEX_TYPE, COLUMN_NAME, SUB_PART FROM information_schema.STATISTICS"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME <> 'PRIMARY'"
+                        + " ORDER BY INDEX_NAME, SEQ_IN_INDEX")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    String kind = "SPATIAL".equals(rs.getString("INDEX_TYPE")) ? "SPATIAL INDEX"
+                            : rs.getInt("NON_UNIQUE") == 0 ? "UNIQUE INDEX" : "INDEX";
+                    kinds.put(name, kind);
+                    StringBuilder column = columns.computeIfAbsent(name, k -> new StringBuilder());
+                    if (column.length() > 0) column.append(", ");
+                    column.append('`').append(rs.getString("COLUMN_NAME")).append('`');
+                    int subPart = rs.getInt("SUB_PART");
+                    if (!rs.wasNull()) column.append('(').append(subPart).append(')');
+                }
+            }
+        }
+        Map<String, String> definitions = new LinkedHashMap<>();
+        for (Map.Entry<String, StringBuilder> entry : columns.entrySet()) {
+            definitions.put(entry.getKey(), "ADD " + kinds.get(entry.getKey()) + " `" + entry.getKey() + "` (" + entry.getValue() + ")");
+        }
+        return definitions;
+    }
+
+    // 적재가 끝난 staging 테이블에 색인을 한 번에 만듦
+    private void addIndexes(Connection connection, Map<String, List<String>> indexes) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                List<String> definitions = indexes.get(table);
+                if (definitions == null || definitions.isEmpty()) continue;
+                statement.execute("ALTER TABLE " + table + STAGING + " " + String.join(", ", definitions));
+            }
+        }
+    }
+
+    // 이전 테이블 정리 후 한 문장으로 교체, MySQL 의 RENAME TABLE 은 여러 테이블을 원자적으로 바꿈
+    private void swapTables(Connection connection) throws SQLException {
+        dropTables(connection, OLD);
+        StringBuilder rename = new StringBuilder("RENAME TABLE ");
+        for (String table : TABLES) {
+            if (rename.length() > "RENAME TABLE ".length()) rename.append(", ");
+            rename.append(table).append(" TO ").append(table).append(OLD).append(", ")
+                    .append(table).append(STAGING).append(" TO ").append(table);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(rename.toString());
+        }
+        dropTables(connection, OLD);
+    }
+
+    // 서버들이 이 값이 바뀐 것을 보고 시간표를 다시 적재함
+    private void writeVersion(Connection connection, String version) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS timetable_version"
+                    + " (id INT PRIMARY KEY, version VARCHAR(64) NOT NULL, updated_at DATETIME NOT NULL)");
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO timetable_version (id, version, updated_at) VALUES (1, ?, NOW())"
+                        + " ON DUPLICATE KEY UPDATE version = VALUES(version), updated_at = NOW()")) {
+            statement.setString(1, version);
+            statement.executeUpdate();
+        }
+        log.info("시간표 버전 기록: {}", version);
+    }
+
+    private static String readFeedVersion(ZipFile zip) throws IOException {
+        String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        if (zip.getEntry("feed_info.txt") == null) return now;
+        try (GtfsCsvReader reader = open(zip, "feed_info.txt")) {
+            String version = reader.next() ? reader.get(reader.column("feed_version")) : null;
+            // 같은 피드를 다시 적재해도 각 서버가 새로 읽도록 적재 시각을 붙임
+            if (version == null) return now;
+            return (version.length() > 40 ? version.substring(0, 40) : version) + "-" + now;
+        }
+    }
+
+    private void dropTables(Connection connection, String suffix) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) statement.execute("DROP TABLE IF EXISTS " + table + suffix);
+        }
+    }
+
+    private int importStops(Connection connection, ZipFile zip) throws IOException, SQLException {
+        String sql = "INSERT INTO station" + STAGING + " (stop_id, stop_name, location) VALUES (?, ?, ST_SRID(POINT(?, ?), 4326))";
+        try (GtfsCsvReader reader = open(zip, "stops.txt");
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            int id = reader.requireColumn("stop_id");
+            int name = reader.requireColumn("stop_name");
+            int lat = reader.requireColumn("stop_lat");
+            int lon = reader.requireColumn("stop_lon");
+            int count = 0;
+            while (reader.next()) {
+                String stopId = reader.get(id);
+                double stopLat = reader.getDouble(lat);
+                double stopLon = reader.getDouble(lon);
+                // 좌표가 없는 역사 입구·노드 등은 경로 탐색에 쓰지 않으므로 제외
+                if (stopId == null || Double.isNaN(stopLat) || Double.isNaN(stopLon)) continue;
+                statement.setString(1, stopId);
+                statement.setString(2, reader.get(name));
+                statement.setDouble(3, stopLon);
+                statement.setDouble(4, stopLat);
+                count = addBatch(connection, statement, count);
+            }
+            return flush(connection, statement, count);
+        }
+    }
+
+    private int importRoutes(Connection connection, ZipFile zip) throws IOException, SQLException {
+        String sql = "INSERT INTO route" + STAGING + " (route_id, route_short_name, route_type) VALUES (?, ?, ?)";
+        try (GtfsCsvReader reader = open(zip, "routes.txt");
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            int id = reader.requireColumn("route_id");
+            int shortName = reader.column("route_short_name");
+            int longName = reader.column("route_long_name");
+            int type = reader.requireColumn("route_type");
+            int count = 0;
+            while (reader.next()) {
+                String routeId = reader.get(id);
+                if (routeId == null) continue;
+                String name = reader.get(shortName);
+                statement.setString(1, routeId);
+                statement.setString(2, name != null ? name : reader.get(longName));
+                statement.setInt(3, reader.getInt(type, 3));
+                count = addBatch(connection, statement, count);
+            }
+            return flush(connection, statement, count);
+        }
+    }
+
+    // trip_id -> route_id, stop_times.txt 에는 노선이 없으므로 trips.txt 에서 채움
+    private Map<String, String> readTripRoutes(ZipFile zip) throws IOException {
+        Map<String, String> tripRoutes = new HashMap<>();
+        try (GtfsCsvReader reader = open(zip, "trips.txt")) {
+            int trip = reader.requireColumn("trip_id");
+            int route = reader.requireColumn("route_id");
+            while (reader.next()) {
+                String tripId = reader.get(trip);
+                String routeId = reader.get(route);
+                if (tripId != null && routeId != null) tripRoutes.put(tripId, routeId);
+            }
+        }
+        return tripRoutes;
+    }
+
+    private int importStopTimes(Connection connection, ZipFile zip, Map<String, String> tripRoutes) throws IOException, SQLException {
+        String sql = "INSERT INTO stop_time" + STAGING
+                + " (trip_id, route_id, stop_id, departure_time, stop_sequence, pickup_type, dropoff_type)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (GtfsCsvReader reader = open(zip, "stop_times.txt");
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            int trip = reader.requireColumn("trip_id");
+            int stop = reader.requireColumn("stop_id");
+            int departure = reader.requireColumn("departure_time");
+            int arrival = reader.column("arrival_time");
+            int sequence = reader.requireColumn("stop_sequence");
+            int pickup = reader.column("pickup_type");
+            int dropOff = reader.column("drop_off_type");
+            int count = 0;
+            String lastTripId = null;
+            String routeId = null;
+            while (reader.next()) {
+                // stop_times.txt 는 운행별로 몰려 있으므로 같은 운행이면 노선을 다시 찾지 않음
+                String tripId = reader.get(trip);
+                if (tripId == null) continue;
+                if (!tripId.equals(lastTripId)) {
+                    lastTripId = tripId;
+                    routeId = tripRoutes.get(tripId);
+                }
+                String departureTime = reader.get(departure);
+                if (departureTime == null) departureTime = reader.get(arrival);
+                if (routeId == null || departureTime == null) continue;
+                statement.setString(1, lastTripId);
+                statement.setString(2, routeId);
+                statement.setString(3, reader.get(stop));
+                statement.setString(4, departureTime);
+                statement.setInt(5, reader.getInt(sequence, 0));
+                setNullableInt(statement, 6, reader.getInt(pickup, -1));
+                setNullableInt(statement, 7, reader.getInt(dropOff, -1));
+                count = addBatch(connection, statement, count);
+                if (count % 1_000_000 == 0) log.info("GTFS stop_times 적재 중: {}건", count);
+            }
+            return flush(connection, statement, count);
+        }
+    }
+
+    private static void setNullableInt(PreparedStatement statement, int index, int value) throws SQLException {
+        if (value < 0) statement.setNull(index, Types.INTEGER);
+        else statement.setInt(index, value);
+    }
+
+    // 배치 크기마다 전송하고 커밋해서 트랜잭션이 너무 커지지 않게 함
+    private int addBatch(Connection connection, PreparedStatement statement, int count) throws SQLException {
+        statement.addBatch();
+        count++;
+        if (count % batchSize == 0) {
+            statement.executeBatch();
+            connection.commit();
+        }
+        return count;
+    }
+
+    private int flush(Connection connection, PreparedStatement statement, int count) throws SQLException {
+        if (count % batchSize != 0) statement.executeBatch();
+        connection.commit();
+        return count;
+    }
+
+    private static GtfsCsvReader open(ZipFile zip, String name) throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        if (entry == null) throw new IllegalArgumentException("GTFS 파일에 " + name + " 이(가) 없습니다.");
+        return new GtfsCsvReader(new InputStreamReader(zip.getInputStream(entry), StandardCharsets.UTF_8));
+    }
+}
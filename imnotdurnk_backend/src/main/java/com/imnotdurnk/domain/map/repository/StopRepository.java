@@ -1,22 +1,33 @@
 package com.imnotdurnk.domain.map.repository;
 
 import com.imnotdurnk.domain.map.entity.MapResult;
-import com.imnotdurnk.domain.map.entity.RouteResult;
+import com.imnotdurnk.domain.map.entity.RouteStopResult;
 import com.imnotdurnk.domain.map.entity.StopEntity;
 import com.imnotdurnk.domain.map.entity.TransitResult;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * 정류장/노선 조회 쿼리, 모두 읽기 전용이고 호출하는 쪽에서 {@link com.imnotdurnk.global.config.ReplicaReads} 로 감싸 replica 커넥션 풀로 보냄
+ *
+ * station.location 은 SRID 4326 POINT 이고 SPATIAL INDEX 가 걸려 있음 (data/add_spatial_index.sql)
+ * 반경 조건은 색인을 타는 MBRContains(startBox/destBox) 로 먼저 거른 뒤 ST_Distance_Sphere 로 정확히 확인함
+ * startBox/destBox 는 {@link com.imnotdurnk.global.util.GeoUtil#boundingBox} 로 만든 반경 500m 사각형
+ * 4326 에서는 ST_X/ST_Y 의 축 순서가 위도/경도로 바뀌므로 좌표는 ST_Latitude/ST_Longitude 로 읽음
+ */
 @Repository
+@Transactional(readOnly = true)
 public interface StopRepository extends JpaRepository<StopEntity, String> {
 
     @Query(value = "WITH findPath AS ( "+
-            "SELECT r.route_id, s.stop_id, ST_Y(s.location) AS stop_lat, ST_X(s.location) AS stop_lon, s.stop_name, r.route_short_name, r.route_type, "+
-            "ST_Distance_Sphere(point(ST_X(s.location), ST_Y(s.location)), point(:destlon, :destlat)) AS distance, st.departure_time, st.stop_sequence "+
+            "SELECT r.route_id, s.stop_id, ST_Latitude(s.location) AS stop_lat, ST_Longitude(s.location) AS stop_lon, s.stop_name, r.route_short_name, r.route_type, "+
+            "ST_Distance_Sphere(s.location, ST_SRID(point(:destlon, :destlat), 4326)) AS distance, st.trip_id, st.departure_time, st.stop_sequence "+
             "FROM station s "+
             "JOIN stop_time st ON s.stop_id = st.stop_id "+
             "JOIN route r ON r.route_id = st.route_id "+
@@ -24,19 +35,19 @@ public interface StopRepository extends JpaRepository<StopEntity, String> {
             "SELECT DISTINCT st2.route_id "+
             "FROM stop_time st2 "+
             "JOIN station s2 ON st2.stop_id = s2.stop_id "+
-            "WHERE ST_Distance_Sphere(point(ST_X(s2.location), ST_Y(s2.location)), point(:startlon, :startlat)) < 500 "+
+            "WHERE MBRContains(ST_GeomFromText(:startBox, 4326, 'axis-order=long-lat'), s2.location) AND ST_Distance_Sphere(s2.location, ST_SRID(point(:startlon, :startlat), 4326)) < 500 "+
             "AND st2.departure_time > :time "+
             ")) "+
             "SELECT DISTINCT f.route_short_name AS route, f.stop_name AS destStop, "+
-            "ST_Distance_Sphere(point(ST_X(s.location), ST_Y(s.location)), point(:startlon, :startlat)) AS startDistance, "+
+            "ST_Distance_Sphere(s.location, ST_SRID(point(:startlon, :startlat), 4326)) AS startDistance, "+
             "f.stop_lat as destLat, f.stop_lon as destLon, s.stop_name AS startStop, f.distance AS distance, "+
-            "abs(time(f.departure_time) - time(st.departure_time)) / 60 as duration, "+
+            "ABS(TIME_TO_SEC(TIMEDIFF(f.departure_time, st.departure_time)) / 60) as duration, "+
             "st.route_id as routeId, st.stop_sequence as seq1, f.stop_sequence as seq2, "+
-            "ST_Y(s.location) as startLat, ST_X(s.location) as startLon, f.route_type as type "+
+            "ST_Latitude(s.location) as startLat, ST_Longitude(s.location) as startLon, f.route_type as type "+
             "FROM findPath f "+
-            "JOIN stop_time st ON f.route_id = st.route_id "+
+            "JOIN stop_time st ON f.route_id = st.route_id AND f.trip_id <=> st.trip_id "+
             "JOIN station s ON st.stop_id = s.stop_id "+
-            "WHERE ST_Distance_Sphere(point(ST_X(s.location), ST_Y(s.location)), point(:startlon, :startlat)) < 500 "+
+            "WHERE MBRContains(ST_GeomFromText(:startBox, 4326, 'axis-order=long-lat'), s.location) AND ST_Distance_Sphere(s.location, ST_SRID(point(:startlon, :startlat), 4326)) < 500 "+
             "AND st.stop_sequence < f.stop_sequence "+
             "AND st.departure_time > :time "+
             "ORDER BY f.distance ASC", nativeQuery = true)
@@ -44,35 +55,45 @@ public interface StopRepository extends JpaRepository<StopEntity, String> {
                              @Param("startlon") Double startlon,
                              @Param("destlat") Double destlat,
                              @Param("destlon") Double destlon,
-                             @Param("time") String time);
+                             @Param("time") String time,
+                             @Param("startBox") String startBox);
 
-    @Query(value = "SELECT s.stop_name, ST_Y(s.location) AS lat, ST_X(s.location) AS lon " +
+    /**
+     * 여러 노선의 정류장 목록을 한 번에 조회
+     * stop_time 은 운행마다 같은 정류장 행이 반복되므로 DISTINCT 로 (노선, 순번) 당 한 행만 남기고,
+     * 노선별 구간 자르기는 호출 측에서 함
+     */
+    @Query(value = "SELECT DISTINCT st.route_id AS routeId, st.stop_sequence AS seq, " +
+            "s.stop_name AS stopName, ST_Latitude(s.location) AS lat, ST_Longitude(s.location) AS lon " +
             "FROM station s " +
             "JOIN stop_time st ON s.stop_id = st.stop_id " +
-            "WHERE st.route_id = :routeId " +
-            "AND st.stop_sequence BETWEEN :seq1 AND :seq2 " +
-            "ORDER BY st.stop_sequence", nativeQuery = true)
-    List<RouteResult> findRoute(@Param("seq1") int seq1, @Param("seq2") int seq2, @Param("routeId") String routeId);
+            "WHERE st.route_id IN (:routeIds) " +
+            "AND st.stop_sequence BETWEEN :minSeq AND :maxSeq " +
+            "ORDER BY st.route_id, st.stop_sequence", nativeQuery = true)
+    List<RouteStopResult> findRoutes(@Param("routeIds") Collection<String> routeIds,
+                                     @Param("minSeq") int minSeq, @Param("maxSeq") int maxSeq);
 
     @Query(value = "SELECT DISTINCT s.route_short_name AS route, s.stop_name AS start, s2.stop_name AS end, s.stop_sequence AS seq1, s2.stop_sequence AS seq2, s.route_type AS type, " +
             "ABS(TIME_TO_SEC(TIMEDIFF(s.departure_time, s2.departure_time)) / 60) AS duration, s.route_id AS routeId " +
-            "FROM (SELECT s.stop_name, r.route_id, r.route_type, st.stop_sequence, r.route_short_name, st.departure_time " +
+            "FROM (SELECT s.stop_name, r.route_id, r.route_type, st.trip_id, st.stop_sequence, r.route_short_name, st.departure_time " +
             "      FROM station s " +
             "      JOIN stop_time st ON s.stop_id = st.stop_id " +
             "      JOIN route r ON r.route_id = st.route_id " +
-            "      WHERE ST_Distance_Sphere(point(ST_X(s.location), ST_Y(s.location)), point(:startlon, :startlat)) < 500 " +
+            "      WHERE MBRContains(ST_GeomFromText(:startBox, 4326, 'axis-order=long-lat'), s.location) AND ST_Distance_Sphere(s.location, ST_SRID(point(:startlon, :startlat), 4326)) < 500 " +
             "      AND st.departure_time > :time) s " +
-            "JOIN (SELECT s.stop_name, r.route_id, st.stop_sequence, st.departure_time " +
+            "JOIN (SELECT s.stop_name, r.route_id, st.trip_id, st.stop_sequence, st.departure_time " +
             "      FROM station s " +
             "      JOIN stop_time st ON s.stop_id = st.stop_id " +
             "      JOIN route r ON r.route_id = st.route_id " +
-            "      WHERE ST_Distance_Sphere(point(ST_X(s.location), ST_Y(s.location)), point(:destlon, :destlat)) < 500) s2 " +
-            "ON s.route_id = s2.route_id " +
+            "      WHERE MBRContains(ST_GeomFromText(:destBox, 4326, 'axis-order=long-lat'), s.location) AND ST_Distance_Sphere(s.location, ST_SRID(point(:destlon, :destlat), 4326)) < 500) s2 " +
+            "ON s.route_id = s2.route_id AND s.trip_id <=> s2.trip_id " +
             "WHERE s.stop_sequence < s2.stop_sequence " +
             "ORDER BY duration ASC", nativeQuery = true)
     List<TransitResult> findTransitRoute(@Param("startlat") Double startlat,
                                          @Param("startlon") Double startlon,
                                          @Param("destlat") Double destlat,
                                          @Param("destlon") Double destlon,
-                                         @Param("time") String time);
+                                         @Param("time") String time,
+                                         @Param("startBox") String startBox,
+                                         @Param("destBox") String destBox);
 }
@@ -1,21 +1,59 @@
 package com.imnotdurnk.domain.map.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.imnotdurnk.domain.map.dto.BatchRouteDto;
+import com.imnotdurnk.domain.map.dto.BatchRouteRequestDto;
+import com.imnotdurnk.domain.map.dto.IsochroneDto;
+import com.imnotdurnk.domain.map.dto.ItineraryDto;
+import com.imnotdurnk.domain.map.dto.LastDepartureDto;
 import com.imnotdurnk.domain.map.dto.MapDto;
 import com.imnotdurnk.domain.map.dto.RouteDto;
+import com.imnotdurnk.domain.map.dto.RouteSlice;
+import com.imnotdurnk.domain.map.dto.StationViewportDto;
+import com.imnotdurnk.domain.map.dto.TimetableStatusDto;
 import com.imnotdurnk.domain.map.dto.TransitDto;
+import com.imnotdurnk.domain.map.taxi.TaxiFareMode;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface MapService {
-    public List<MapDto> getStopsAndRoutesInArea(double destlat, double destlon, double startlat, double startlon , String time);
+    public List<MapDto> getStopsAndRoutesInArea(double destlat, double destlon, double startlat, double startlon , String time, boolean useCache);
+
+    Mono<List<MapDto>> getStopsAndRoutesInAreaReactive(double destlat, double destlon, double startlat, double startlon , String time, boolean useCache);
 
     public List<RouteDto> getRoutes(String routeId, int seq1, int seq2);
 
-    public List<MapDto> getStopsAndRoutesInAreaWithTaxi(double destlat, double destlon, double startlat, double startlon , String time);
+    Map<RouteSlice, List<RouteDto>> getRoutes(Collection<RouteSlice> slices);
+
+    String getRoutePolyline(String routeId, int seq1, int seq2);
+
+    TimetableStatusDto getTimetableStatus();
+
+    Mono<List<BatchRouteDto>> getBatchRoutesReactive(BatchRouteRequestDto request);
+
+    Mono<IsochroneDto> getIsochroneReactive(double startlat, double startlon, String time, int minutes);
+
+    StationViewportDto getStations(String bbox, int zoom);
+
+    String getStationsETag(String bbox, int zoom);
+
+    List<LastDepartureDto> getLastDepartures(double startlat, double startlon, String time, Double homelat, Double homelon, String authorization);
+
+    public List<MapDto> getStopsAndRoutesInAreaWithTaxi(double destlat, double destlon, double startlat, double startlon , String time, TaxiFareMode fareMode);
+
+    Mono<List<MapDto>> getStopsAndRoutesInAreaWithTaxiReactive(double destlat, double destlon, double startlat, double startlon , String time, TaxiFareMode fareMode);
 
     JsonNode requestOdsayApi(String depLng, String depLat, String destLng, String destLat);
 
-    List<List<TransitDto>> getOptimizeRoute(double destlat, double destlon, double startlat, double startlon, String time);
+    List<List<TransitDto>> getOptimizeRoute(double destlat, double destlon, double startlat, double startlon, String time, String engine);
+
+    Mono<List<List<TransitDto>>> getOptimizeRouteReactive(double destlat, double destlon, double startlat, double startlon, String time, String engine);
+
+    Flux<ItineraryDto> streamOptimizeRoute(double destlat, double destlon, double startlat, double startlon, String time, String engine);
 }
 
@@ -1,46 +1,120 @@
 package com.imnotdurnk.domain.map.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imnotdurnk.domain.auth.enums.TokenType;
+import com.imnotdurnk.domain.map.cache.DirectRouteCache;
+import com.imnotdurnk.domain.map.client.OdsayClient;
+import com.imnotdurnk.domain.map.dto.BatchRouteDto;
+import com.imnotdurnk.domain.map.dto.BatchRouteRequestDto;
+import com.imnotdurnk.domain.map.dto.IsochroneCellDto;
+import com.imnotdurnk.domain.map.dto.IsochroneDto;
+import com.imnotdurnk.domain.map.dto.IsochroneStopDto;
+import com.imnotdurnk.domain.map.dto.ItineraryDto;
+import com.imnotdurnk.domain.map.dto.LastDepartureDto;
 import com.imnotdurnk.domain.map.dto.MapDto;
+import com.imnotdurnk.domain.map.dto.RouteDestinationDto;
 import com.imnotdurnk.domain.map.dto.RouteDto;
+import com.imnotdurnk.domain.map.dto.RouteSlice;
+import com.imnotdurnk.domain.map.dto.StationDto;
+import com.imnotdurnk.domain.map.dto.StationViewportDto;
+import com.imnotdurnk.domain.map.dto.TimetableStatusDto;
 import com.imnotdurnk.domain.map.dto.TransitDto;
 import com.imnotdurnk.domain.map.entity.MapResult;
-import com.imnotdurnk.domain.map.entity.RouteResult;
+import com.imnotdurnk.domain.map.entity.RouteStopResult;
 import com.imnotdurnk.domain.map.entity.TransitResult;
 import com.imnotdurnk.domain.map.repository.StopRepository;
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
+import com.imnotdurnk.domain.map.taxi.TaxiFareMode;
+import com.imnotdurnk.domain.map.taxi.TaxiFareResolver;
+import com.imnotdurnk.domain.map.timetable.DirectRouteSearch;
+import com.imnotdurnk.domain.map.timetable.FootpathGraph;
+import com.imnotdurnk.domain.map.timetable.Isochrone;
+import com.imnotdurnk.domain.map.timetable.LastDepartureIndex;
+import com.imnotdurnk.domain.map.timetable.RaptorRouter;
+import com.imnotdurnk.domain.map.timetable.StationViewport;
+import com.imnotdurnk.domain.map.timetable.TimetableState;
+import com.imnotdurnk.domain.map.timetable.TransitTime;
+import com.imnotdurnk.domain.map.timetable.TransitTimetable;
+import com.imnotdurnk.domain.map.timetable.TransitTimetableHolder;
+import com.imnotdurnk.domain.user.entity.UserEntity;
+import com.imnotdurnk.domain.user.repository.UserRepository;
+import com.imnotdurnk.global.config.ReplicaReads;
+import com.imnotdurnk.global.exception.ApiRequestFailedException;
+import com.imnotdurnk.global.exception.InvalidTokenException;
+import com.imnotdurnk.global.exception.RequiredFieldMissingException;
+import com.imnotdurnk.global.exception.ResourceNotFoundException;
+import com.imnotdurnk.global.util.FanOut;
+import com.imnotdurnk.global.util.GeoUtil;
+import com.imnotdurnk.global.util.JwtUtil;
+import com.imnotdurnk.global.util.PolylineUtil;
+import org.apache.coyote.BadRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.reactive.function.client.WebClient;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.netty.http.client.HttpClient;
+import reactor.core.scheduler.Scheduler;
 
 @Service
 public class MapServiceImpl implements MapService {
 
+    private static final String ENGINE_LOCAL = "local";
+    // Odsay 정류장 좌표를 시간표 정류장으로 맞출 때 허용하는 거리(m)
+    private static final double STOP_MATCH_RADIUS = 50;
+
     @Autowired
     StopRepository stopRepository;
 
-    @Value("${odsay.apikey}")
-    private String odsayApiKey;
     @Autowired
-    private RestTemplate restTemplate;
+    private TransitTimetableHolder timetableHolder;
+
+    @Autowired
+    private DirectRouteCache directRouteCache;
+
+    @Autowired
+    private TaxiFareResolver taxiFareResolver;
+
+    @Autowired
+    private OdsayClient odsayClient;
+
+    @Autowired
+    private Scheduler mapScheduler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${map.last-departure.radius:500}")
+    private double lastDepartureRadius;
+
+    @Value("${map.batch.max-destinations:10}")
+    private int batchMaxDestinations;
+
+    @Value("${map.isochrone.cell-size:250}")
+    private double isochroneCellSize;
+
+    @Value("${map.isochrone.max-minutes:120}")
+    private int isochroneMaxMinutes;
+
+    @Value("${map.stations.cluster-zoom:15}")
+    private int stationClusterZoom;
+
+    @Value("${map.stations.max-tiles:64}")
+    private int stationMaxTiles;
+
+    @Value("${map.stations.max-markers:2000}")
+    private int stationMaxMarkers;
+
+    @Value("${map.itinerary.timeout-ms:3000}")
+    private long itineraryTimeoutMillis;
+
 
     /**
      * 지정된 지역 내에서 가장 가까운 정류소와 경로 정보를 검색
@@ -54,12 +128,31 @@ public class MapServiceImpl implements MapService {
      * @param startLat 현재 위치의 위도
      * @param startLon 현재 위치의 경도
      * @param time 현재 시간
+     * @param useCache 좌표·시각이 비슷한 요청의 결과를 재사용할지 여부
      * @return 가장 가까운 정류소와 경로 정보를 포함하는 MapResult 객체
      */
-    public List<MapDto> getStopsAndRoutesInArea(double startLat, double startLon,  double destLat, double destLon, String time) {
+    public List<MapDto> getStopsAndRoutesInArea(double startLat, double startLon,  double destLat, double destLon, String time, boolean useCache) {
+        int departureTime = TransitTime.parse(time);
+        // 검색 도중 시간표가 교체되어도 이 요청은 처음 받은 시간표와 버전으로 끝냄
+        TimetableState state = timetableHolder.state();
+        TransitTimetable timetable = state == null ? null : state.timetable();
+        if (!useCache) {
+            return searchStopsAndRoutesInArea(timetable, startLat, startLon, destLat, destLon, departureTime);
+        }
+        return directRouteCache.get(state == null ? null : state.version(), startLat, startLon, destLat, destLon, departureTime,
+                () -> searchStopsAndRoutesInArea(timetable, startLat, startLon, destLat, destLon, departureTime));
+    }
 
+    @Override
+    public Mono<List<MapDto>> getStopsAndRoutesInAreaReactive(double startLat, double startLon, double destLat, double destLon, String time, boolean useCache) {
+        // 캐시(Redis)와 경로 검색 모두 블로킹 호출이므로 요청 스레드 대신 별도 스케줄러에서 실행
+        return Mono.fromCallable(() -> getStopsAndRoutesInArea(startLat, startLon, destLat, destLon, time, useCache))
+                .subscribeOn(mapScheduler);
+    }
+
+    private List<MapDto> searchStopsAndRoutesInArea(TransitTimetable timetable, double startLat, double startLon, double destLat, double destLon, int time) {
         List<MapDto> mapResult = new ArrayList<MapDto>();
-        List<MapResult> stop = stopRepository.findStop(startLat, startLon, destLat, destLon, time);
+        List<MapResult> stop = findStop(timetable, startLat, startLon, destLat, destLon, time);
         Set<String> set = new HashSet<String>();
         int cnt=0;
         for(MapResult result : stop){
@@ -91,11 +184,25 @@ public class MapServiceImpl implements MapService {
      * @param startlat 현재 위치의 위도
      * @param startlon 현재 위치의 경도
      * @param time 현재 시간
+     * @param fareMode 택시 요금 조회 방식 (카카오 조회 / 요금표 추정 / 자동)
      * @return 가장 가까운 정류소와 경로 정보를 포함하는 MapResult 객체
      */
-    public List<MapDto> getStopsAndRoutesInAreaWithTaxi(double destlat, double destlon, double startlat, double startlon, String time) {
+    public List<MapDto> getStopsAndRoutesInAreaWithTaxi(double destlat, double destlon, double startlat, double startlon, String time, TaxiFareMode fareMode) {
+        return getStopsAndRoutesInAreaWithTaxiReactive(destlat, destlon, startlat, startlon, time, fareMode).block();
+    }
+
+    @Override
+    public Mono<List<MapDto>> getStopsAndRoutesInAreaWithTaxiReactive(double destlat, double destlon, double startlat, double startlon, String time, TaxiFareMode fareMode) {
+        int departureTime = TransitTime.parse(time);
+        TransitTimetable timetable = timetableHolder.current();
+        // 경로 검색은 DB 조회가 있을 수 있으므로 별도 스케줄러에서 실행하고, 택시 요금은 WebClient 로 기다리지 않고 받음
+        return Mono.fromCallable(() -> findStop(timetable, startlat, startlon, destlat, destlon, departureTime))
+                .subscribeOn(mapScheduler)
+                .flatMap(stop -> withTaxiFare(stop, startlat, departureTime, fareMode));
+    }
+
+    private Mono<List<MapDto>> withTaxiFare(List<MapResult> stop, double startlat, int departureTime, TaxiFareMode fareMode) {
         List<Mono<MapDto>> mapDtoList = new ArrayList<>();
-        List<MapResult> stop = stopRepository.findStop(startlat, startlon, destlat, destlon, time);
         Set<String> set = new HashSet<String>();
         int cnt=0;
         if (!stop.isEmpty() && !stop.get(0).getRoute().isEmpty()) {
@@ -108,262 +215,680 @@ public class MapServiceImpl implements MapService {
                 String slon = result.getStartLon().get().replace("\r", "");
                 String dlon = result.getDestLon().get().replace("\r", "");
                 String dlat = result.getDestLat().get();
-                String origin = slon + ", " + startlat;
-                String destination = dlon + ", " + dlat;
-
-                // fetchTaxiFare의 결과를 Mono로 받아서 처리
-                Mono<Integer> taxiFareMono = fetchTaxiFare(origin, destination);
-
-                // MapDto를 생성하는 부분을 Mono로 감싸기
-                mapDtoList.add(taxiFareMono.map(taxiFare -> new MapDto(
-                        result.getDestLat(),
-                        Optional.of(dlon),
-                        result.getStartStop(),
-                        result.getStartDistance(),
-                        result.getRoute(),
-                        result.getDestStop(),
-                        result.getDistance(),
-                        result.getDuration(),
-                        result.getSeq1(),
-                        result.getSeq2(),
-                        result.getRouteId(),
-                        result.getStartLat(),
-                        Optional.of(slon),
-                        taxiFare.toString()
-                )));
+
+                // 택시 요금을 구하지 못하면 요금 없이 결과를 만듦
+                mapDtoList.add(taxiFareResolver.getFare(fareMode, Double.parseDouble(slon), startlat, Double.parseDouble(dlon), Double.parseDouble(dlat), departureTime)
+                        .map(taxiFare -> toMapDto(result, slon, dlon, taxiFare.toString()))
+                        .defaultIfEmpty(toMapDto(result, slon, dlon, null)));
             }
 
-            // 모든 Mono를 합쳐서 결과를 처리하고 block()을 사용하여 동기적으로 결과를 가져옴
-            List<MapDto> resultList = Mono.zip(mapDtoList, results -> {
+            // 모든 Mono를 합쳐서 결과 목록으로 만듦
+            return Mono.zip(mapDtoList, results -> {
                 List<MapDto> tempResultList = new ArrayList<>();
                 for (Object obj : results) {
                     tempResultList.add((MapDto) obj);
                 }
                 return tempResultList;
-            }).block(); // 결과를 동기적으로 가져옴
-
-            return resultList;
+            });
         }
         // 만약 조건이 충족되지 않으면 빈 리스트 반환
-        return new ArrayList<>();
+        return Mono.just(new ArrayList<>());
+    }
+
+    private MapDto toMapDto(MapResult result, String slon, String dlon, String taxiFare) {
+        return new MapDto(
+                result.getDestLat(),
+                Optional.of(dlon),
+                result.getStartStop(),
+                result.getStartDistance(),
+                result.getRoute(),
+                result.getDestStop(),
+                result.getDistance(),
+                result.getDuration(),
+                result.getSeq1(),
+                result.getSeq2(),
+                result.getRouteId(),
+                result.getStartLat(),
+                Optional.of(slon),
+                taxiFare
+        );
+    }
+
+    /**
+     * 환승 없이 갈 수 있는 경로 검색
+     *
+     * 메모리 시간표가 적재되어 있으면 DB 왕복 없이 시간표에서 찾고,
+     * 아직 적재 전이면 기존 StopRepository.findStop 쿼리를 사용
+     *
+     * @param timetable 요청 시작 시점의 시간표, 적재 전이면 null
+     * @param time 기준 시각 (자정 기준 초)
+     */
+    private List<MapResult> findStop(TransitTimetable timetable, double startLat, double startLon, double destLat, double destLon, int time) {
+        if (timetable == null) {
+            return ReplicaReads.call(() -> stopRepository.findStop(startLat, startLon, destLat, destLon, TransitTime.format(time),
+                    GeoUtil.boundingBox(startLat, startLon, DirectRouteSearch.NEARBY_RADIUS)));
+        }
+        return new DirectRouteSearch(timetable).find(startLat, startLon, destLat, destLon, time);
+    }
+
+    /**
+     * 환승 경로의 한 구간(한 노선으로 이동) 검색
+     *
+     * 메모리 시간표가 적재되어 있으면 정류장 격자 색인으로 주변 정류장만 보고,
+     * 아직 적재 전이면 기존 StopRepository.findTransitRoute 쿼리를 사용
+     *
+     * @param timetable 요청 시작 시점의 시간표, 적재 전이면 null
+     * @param time 기준 시각 (자정 기준 초)
+     */
+    private List<TransitResult> findTransitRoute(TransitTimetable timetable, double startLat, double startLon, double destLat, double destLon, int time) {
+        if (timetable == null) {
+            return ReplicaReads.call(() -> stopRepository.findTransitRoute(startLat, startLon, destLat, destLon, TransitTime.format(time),
+                    GeoUtil.boundingBox(startLat, startLon, DirectRouteSearch.NEARBY_RADIUS),
+                    GeoUtil.boundingBox(destLat, destLon, DirectRouteSearch.NEARBY_RADIUS)));
+        }
+        return new DirectRouteSearch(timetable).findLegs(startLat, startLon, destLat, destLon, time);
     }
 
     @Override
     public List<RouteDto> getRoutes(String routeId, int seq1, int seq2){
-        int min = seq1<=seq2?seq1:seq2;
-        int max = seq1>seq2?seq1:seq2;
-
-        List<RouteResult> route = stopRepository.findRoute(min, max, routeId);
-        List<RouteDto> routeResult = new ArrayList<>();
-        for(RouteResult result : route){
-            String lon = result.getLon().get();
-            lon=lon.replace("\r", "");
-            routeResult.add(new RouteDto(Optional.of(lon),result.getLat(),result.getStopName()));
+        RouteSlice slice = RouteSlice.of(routeId, seq1, seq2);
+        return getRoutes(timetableHolder.current(), List.of(slice)).get(slice);
+    }
+
+    /**
+     * 여러 노선 구간의 정류장 목록을 조회
+     *
+     * 메모리 시간표가 있으면 노선별 정류장 배열에서 바로 잘라 쓰고,
+     * 시간표에 없는 노선만 쿼리 한 번으로 모아서 DB 에서 조회함
+     * 같은 구간은 하나로 합쳐서 같은 목록을 함께 씀
+     *
+     * @param slices 조회할 노선 구간
+     * @return 구간별 정류장 목록 (stop_sequence 순)
+     */
+    @Override
+    public Map<RouteSlice, List<RouteDto>> getRoutes(Collection<RouteSlice> slices){
+        return getRoutes(timetableHolder.current(), slices);
+    }
+
+    /**
+     * 요청 시작 시점의 시간표로 노선 구간의 정류장 목록을 조회 (요청 중에 시간표가 바뀌어도 같은 버전을 씀)
+     *
+     * @param timetable 요청 시작 시점의 시간표, 적재 전이면 null
+     */
+    private Map<RouteSlice, List<RouteDto>> getRoutes(TransitTimetable timetable, Collection<RouteSlice> slices){
+        Map<RouteSlice, List<RouteDto>> routes = new HashMap<>();
+        List<RouteSlice> missing = new ArrayList<>();
+        for (RouteSlice slice : slices) {
+            if (routes.containsKey(slice)) continue;
+            List<RouteDto> stops = timetable == null ? null
+                    : timetable.getRouteShapes().slice(slice.routeId(), slice.seqFrom(), slice.seqTo());
+            if (stops == null) missing.add(slice);
+            else routes.put(slice, stops);
         }
-        return routeResult;
+        if (!missing.isEmpty()) routes.putAll(findRoutes(missing));
+        return routes;
+    }
+
+    @Override
+    public String getRoutePolyline(String routeId, int seq1, int seq2) {
+        RouteSlice slice = RouteSlice.of(routeId, seq1, seq2);
+        TransitTimetable timetable = timetableHolder.current();
+        return polylineOf(timetable, slice, getRoutes(timetable, List.of(slice)).get(slice));
+    }
+
+    // DB 에서 노선 구간의 정류장 목록을 쿼리 한 번으로 조회, 노선별로 한 번 읽은 정류장 행을 구간마다 잘라서 씀
+    private Map<RouteSlice, List<RouteDto>> findRoutes(Collection<RouteSlice> slices) {
+        Map<RouteSlice, List<RouteDto>> routes = new HashMap<>();
+        Set<String> routeIds = new HashSet<>();
+        int minSeq = Integer.MAX_VALUE;
+        int maxSeq = Integer.MIN_VALUE;
+        for (RouteSlice slice : slices) {
+            routes.put(slice, new ArrayList<>());
+            routeIds.add(slice.routeId());
+            minSeq = Math.min(minSeq, slice.seqFrom());
+            maxSeq = Math.max(maxSeq, slice.seqTo());
+        }
+
+        int seqFrom = minSeq;
+        int seqTo = maxSeq;
+        List<RouteStopResult> results = ReplicaReads.call(() -> stopRepository.findRoutes(routeIds, seqFrom, seqTo));
+        for (RouteStopResult result : results) {
+            String routeId = result.getRouteId().orElse(null);
+            int seq = result.getSeq().orElse(-1);
+            RouteDto stop = null;
+            for (Map.Entry<RouteSlice, List<RouteDto>> entry : routes.entrySet()) {
+                RouteSlice slice = entry.getKey();
+                if (!slice.routeId().equals(routeId) || !slice.contains(seq)) continue;
+                if (stop == null) {
+                    String lon = result.getLon().get();
+                    lon=lon.replace("\r", "");
+                    stop = new RouteDto(Optional.of(lon),result.getLat(),result.getStopName());
+                }
+                entry.getValue().add(stop);
+            }
+        }
+        return routes;
+    }
+
+    // DB 에서 조회한 정류장 목록을 polyline 으로 인코딩, 좌표가 비어 있는 행은 건너뜀
+    private String encodePolyline(List<RouteDto> stops) {
+        double[] lats = new double[stops.size()];
+        double[] lons = new double[stops.size()];
+        int count = 0;
+        for (RouteDto stop : stops) {
+            if (stop.getLat().isEmpty() || stop.getLon().isEmpty()) continue;
+            lats[count] = Double.parseDouble(stop.getLat().get().trim());
+            lons[count++] = Double.parseDouble(stop.getLon().get().trim());
+        }
+        return PolylineUtil.encode(Arrays.copyOf(lats, count), Arrays.copyOf(lons, count));
+    }
+
+    /**
+     * 현재 사용 중인 메모리 시간표의 버전과 적재 시각
+     */
+    @Override
+    public TimetableStatusDto getTimetableStatus() {
+        TimetableStatusDto status = new TimetableStatusDto();
+        TimetableState state = timetableHolder.state();
+        status.setLoaded(state != null);
+        if (state == null) return status;
+        TransitTimetable timetable = state.timetable();
+        status.setVersion(state.version());
+        status.setSource(state.source());
+        status.setBuiltAt(Instant.ofEpochMilli(state.builtAt()).atZone(ZoneId.systemDefault()).toLocalDateTime().toString());
+        status.setBuildMillis(state.buildMillis());
+        status.setStopCount(timetable.getStopCount());
+        status.setRouteCount(timetable.getRouteCount());
+        status.setTripCount(timetable.getTrips().getTripCount());
+        status.setStopTimeCount(timetable.getStopTimeCount());
+        status.setFootpathCount(timetable.getFootpaths().getEdgeCount());
+        return status;
     }
 
     /**
-     * 지정된 출발지와 도착지에 대한 택시 요금을 비동기적으로 가져옴
+     * 지도 화면 영역의 정류장
      *
-     * 이 메서드는 카카오 맵 API를 호출하여 주어진 출발지(origin)와 도착지(destination) 간의
-     * 택시 요금과 통행료를 계산하여 반환함
+     * bbox 를 줌 레벨의 타일 경계까지 넓혀서 메모리 정류장 격자에서 찾음
+     * map.stations.cluster-zoom 보다 낮은 줌이거나 정류장이 너무 많으면 칸별로 묶어서 돌려줌
      *
-     * @param origin 출발지의 좌표
-     * @param destination 도착지의 좌표
-     * @return Mono<Integer> 택시 요금과 통행료의 합계를 포함하는 Mono 객체.
-     *         성공적으로 요금을 가져오면 Integer 값이 반환되며,
-     *         오류가 발생하면 Mono.error()를 통해 에러가 전달됩니다.
+     * @param bbox "최소경도,최소위도,최대경도,최대위도"
+     */
+    @Override
+    public StationViewportDto getStations(String bbox, int zoom) {
+        TimetableState state = requireTimetableState();
+        TransitTimetable timetable = state.timetable();
+        StationViewport viewport = parseViewport(bbox, zoom);
+
+        boolean clustered = zoom < stationClusterZoom;
+        List<StationViewport.Marker> markers = viewport.query(timetable, clustered);
+        if (!clustered && markers.size() > stationMaxMarkers) {
+            markers = viewport.query(timetable, true);
+            clustered = true;
+        }
+
+        List<StationDto> stations = new ArrayList<>(markers.size());
+        for (StationViewport.Marker marker : markers) {
+            boolean single = marker.count() == 1;
+            stations.add(new StationDto(single ? timetable.getStopId(marker.stop()) : null,
+                    single ? timetable.getStopName(marker.stop()) : null,
+                    marker.lat(), marker.lon(), marker.count()));
+        }
+        StationViewportDto result = new StationViewportDto();
+        result.setZoom(zoom);
+        result.setClustered(clustered);
+        result.setMinLat(viewport.getMinLat());
+        result.setMinLon(viewport.getMinLon());
+        result.setMaxLat(viewport.getMaxLat());
+        result.setMaxLon(viewport.getMaxLon());
+        result.setStations(stations);
+        return result;
+    }
+
+    /**
+     * 정류장 조회 결과의 ETag
+     * 결과는 시간표 버전과 타일 범위로만 정해지므로 정류장을 찾지 않고 바로 만듦
+     */
+    @Override
+    public String getStationsETag(String bbox, int zoom) {
+        TimetableState state = requireTimetableState();
+        StationViewport viewport = parseViewport(bbox, zoom);
+        return "\"" + state.version() + "/" + zoom + "/" + viewport.getMinX() + "-" + viewport.getMaxX()
+                + "/" + viewport.getMinY() + "-" + viewport.getMaxY() + "\"";
+    }
+
+    private TimetableState requireTimetableState() {
+        TimetableState state = timetableHolder.state();
+        if (state == null) throw new ApiRequestFailedException("시간표를 적재하는 중입니다. 잠시 후 다시 시도해 주세요.");
+        return state;
+    }
+
+    private StationViewport parseViewport(String bbox, int zoom) {
+        String[] values = bbox.split(",");
+        if (values.length != 4) throw new IllegalArgumentException("bbox 는 최소경도,최소위도,최대경도,최대위도 형식이어야 합니다.");
+        StationViewport viewport = StationViewport.of(Double.parseDouble(values[1].trim()), Double.parseDouble(values[0].trim()),
+                Double.parseDouble(values[3].trim()), Double.parseDouble(values[2].trim()), zoom);
+        if ((long) viewport.getTileWidth() * viewport.getTileHeight() > stationMaxTiles) {
+            throw new IllegalArgumentException("bbox 가 줌 레벨에 비해 너무 넓습니다.");
+        }
+        return viewport;
+    }
+
+    /**
+     * 출발지 근처에서 타서 집 근처까지 환승 없이 가는 노선별 막차
+     *
+     * 집 좌표를 받지 않으면 access token 의 회원 주소 좌표를 씀
+     * 정차 지점별 막차를 시간표 적재 시 미리 색인해 두므로 1분마다 다시 불러도 DB 를 거치지 않음
+     *
+     * @param time 기준 시각, 남은 시간 계산에 씀
+     * @param authorization Authorization 헤더 ("Bearer " + access token), 집 좌표를 받았으면 없어도 됨
+     * @return 노선별 막차, 막차 출발 시각이 늦은 순
+     */
+    @Override
+    public List<LastDepartureDto> getLastDepartures(double startLat, double startLon, String time,
+                                                    Double homeLat, Double homeLon, String authorization) {
+        int now = TransitTime.parse(time);
+        if (homeLat == null || homeLon == null) {
+            UserEntity user = findUser(authorization);
+            if (user.getLatitude() == null || user.getLongitude() == null) {
+                throw new ResourceNotFoundException("등록된 집 주소 좌표가 없습니다.");
+            }
+            homeLat = user.getLatitude();
+            homeLon = user.getLongitude();
+        }
+
+        TransitTimetable timetable = timetableHolder.current();
+        if (timetable == null) throw new ApiRequestFailedException("시간표를 적재하는 중입니다. 잠시 후 다시 시도해 주세요.");
+
+        List<LastDepartureDto> result = new ArrayList<>();
+        for (LastDepartureIndex.LastDeparture last : timetable.getLastDepartures()
+                .find(startLat, startLon, homeLat, homeLon, lastDepartureRadius)) {
+            result.add(toLastDepartureDto(timetable, last, now));
+        }
+        return result;
+    }
+
+    private UserEntity findUser(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new RequiredFieldMissingException("집 좌표 또는 로그인 정보가 필요합니다.");
+        }
+        String email = jwtUtil.getUserEmail(authorization.substring("Bearer ".length()), TokenType.ACCESS);
+        if (email == null) throw new InvalidTokenException("유효하지 않은 토큰입니다.");
+        UserEntity user = userRepository.findByEmail(email);
+        if (user == null) throw new ResourceNotFoundException("일치하는 회원이 없습니다.");
+        return user;
+    }
+
+    private LastDepartureDto toLastDepartureDto(TransitTimetable timetable, LastDepartureIndex.LastDeparture last, int now) {
+        int boardStop = timetable.getSlotStop(last.board());
+        int alightStop = timetable.getSlotStop(last.alight());
+        int walkMeters = (int) Math.round(last.walkMeters());
+        int secondsLeft = TransitTime.secondsUntil(now, last.departure());
+
+        LastDepartureDto dto = new LastDepartureDto();
+        dto.setRoute(timetable.getRouteName(last.route()));
+        dto.setRouteId(timetable.getRouteId(last.route()));
+        dto.setType(timetable.getRouteType(last.route()));
+        dto.setStartStop(timetable.getStopName(boardStop));
+        dto.setStartLat(timetable.getStopLat(boardStop));
+        dto.setStartLon(timetable.getStopLon(boardStop));
+        dto.setStartDistance(walkMeters);
+        dto.setSeq1(timetable.getSlotSeq(last.board()));
+        dto.setDestStop(timetable.getStopName(alightStop));
+        dto.setDestLat(timetable.getStopLat(alightStop));
+        dto.setDestLon(timetable.getStopLon(alightStop));
+        dto.setDestDistance((int) Math.round(last.destMeters()));
+        dto.setSeq2(timetable.getSlotSeq(last.alight()));
+        dto.setLastDeparture(TransitTime.format(last.departure()));
+        dto.setArrival(TransitTime.format(last.arrival()));
+        dto.setMinutesLeft(Math.floorDiv(secondsLeft, TransitTime.MINUTE));
+        dto.setAvailable(secondsLeft >= walkMeters * TransitTime.MINUTE / RaptorRouter.WALK_METERS_PER_MINUTE);
+        return dto;
+    }
+
+    /**
+     * 출발지 하나에서 여러 목적지까지의 환승 경로
      *
-     * @throws JsonProcessingException JSON 응답을 파싱하는 도중 발생할 수 있는 예외.
+     * 목적지마다 /map/odsay/route 를 부르는 대신 시간표 위에서 출발지 기준 탐색을 한 번만 돌리고
+     * 같은 라벨에서 목적지별 경로를 복원함
      */
-    private Mono<Integer> fetchTaxiFare(String origin, String destination) {
-        HttpClient httpClient = HttpClient.create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000) // timeout 시간
-                .responseTimeout(Duration.ofMillis(5000))
-                .doOnConnected(conn ->
-                        conn.addHandlerLast(new ReadTimeoutHandler(5000, TimeUnit.MILLISECONDS))
-                                .addHandlerLast(new WriteTimeoutHandler(5000, TimeUnit.MILLISECONDS)));
-
-        var webClient = WebClient.builder()
-                .baseUrl("https://app.map.kakao.com/route/carset/mobility.json?")
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .build();
-
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .queryParam("origin", origin)
-                        .queryParam("destination", destination)
-                        .build())
-                .retrieve()
-                .bodyToMono(String.class)
-                .flatMap(response -> {
-                    try {
-                        // 응답을 JSON으로 파싱
-                        JsonNode jsonResponse = new ObjectMapper().readTree(response);
-                        JsonNode firstResult = jsonResponse.path("results").get(0);
-                        JsonNode fareNode = firstResult.path("summary").path("fare");
-                        int taxiFare = fareNode.path("taxi").asInt();
-                        int tollFare = fareNode.path("toll").asInt();
-                        return Mono.just(taxiFare+tollFare);
-                    } catch (JsonProcessingException e) {
-                        return Mono.error(e); // 에러 발생 시 Mono.error 리턴
+    @Override
+    public Mono<List<BatchRouteDto>> getBatchRoutesReactive(BatchRouteRequestDto request) {
+        List<RouteDestinationDto> destinations = request.getDestinations();
+        if (destinations == null || destinations.isEmpty() || request.getTime() == null) {
+            return Mono.error(new RequiredFieldMissingException("출발 시각과 목적지가 필요합니다."));
+        }
+        if (destinations.size() > batchMaxDestinations) {
+            return Mono.error(new BadRequestException("목적지는 최대 " + batchMaxDestinations + "개까지 조회할 수 있습니다."));
+        }
+        int departureTime = TransitTime.parse(request.getTime());
+        TransitTimetable timetable = timetableHolder.current();
+        if (timetable == null) {
+            return Mono.error(new ApiRequestFailedException("시간표를 적재하는 중입니다. 잠시 후 다시 시도해 주세요."));
+        }
+
+        double[][] coordinates = new double[destinations.size()][];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = new double[]{destinations.get(i).getLat(), destinations.get(i).getLon()};
+        }
+        return Mono.fromCallable(() -> {
+                    List<List<List<TransitDto>>> routes = new RaptorRouter(timetable)
+                            .route(request.getStartLat(), request.getStartLon(), coordinates, departureTime);
+                    List<BatchRouteDto> result = new ArrayList<>(routes.size());
+                    for (int i = 0; i < routes.size(); i++) {
+                        RouteDestinationDto destination = destinations.get(i);
+                        result.add(new BatchRouteDto(destination.getName(), destination.getLat(), destination.getLon(), routes.get(i)));
                     }
+                    return result;
                 })
-                .doOnError(error -> {
-                    System.err.println("Error fetching taxi fare: " + error.getMessage());
-                });
+                .subscribeOn(mapScheduler);
+    }
+
+    /**
+     * 출발지에서 minutes 분 안에 대중교통과 도보로 닿는 정류장과 격자 칸
+     *
+     * 정류장마다 findStop 을 반복하지 않고 시간표 위에서 출발지 기준 탐색을 한 번만 돌림
+     *
+     * @param minutes 이동 시간 한도(분), map.isochrone.max-minutes 를 넘으면 그 값으로 줄임
+     */
+    @Override
+    public Mono<IsochroneDto> getIsochroneReactive(double startLat, double startLon, String time, int minutes) {
+        int departureTime = TransitTime.parse(time);
+        int budget = Math.max(1, Math.min(minutes, isochroneMaxMinutes));
+        TransitTimetable timetable = timetableHolder.current();
+        if (timetable == null) {
+            return Mono.error(new ApiRequestFailedException("시간표를 적재하는 중입니다. 잠시 후 다시 시도해 주세요."));
+        }
+        return Mono.fromCallable(() -> toIsochroneDto(startLat, startLon, budget,
+                        new RaptorRouter(timetable).isochrone(startLat, startLon, departureTime, budget * TransitTime.MINUTE, isochroneCellSize)))
+                .subscribeOn(mapScheduler);
+    }
+
+    private IsochroneDto toIsochroneDto(double startLat, double startLon, int minutes, Isochrone isochrone) {
+        TransitTimetable timetable = isochrone.getTimetable();
+        int departure = isochrone.getDeparture();
+
+        List<IsochroneStopDto> stops = new ArrayList<>(isochrone.getStopCount());
+        for (int i = 0; i < isochrone.getStopCount(); i++) {
+            int stop = isochrone.getStop(i);
+            int arrival = isochrone.getArrival(i);
+            stops.add(new IsochroneStopDto(timetable.getStopName(stop), timetable.getStopLat(stop), timetable.getStopLon(stop),
+                    TransitTime.format(arrival), (arrival - departure) / TransitTime.MINUTE, isochrone.getRides(i)));
+        }
+        stops.sort(Comparator.comparingInt(IsochroneStopDto::getMinutes));
+
+        List<IsochroneCellDto> cells = new ArrayList<>();
+        isochrone.forEachCell((lat, lon, arrival) -> cells.add(new IsochroneCellDto(lat, lon, (arrival - departure) / TransitTime.MINUTE)));
+
+        IsochroneDto dto = new IsochroneDto();
+        dto.setStartLat(startLat);
+        dto.setStartLon(startLon);
+        dto.setDeparture(TransitTime.format(departure));
+        dto.setDeadline(TransitTime.format(isochrone.getDeadline()));
+        dto.setMinutes(minutes);
+        dto.setCellSize(isochroneCellSize);
+        dto.setCellLat(isochrone.getCellLat());
+        dto.setCellLon(isochrone.getCellLon());
+        dto.setStops(stops);
+        dto.setCells(cells);
+        return dto;
     }
 
     @Override
     public JsonNode requestOdsayApi(String depLng, String depLat, String destLng, String destLat) {
-        String url = String.format("https://api.odsay.com/v1/api/searchPubTransPathT?SX=%s&SY=%s&EX=%s&EY=%s&apiKey=%s",depLng, depLat, destLng, destLat, odsayApiKey);
+        // 응답 캐시와 호출 한도는 OdsayClient 에서 처리
+        return odsayClient.searchPubTransPath(Double.parseDouble(depLng), Double.parseDouble(depLat),
+                Double.parseDouble(destLng), Double.parseDouble(destLat)).block();
+    }
+
+    /**
+     * 출발지에서 목적지까지 환승 2회 이내의 대중교통 경로 탐색
+     *
+     * engine 이 local 이고 메모리 시간표가 적재되어 있으면 RAPTOR 로 서버 안에서 바로 탐색하고,
+     * 그 외에는 Odsay API 로 환승 지점을 구한 뒤 구간별로 노선을 찾음
+     *
+     * @param engine local 또는 odsay
+     * @return 최대 3개 경로의 탑승 구간 목록
+     */
+    @Override
+    public List<List<TransitDto>> getOptimizeRoute(double destlat, double destlon, double startlat, double startlon, String time, String engine){
+        return getOptimizeRouteReactive(destlat, destlon, startlat, startlon, time, engine).block();
+    }
 
-        try {
-            // Odsay API 호출 및 JsonNode로 반환
-            return restTemplate.getForObject(url, JsonNode.class);
-        } catch (RestClientException e) {
-            throw new RuntimeException("API 호출 중 오류 발생: " + e.getMessage(), e);
+    @Override
+    public Mono<List<List<TransitDto>>> getOptimizeRouteReactive(double destlat, double destlon, double startlat, double startlon, String time, String engine){
+        int departureTime = TransitTime.parse(time);
+        TransitTimetable timetable = timetableHolder.current();
+        if (ENGINE_LOCAL.equalsIgnoreCase(engine) && timetable != null) {
+            return Mono.fromCallable(() -> new RaptorRouter(timetable).route(startlat, startlon, destlat, destlon, departureTime))
+                    .subscribeOn(mapScheduler);
         }
+
+        // Odsay api 호출을 통해 환승 지점을 구하고, 경로별 구간 검색은 DB 조회가 있으므로 가상 스레드로 동시에 실행
+        // 한 경로라도 실패하거나 제한 시간을 넘기면 나머지 경로 검색을 취소함
+        // 구간별 정류장 목록은 모든 경로를 만든 뒤 한 번에 조회해서 채움
+        return odsayClient.searchPubTransPath(startlon, startlat, destlon, destlat)
+                .flatMap(response -> Mono.fromCallable(() -> {
+                            List<Callable<List<OdsayLeg>>> tasks = new ArrayList<>();
+                            for (JsonNode path : selectOdsayPaths(response)) {
+                                tasks.add(() -> buildOdsayItinerary(timetable, path, destlat, destlon, departureTime));
+                            }
+                            return attachRouteLists(timetable, FanOut.invokeAll(tasks, Duration.ofMillis(itineraryTimeoutMillis)));
+                        })
+                        .subscribeOn(mapScheduler));
     }
 
+    /**
+     * {@link #getOptimizeRoute} 와 같은 탐색을 하되 경로가 하나 완성될 때마다 바로 내보냄
+     *
+     * Odsay 경로는 경로별로 동시에 구간을 검색하고 먼저 끝난 경로부터 보내므로 순서는 index 로 구분함
+     * map.itinerary.timeout-ms 가 지나면 그때까지 완성된 경로만 보내고 끝냄
+     */
     @Override
-    public List<List<TransitDto>> getOptimizeRoute(double destlat, double destlon, double startlat, double startlon, String time){
-        String url = String.format("https://api.odsay.com/v1/api/searchPubTransPathT?SX=%s&SY=%s&EX=%s&EY=%s&apiKey=%s", startlon, startlat, destlon, destlat, odsayApiKey);
+    public Flux<ItineraryDto> streamOptimizeRoute(double destlat, double destlon, double startlat, double startlon, String time, String engine) {
+        int departureTime = TransitTime.parse(time);
+        TransitTimetable timetable = timetableHolder.current();
+        if (ENGINE_LOCAL.equalsIgnoreCase(engine) && timetable != null) {
+            // RAPTOR 는 한 번의 탐색으로 모든 경로가 함께 나오므로 나눠서 보내기만 함
+            return Mono.fromCallable(() -> new RaptorRouter(timetable).route(startlat, startlon, destlat, destlon, departureTime))
+                    .subscribeOn(mapScheduler)
+                    .flatMapIterable(routes -> {
+                        List<ItineraryDto> itineraries = new ArrayList<>(routes.size());
+                        for (int i = 0; i < routes.size(); i++) itineraries.add(new ItineraryDto(i, routes.get(i)));
+                        return itineraries;
+                    });
+        }
+
+        // 경로마다 정류장 목록까지 채워서 보내므로 노선 조회는 경로 단위로 나눠서 함
+        return odsayClient.searchPubTransPath(startlon, startlat, destlon, destlat)
+                .flatMapMany(response -> Flux.fromIterable(selectOdsayPaths(response)).index())
+                .flatMap(path -> Mono.fromCallable(() -> {
+                            List<OdsayLeg> legs = buildOdsayItinerary(timetable, path.getT2(), destlat, destlon, departureTime);
+                            return new ItineraryDto(path.getT1().intValue(), attachRouteLists(timetable, List.of(legs)).get(0));
+                        })
+                        .subscribeOn(mapScheduler))
+                .take(Duration.ofMillis(itineraryTimeoutMillis));
+    }
+
+    /**
+     * 경로별 구간의 노선 정류장 목록을 한 번에 조회해서 TransitDto 에 채움
+     *
+     * @param timetable 경로를 만든 시간표, 정류장 목록과 polyline 도 같은 버전에서 잘라 씀
+     */
+    private List<List<TransitDto>> attachRouteLists(TransitTimetable timetable, List<List<OdsayLeg>> itineraries) {
+        Set<RouteSlice> slices = new HashSet<>();
+        for (List<OdsayLeg> legs : itineraries) {
+            for (OdsayLeg leg : legs) slices.add(leg.slice());
+        }
+        Map<RouteSlice, List<RouteDto>> routes = getRoutes(timetable, slices);
+        Map<RouteSlice, String> polylines = new HashMap<>();
 
-        JsonNode response = restTemplate.getForObject(url, JsonNode.class);
         List<List<TransitDto>> result = new ArrayList<>();
-        String dup[] = {"", "", "", ""};
+        for (List<OdsayLeg> legs : itineraries) {
+            List<TransitDto> transitList = new ArrayList<>();
+            for (OdsayLeg leg : legs) {
+                RouteSlice slice = leg.slice();
+                List<RouteDto> routeList = routes.get(slice);
+                leg.transit().setRouteList(routeList);
+                leg.transit().setPolyline(polylines.computeIfAbsent(slice, key -> polylineOf(timetable, key, routeList)));
+                transitList.add(leg.transit());
+            }
+            result.add(transitList);
+        }
+        return result;
+    }
 
-        // Odsay api 호출을 통해 환승 지점을 구한다
+    private String polylineOf(TransitTimetable timetable, RouteSlice slice, List<RouteDto> routeList) {
+        String polyline = timetable == null ? null
+                : timetable.getRouteShapes().polyline(slice.routeId(), slice.seqFrom(), slice.seqTo());
+        return polyline != null ? polyline : encodePolyline(routeList);
+    }
 
-        if (response != null && response.has("result")) {
-            List<CompletableFuture<List<TransitDto>>> futures = new ArrayList<>();
-            int cnt = 0;
+    // 정류장 목록을 채우기 전의 구간
+    private record OdsayLeg(TransitDto transit, RouteSlice slice) {}
 
-            for (JsonNode path : response.get("result").get("path")) {
-                JsonNode info = path.get("info");
-                int totalTransit = info.get("busTransitCount").asInt() + info.get("subwayTransitCount").asInt();
-                int totalWalk = info.get("totalWalk").asInt();
-                int totalWalkTime = (int)(totalWalk/90);   //1분에 90m 걷는 것으로 가정
+    /**
+     * Odsay 경로 중 환승 2회 이하이면서 환승 지점이 겹치지 않는 경로를 최대 3개 고름
+     */
+    private List<JsonNode> selectOdsayPaths(JsonNode response) {
+        List<JsonNode> paths = new ArrayList<>();
+        if (response == null || !response.has("result")) return paths;
+        String dup[] = {"", "", "", ""};
 
-                if (totalTransit > 2) {
-                    continue;
-                }
+        for (JsonNode path : response.get("result").get("path")) {
+            JsonNode info = path.get("info");
+            int totalTransit = info.get("busTransitCount").asInt() + info.get("subwayTransitCount").asInt();
 
-                boolean isDup = false;
-                if (totalTransit == 1) {
-                    if (dup[0].equals("1")) continue;
-                    else dup[0] = "1";
-                } else {
-                    for (int i = 1; i <= 3; i++) {
-                        if (dup[i].equals("")) {
-                            dup[i] = path.get("subPath").get(0).get("trafficType").asInt() == 3
-                                    ? path.get("subPath").get(1).get("endY").toString()
-                                    : path.get("subPath").get(0).get("endY").toString();
-                            break;
-                        } else {
-                            if (path.get("subPath").get(0).get("trafficType").asInt() == 3) {
-                                if (dup[i].equals(path.get("subPath").get(1).get("endY").toString())) {
-                                    isDup = true; // 중복 처리
-                                } else {
-                                    dup[i] = path.get("subPath").get(1).get("endY").toString();
-                                }
-                            } else if (dup[i].equals(path.get("subPath").get(0).get("endY").toString())) {
-                                break;
+            if (totalTransit > 2) {
+                continue;
+            }
+
+            boolean isDup = false;
+            if (totalTransit == 1) {
+                if (dup[0].equals("1")) continue;
+                else dup[0] = "1";
+            } else {
+                for (int i = 1; i <= 3; i++) {
+                    if (dup[i].equals("")) {
+                        dup[i] = path.get("subPath").get(0).get("trafficType").asInt() == 3
+                                ? path.get("subPath").get(1).get("endY").toString()
+                                : path.get("subPath").get(0).get("endY").toString();
+                        break;
+                    } else {
+                        if (path.get("subPath").get(0).get("trafficType").asInt() == 3) {
+                            if (dup[i].equals(path.get("subPath").get(1).get("endY").toString())) {
+                                isDup = true; // 중복 처리
+                            } else {
+                                dup[i] = path.get("subPath").get(1).get("endY").toString();
                             }
+                        } else if (dup[i].equals(path.get("subPath").get(0).get("endY").toString())) {
+                            break;
                         }
                     }
-                    if (isDup) continue; // 중복일 경우 다음 경로로 넘어감
                 }
+                if (isDup) continue; // 중복일 경우 다음 경로로 넘어감
+            }
 
-                // 비동기 처리를 위한 CompletableFuture 추가
-                futures.add(CompletableFuture.supplyAsync(() -> {
-                    List<TransitDto> transitList = new ArrayList<>();
-                    JsonNode subPath = path.get("subPath");
-                    String curTime = time;
-
-                    for (JsonNode transfer : subPath) {
-
-                        if (transfer.has("trafficType")) {
-                            int trafficType = transfer.get("trafficType").asInt();
-                            int duration =0;
-                            if (trafficType == 1 || trafficType == 2) { // 버스나 지하철일 때
-                                double slat = transfer.get("startY").asDouble();
-                                double slon = transfer.get("startX").asDouble();
-                                double dlat = transfer.get("endY").asDouble();
-                                double dlon = transfer.get("endX").asDouble();
-
-                                List<TransitResult> routes = stopRepository.findTransitRoute(slat, slon, dlat, dlon, curTime);
-
-                                if (!routes.isEmpty()) {
-                                    TransitResult route = routes.get(0);
-                                    duration = route.getDuration();
-                                    transitList.add(new TransitDto(route.getRoute(), route.getStart(), route.getEnd(), slat, slon, dlat, dlon, duration, route.getSeq1(), route.getSeq2(), route.getType(), getRoutes(route.getRouteId(), route.getSeq1(), route.getSeq2()), totalWalk, totalWalkTime, curTime));
-                                } else {
-                                    List<MapResult> stops = stopRepository.findStop(slat, slon, destlat, destlon, curTime);
-                                    if (!stops.isEmpty()) {
-                                        MapResult stop = stops.get(0);
-                                        duration = stop.getDuration().map(Double::intValue).orElse(0);
-                                        transitList.add(new TransitDto(
-                                                stop.getRoute().orElse("택시"),
-                                                stop.getStartStop().orElse("0"),
-                                                stop.getDestStop().orElse("0"),
-                                                stop.getStartLat().map(Double::parseDouble).orElse(0.0),
-                                                stop.getStartLon().map(Double::parseDouble).orElse(0.0),
-                                                stop.getDestLat().map(Double::parseDouble).orElse(0.0),
-                                                stop.getDestLon().map(Double::parseDouble).orElse(0.0),
-                                                duration,
-                                                stop.getSeq1().orElse(0),
-                                                stop.getSeq2().orElse(0),
-                                                stop.getType().orElse(0),
-                                                getRoutes(stop.getRouteId().orElse("0"), stop.getSeq1().orElse(0), stop.getSeq2().orElse(0)),
-                                                totalWalk,
-                                                totalWalkTime,
-                                                curTime
-                                        ));
-                                    }
-                                    break;
-                                }
-                            }else{  //도보 이동할 때
-                                int d = transfer.get("distance").asInt();
-                                duration = (int)(d/90);
-                            }
+            paths.add(path);
+            if (paths.size() == 3) break; // 최대 3개 경로만 추가
+        }
+        return paths;
+    }
 
-                            curTime = addMinutes(curTime,duration);
-                                                    }
+    /**
+     * Odsay 경로의 대중교통 구간마다 우리 시간표에서 노선을 찾아 경로를 만듦
+     */
+    private List<OdsayLeg> buildOdsayItinerary(TransitTimetable timetable, JsonNode path, double destlat, double destlon, int departureTime) {
+        List<OdsayLeg> transitList = new ArrayList<>();
+        int totalWalk = path.get("info").get("totalWalk").asInt();
+        int totalWalkTime = (int)(totalWalk/90);   //1분에 90m 걷는 것으로 가정
+        JsonNode subPath = path.get("subPath");
+        int curTime = departureTime;
+        // 직전 탑승 구간의 하차 좌표, 환승 도보를 시간표의 도보 간선으로 계산할 때 씀
+        double alightLat = Double.NaN;
+        double alightLon = Double.NaN;
+
+        for (int index = 0; index < subPath.size(); index++) {
+            JsonNode transfer = subPath.get(index);
+
+            if (transfer.has("trafficType")) {
+                int trafficType = transfer.get("trafficType").asInt();
+                int duration =0;
+                if (trafficType == 1 || trafficType == 2) { // 버스나 지하철일 때
+                    double slat = transfer.get("startY").asDouble();
+                    double slon = transfer.get("startX").asDouble();
+                    double dlat = transfer.get("endY").asDouble();
+                    double dlon = transfer.get("endX").asDouble();
+
+                    List<TransitResult> routes = findTransitRoute(timetable, slat, slon, dlat, dlon, curTime);
+
+                    alightLat = dlat;
+                    alightLon = dlon;
+                    if (!routes.isEmpty()) {
+                        TransitResult route = routes.get(0);
+                        duration = route.getDuration();
+                        transitList.add(new OdsayLeg(
+                                new TransitDto(route.getRoute(), route.getStart(), route.getEnd(), slat, slon, dlat, dlon, duration, route.getSeq1(), route.getSeq2(), route.getType(), null, totalWalk, totalWalkTime, TransitTime.format(curTime)),
+                                RouteSlice.of(route.getRouteId(), route.getSeq1(), route.getSeq2())));
+                    } else {
+                        List<MapResult> stops = findStop(timetable, slat, slon, destlat, destlon, curTime);
+                        if (!stops.isEmpty()) {
+                            MapResult stop = stops.get(0);
+                            duration = stop.getDuration().map(Double::intValue).orElse(0);
+                            transitList.add(new OdsayLeg(new TransitDto(
+                                    stop.getRoute().orElse("택시"),
+                                    stop.getStartStop().orElse("0"),
+                                    stop.getDestStop().orElse("0"),
+                                    stop.getStartLat().map(Double::parseDouble).orElse(0.0),
+                                    stop.getStartLon().map(Double::parseDouble).orElse(0.0),
+                                    stop.getDestLat().map(Double::parseDouble).orElse(0.0),
+                                    stop.getDestLon().map(Double::parseDouble).orElse(0.0),
+                                    duration,
+                                    stop.getSeq1().orElse(0),
+                                    stop.getSeq2().orElse(0),
+                                    stop.getType().orElse(0),
+                                    null,
+                                    totalWalk,
+                                    totalWalkTime,
+                                    TransitTime.format(curTime)
+                            ), RouteSlice.of(stop.getRouteId().orElse("0"), stop.getSeq1().orElse(0), stop.getSeq2().orElse(0))));
+                        }
+                        break;
                     }
-                    return transitList;
-                }));
+                }else{  //도보 이동할 때
+                    int d = transfer.get("distance").asInt();
+                    duration = walkMinutes(timetable, alightLat, alightLon, subPath.get(index + 1), d);
+                }
 
-                if (++cnt == 3) break; // 최대 3개 경로만 추가
+                curTime = TransitTime.plusMinutes(curTime, duration);
             }
-
-            // 모든 CompletableFuture의 결과를 가져오기
-            result = futures.stream()
-                    .map(CompletableFuture::join) // 각 Future의 결과 대기
-                    .collect(Collectors.toList());
         }
-            return result;
+        return transitList;
     }
 
-    public String addMinutes (String time, int minutesToAdd) {
-        // 시간, 분, 초를 분리
-        String[] timeParts = time.split(":");
-        int hours = Integer.parseInt(timeParts[0]);
-        int minutes = Integer.parseInt(timeParts[1]);
-        int seconds = Integer.parseInt(timeParts[2]);
-
-        // 분 추가
-        minutes += minutesToAdd;
-
-        // 추가된 분으로 시간과 분 계산
-        hours += minutes / 60;  // 전체 분에서 시간으로 변환
-        minutes = minutes % 60;  // 남은 분
+    /**
+     * 도보 구간의 소요 시간(분)
+     *
+     * 두 탑승 구간 사이의 환승 도보는 하차·승차 정류장 사이의 도보 간선(시간표 적재 시 계산)을 쓰고,
+     * 출발·도착 도보처럼 간선이 없는 구간은 Odsay 거리로 계산 (1분에 90m 걷는 것으로 가정)
+     */
+    private int walkMinutes(TransitTimetable timetable, double fromLat, double fromLon, JsonNode next, int distance) {
+        if (timetable != null && !Double.isNaN(fromLat) && next != null && next.has("startY")) {
+            int from = matchStop(timetable, fromLat, fromLon);
+            int to = matchStop(timetable, next.get("startY").asDouble(), next.get("startX").asDouble());
+            if (from >= 0 && to >= 0) {
+                if (from == to) return 0;
+                FootpathGraph footpaths = timetable.getFootpaths();
+                int edge = footpaths.find(from, to);
+                if (edge >= 0) return (footpaths.getSeconds(edge) + TransitTime.MINUTE - 1) / TransitTime.MINUTE;
+            }
+        }
+        return distance / FootpathGraph.WALK_METERS_PER_MINUTE;
+    }
 
-        // 결과 문자열 형식화 (00:00:00 형식)
-        return String.format("%02d:%02d:%02d", hours, minutes, seconds);
+    // Odsay 좌표와 같은 위치의 시간표 정류장, 없으면 -1
+    private static int matchStop(TransitTimetable timetable, double lat, double lon) {
+        int[] nearest = timetable.getStationIndex().nearest(lat, lon, 1, STOP_MATCH_RADIUS);
+        return nearest.length == 0 ? -1 : nearest[0];
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package com.imnotdurnk.domain.map.taxi;
+
+import com.imnotdurnk.domain.map.timetable.TransitTime;
+import com.imnotdurnk.global.util.GeoUtil;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 서울 중형택시 요금표로 계산하는 택시 요금 추정기
+ *
+ * - 기본요금 4,800원 (1.6km 까지)
+ * - 이후 131m 당 100원, 시속 15.72km 이하 저속 주행 시 30초 당 100원
+ * - 심야 할증: 22~23시, 02~04시 20% / 23~02시 40%
+ *
+ * 실제 주행 거리는 직선거리(haversine)에 우회 계수를 곱해서 구하고, 저속 주행 시간은 1km 당 일정 시간으로 가정함
+ * 우회 계수는 카카오 모빌리티 조회 결과가 들어올 때마다 지수 이동 평균으로 보정함
+ */
+@Component
+public class TaxiFareEstimator implements TaxiFareStrategy {
+
+    static final int BASE_FARE = 4800;
+    static final double BASE_DISTANCE_METERS = 1600;
+    static final int UNIT_FARE = 100;
+    static final double DISTANCE_UNIT_METERS = 131;
+    static final int TIME_UNIT_SECONDS = 30;
+    // 신호 대기 등 저속 주행으로 1km 당 요금이 붙는 시간(초)
+    static final double SLOW_SECONDS_PER_KM = 60;
+
+    static final double DEFAULT_DETOUR_FACTOR = 1.3;
+    static final double MIN_DETOUR_FACTOR = 1.0;
+    static final double MAX_DETOUR_FACTOR = 2.5;
+    // 보정 1회당 새 표본의 반영 비율
+    static final double CALIBRATION_WEIGHT = 0.05;
+
+    // 주행 거리 1m 당 붙는 요금 단위 수 (거리 + 저속 시간)
+    private static final double UNITS_PER_METER = 1 / DISTANCE_UNIT_METERS + SLOW_SECONDS_PER_KM / 1000 / TIME_UNIT_SECONDS;
+
+    private volatile double detourFactor = DEFAULT_DETOUR_FACTOR;
+
+    @Override
+    public Mono<Integer> getFare(double originLon, double originLat, double destLon, double destLat, int time) {
+        return Mono.just(estimate(GeoUtil.distance(originLat, originLon, destLat, destLon), time));
+    }
+
+    /**
+     * @param straightMeters 출발지·도착지 직선거리(m)
+     * @param time 출발 시각 (자정 기준 초)
+     * @return 추정 요금(원), 100원 단위 반올림
+     */
+    public int estimate(double straightMeters, int time) {
+        double roadMeters = straightMeters * detourFactor;
+        double fare = BASE_FARE;
+        if (roadMeters > BASE_DISTANCE_METERS) {
+            fare += Math.ceil((roadMeters - BASE_DISTANCE_METERS) * UNITS_PER_METER) * UNIT_FARE;
+        }
+        return (int) Math.round(fare * surcharge(time) / 100) * 100;
+    }
+
+    /**
+     * 실제 요금으로 주행 거리를 역산해서 우회 계수를 보정
+     * 기본요금 구간 안의 요금은 거리를 알 수 없으므로 무시함
+     *
+     * @param straightMeters 출발지·도착지 직선거리(m)
+     * @param fare 카카오 모빌리티 조회 요금(원)
+     * @param time 출발 시각 (자정 기준 초)
+     */
+    public void calibrate(double straightMeters, int fare, int time) {
+        if (straightMeters <= 0) return;
+        double units = (fare / surcharge(time) - BASE_FARE) / UNIT_FARE;
+        if (units <= 0) return;
+        double roadMeters = BASE_DISTANCE_METERS + units / UNITS_PER_METER;
+        double sample = Math.max(MIN_DETOUR_FACTOR, Math.min(MAX_DETOUR_FACTOR, roadMeters / straightMeters));
+        synchronized (this) {
+            detourFactor += CALIBRATION_WEIGHT * (sample - detourFactor);
+        }
+    }
+
+    public double getDetourFactor() {
+        return detourFactor;
+    }
+
+    /**
+     * 심야 할증 배율
+     */
+    static double surcharge(int time) {
+        int hour = Math.floorMod(time, TransitTime.DAY) / TransitTime.HOUR;
+        if (hour == 23 || hour == 0 || hour == 1) return 1.4;
+        if (hour == 22 || hour == 2 || hour == 3) return 1.2;
+        return 1.0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.imnotdurnk.domain.map.taxi;
+
+/**
+ * 택시 요금 조회 방식
+ */
+public enum TaxiFareMode {
+    /** 카카오 모빌리티 조회 결과만 사용, 실패하면 요금 없음 */
+    EXACT,
+    /** 서울 택시 요금표 기반 추정치만 사용 (외부 호출 없음) */
+    ESTIMATE,
+    /** 카카오 조회를 먼저 시도하고 응답 대기 한도를 넘기거나 실패하면 추정치 사용 */
+    AUTO
+}
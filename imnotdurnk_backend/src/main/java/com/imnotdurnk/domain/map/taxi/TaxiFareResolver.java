@@ -0,0 +1,34 @@
+package com.imnotdurnk.domain.map.taxi;
+
+import com.imnotdurnk.domain.map.client.TaxiFareClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 요청별 {@link TaxiFareMode} 에 따라 택시 요금 조회 방법을 고름
+ *
+ * 추정기의 우회 계수 보정은 {@link TaxiFareClient} 가 실제로 호출해서 받은 요금으로만 함
+ */
+@Component
+@RequiredArgsConstructor
+public class TaxiFareResolver {
+
+    private final TaxiFareClient taxiFareClient;
+    private final TaxiFareEstimator taxiFareEstimator;
+
+    /**
+     * @param time 출발 시각 (자정 기준 초)
+     * @return 택시 요금(원), EXACT 에서 조회에 실패하면 빈 Mono
+     */
+    public Mono<Integer> getFare(TaxiFareMode mode, double originLon, double originLat, double destLon, double destLat, int time) {
+        if (mode == TaxiFareMode.ESTIMATE) {
+            return taxiFareEstimator.getFare(originLon, originLat, destLon, destLat, time);
+        }
+        Mono<Integer> exact = taxiFareClient.getFare(originLon, originLat, destLon, destLat, time);
+        if (mode == TaxiFareMode.EXACT) {
+            return exact;
+        }
+        return exact.switchIfEmpty(Mono.defer(() -> taxiFareEstimator.getFare(originLon, originLat, destLon, destLat, time)));
+    }
+}
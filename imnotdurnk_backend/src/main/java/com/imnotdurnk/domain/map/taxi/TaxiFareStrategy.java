@@ -0,0 +1,15 @@
+package com.imnotdurnk.domain.map.taxi;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 출발지·도착지 좌표로 택시 요금을 구하는 방법
+ */
+public interface TaxiFareStrategy {
+
+    /**
+     * @param time 출발 시각 (자정 기준 초), 심야 할증 판단에 사용
+     * @return 택시 요금(원), 구할 수 없으면 빈 Mono
+     */
+    Mono<Integer> getFare(double originLon, double originLat, double destLon, double destLat, int time);
+}
@@ -0,0 +1,62 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.domain.map.entity.MapResult;
+
+import java.util.Optional;
+
+/**
+ * 메모리 시간표에서 찾은 직행 경로 한 건
+ * StopRepository.findStop 의 결과와 같은 {@link MapResult} 형태로 돌려줘서 서비스 코드를 그대로 사용함
+ */
+public class DirectRouteResult implements MapResult {
+
+    private final String destLat;
+    private final String destLon;
+    private final String startStop;
+    private final Double startDistance;
+    private final String route;
+    private final String destStop;
+    private final Double distance;
+    private final Double duration;
+    private final Integer seq1;
+    private final Integer seq2;
+    private final String routeId;
+    private final String startLat;
+    private final String startLon;
+    private final Integer type;
+
+    public DirectRouteResult(String destLat, String destLon, String startStop, Double startDistance,
+                             String route, String destStop, Double distance, Double duration,
+                             Integer seq1, Integer seq2, String routeId,
+                             String startLat, String startLon, Integer type) {
+        this.destLat = destLat;
+        this.destLon = destLon;
+        this.startStop = startStop;
+        this.startDistance = startDistance;
+        this.route = route;
+        this.destStop = destStop;
+        this.distance = distance;
+        this.duration = duration;
+        this.seq1 = seq1;
+        this.seq2 = seq2;
+        this.routeId = routeId;
+        this.startLat = startLat;
+        this.startLon = startLon;
+        this.type = type;
+    }
+
+    @Override public Optional<String> getDestLat() { return Optional.ofNullable(destLat); }
+    @Override public Optional<String> getDestLon() { return Optional.ofNullable(destLon); }
+    @Override public Optional<String> getStartStop() { return Optional.ofNullable(startStop); }
+    @Override public Optional<Double> getStartDistance() { return Optional.ofNullable(startDistance); }
+    @Override public Optional<String> getRoute() { return Optional.ofNullable(route); }
+    @Override public Optional<String> getDestStop() { return Optional.ofNullable(destStop); }
+    @Override public Optional<Double> getDistance() { return Optional.ofNullable(distance); }
+    @Override public Optional<Double> getDuration() { return Optional.ofNullable(duration); }
+    @Override public Optional<Integer> getSeq1() { return Optional.ofNullable(seq1); }
+    @Override public Optional<Integer> getSeq2() { return Optional.ofNullable(seq2); }
+    @Override public Optional<String> getRouteId() { return Optional.ofNullable(routeId); }
+    @Override public Optional<String> getStartLat() { return Optional.ofNullable(startLat); }
+    @Override public Optional<String> getStartLon() { return Optional.ofNullable(startLon); }
+    @Override public Optional<Integer> getType() { return Optional.ofNullable(type); }
+}
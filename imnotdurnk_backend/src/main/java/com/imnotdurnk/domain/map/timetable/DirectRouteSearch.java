@@ -0,0 +1,188 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.domain.map.entity.MapResult;
+import com.imnotdurnk.domain.map.entity.TransitResult;
+import com.imnotdurnk.global.util.GeoUtil;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메모리 시간표에서 "출발지 근처에서 타서 목적지 근처까지 환승 없이 가는 노선"을 찾음
+ *
+ * StopRepository.findStop 과 같은 규칙을 따름
+ * - 출발지 500m 안의 정류장에서 기준 시각 이후 출발이 있는 노선만 대상
+ * - 하차 지점은 승차 지점보다 stop_sequence 가 뒤이면서 목적지와 가장 가까운 정류장
+ * - 이름이 같은 노선을 같은 부모 정류장({@link StationClusters}) 사이에서 타는 결과는 목적지와 가장 가까운 하나만 남김
+ * - 결과는 하차 정류장과 목적지 사이 거리 오름차순
+ * - 소요 시간은 승차한 운행(trip)이 하차 지점에 도착하는 시각 기준
+ *
+ * 환승 구간 검색은 StopRepository.findTransitRoute 와 같은 규칙을 따름
+ * - 승차 지점은 출발 좌표 500m 안, 하차 지점은 도착 좌표 500m 안
+ * - 이름이 같은 노선을 같은 부모 정류장 사이에서 타는 구간은 승강장이 달라도 가장 빠른 하나만 남김
+ * - 결과는 소요 시간 오름차순
+ */
+public class DirectRouteSearch {
+
+    public static final double NEARBY_RADIUS = 500;
+
+    // 목적지와 가까운 순, 같으면 출발지와 가까운 순
+    private static final Comparator<MapResult> BY_DISTANCE = Comparator
+            .comparing((MapResult r) -> r.getDistance().orElse(Double.MAX_VALUE))
+            .thenComparing(r -> r.getStartDistance().orElse(Double.MAX_VALUE));
+
+    private final TransitTimetable timetable;
+
+    public DirectRouteSearch(TransitTimetable timetable) {
+        this.timetable = timetable;
+    }
+
+    /**
+     * 환승 없이 도달 가능한 노선 검색
+     *
+     * @param startLat 출발지 위도
+     * @param startLon 출발지 경도
+     * @param destLat 목적지 위도
+     * @param destLon 목적지 경도
+     * @param time 기준 시각 (자정 기준 초)
+     * @return (노선 이름, 승차 부모 정류장, 하차 부모 정류장) 별로 하나씩, 목적지와 가까운 순으로 정렬된 결과
+     */
+    public List<MapResult> find(double startLat, double startLon, double destLat, double destLon, int time) {
+        // 노선별로 출발지 근처에서 탈 수 있는 가장 앞쪽 정차 지점
+        int[] nearbyStops = timetable.stationsWithin(startLat, startLon, NEARBY_RADIUS);
+        BitSet nearby = new BitSet(timetable.getStopCount());
+        Map<Integer, Integer> firstBoardSlot = new HashMap<>();
+        for (int stop : nearbyStops) {
+            nearby.set(stop);
+            for (int i = timetable.getStopSlotStart(stop); i < timetable.getStopSlotEnd(stop); i++) {
+                int slot = timetable.getStopSlot(i);
+                if (timetable.nextBoarding(slot, time) == TransitTime.NONE) continue;
+                firstBoardSlot.merge(timetable.getSlotRoute(slot), slot, Math::min);
+            }
+        }
+
+        // 방향·승강장별로 route_id 가 나뉜 같은 노선이 결과 자리를 나눠 갖지 않도록 부모 정류장 단위로 합침
+        Map<ParentLeg, DirectRouteResult> nearest = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Integer> entry : firstBoardSlot.entrySet()) {
+            findOnRoute(entry.getKey(), entry.getValue(), nearby, startLat, startLon, destLat, destLon, time, nearest);
+        }
+        List<MapResult> results = new ArrayList<>(nearest.values());
+        results.sort(BY_DISTANCE);
+        return results;
+    }
+
+    /**
+     * 두 좌표 사이를 한 노선으로 이동하는 구간 검색 (환승 경로의 한 구간)
+     *
+     * @param startLat 승차 좌표 위도
+     * @param startLon 승차 좌표 경도
+     * @param destLat 하차 좌표 위도
+     * @param destLon 하차 좌표 경도
+     * @param time 기준 시각 (자정 기준 초)
+     * @return 소요 시간 오름차순으로 정렬된 구간 목록
+     */
+    public List<TransitResult> findLegs(double startLat, double startLon, double destLat, double destLon, int time) {
+        // 노선별로 도착 좌표 근처의 하차 가능 지점
+        Map<Integer, List<Integer>> alightSlots = new HashMap<>();
+        for (int stop : timetable.stationsWithin(destLat, destLon, NEARBY_RADIUS)) {
+            for (int i = timetable.getStopSlotStart(stop); i < timetable.getStopSlotEnd(stop); i++) {
+                int slot = timetable.getStopSlot(i);
+                alightSlots.computeIfAbsent(timetable.getSlotRoute(slot), key -> new ArrayList<>()).add(slot);
+            }
+        }
+        if (alightSlots.isEmpty()) return new ArrayList<>();
+
+        // (노선 이름, 승차 부모 정류장, 하차 부모 정류장) 별로 가장 빠른 구간만 남김
+        StationClusters clusters = timetable.getStationClusters();
+        Map<ParentLeg, TransitLegResult> fastest = new LinkedHashMap<>();
+        for (int stop : timetable.stationsWithin(startLat, startLon, NEARBY_RADIUS)) {
+            for (int i = timetable.getStopSlotStart(stop); i < timetable.getStopSlotEnd(stop); i++) {
+                int board = timetable.getStopSlot(i);
+                int route = timetable.getSlotRoute(board);
+                List<Integer> alights = alightSlots.get(route);
+                if (alights == null) continue;
+                for (int alight : alights) {
+                    if (alight <= board) continue;
+                    int[] ride = timetable.nextRide(board, alight, time);
+                    if (ride == null) continue;
+                    TransitLegResult leg = new TransitLegResult(
+                            timetable.getRouteName(route),
+                            timetable.getStopName(stop),
+                            timetable.getStopName(timetable.getSlotStop(alight)),
+                            (ride[1] - ride[0]) / TransitTime.MINUTE,
+                            timetable.getSlotSeq(board),
+                            timetable.getSlotSeq(alight),
+                            timetable.getRouteType(route),
+                            timetable.getRouteId(route));
+                    ParentLeg key = new ParentLeg(timetable.getRouteName(route), clusters.getParent(stop),
+                            clusters.getParent(timetable.getSlotStop(alight)));
+                    fastest.merge(key, leg, (a, b) -> b.getDuration() < a.getDuration() ? b : a);
+                }
+            }
+        }
+        List<TransitLegResult> results = new ArrayList<>(fastest.values());
+        results.sort(Comparator.comparing(TransitLegResult::getDuration));
+        return new ArrayList<>(results);
+    }
+
+    private void findOnRoute(int route, int firstBoard, BitSet nearby, double startLat, double startLon,
+                             double destLat, double destLon, int time, Map<ParentLeg, DirectRouteResult> nearest) {
+        // 하차 지점: 첫 승차 가능 지점 뒤에서 목적지와 가장 가까운 정류장
+        int alight = -1;
+        double alightDistance = Double.MAX_VALUE;
+        for (int slot = firstBoard + 1; slot < timetable.getRouteSlotEnd(route); slot++) {
+            int stop = timetable.getSlotStop(slot);
+            double d = GeoUtil.distance(destLat, destLon, timetable.getStopLat(stop), timetable.getStopLon(stop));
+            if (d < alightDistance) {
+                alightDistance = d;
+                alight = slot;
+            }
+        }
+        if (alight < 0) return;
+
+        // 승차 지점: 하차 지점 앞에서 출발지와 가장 가까운 (출발지 반경 안의) 정류장
+        int board = -1;
+        double boardDistance = Double.MAX_VALUE;
+        int[] boardRide = null;
+        for (int slot = firstBoard; slot < alight; slot++) {
+            int stop = timetable.getSlotStop(slot);
+            double d = GeoUtil.distance(startLat, startLon, timetable.getStopLat(stop), timetable.getStopLon(stop));
+            if (!nearby.get(stop) || d > boardDistance) continue;
+            if (timetable.nextBoarding(slot, time) == TransitTime.NONE) continue;
+            boardDistance = d;
+            board = slot;
+            boardRide = timetable.nextRide(slot, alight, time);
+        }
+        if (board < 0) return;
+
+        Double duration = boardRide == null ? null : (boardRide[1] - boardRide[0]) / (double) TransitTime.MINUTE;
+
+        int boardStop = timetable.getSlotStop(board);
+        int alightStop = timetable.getSlotStop(alight);
+        DirectRouteResult result = new DirectRouteResult(
+                String.valueOf(timetable.getStopLat(alightStop)),
+                String.valueOf(timetable.getStopLon(alightStop)),
+                timetable.getStopName(boardStop),
+                boardDistance,
+                timetable.getRouteName(route),
+                timetable.getStopName(alightStop),
+                alightDistance,
+                duration,
+                timetable.getSlotSeq(board),
+                timetable.getSlotSeq(alight),
+                timetable.getRouteId(route),
+                String.valueOf(timetable.getStopLat(boardStop)),
+                String.valueOf(timetable.getStopLon(boardStop)),
+                timetable.getRouteType(route));
+        StationClusters clusters = timetable.getStationClusters();
+        ParentLeg key = new ParentLeg(timetable.getRouteName(route), clusters.getParent(boardStop), clusters.getParent(alightStop));
+        nearest.merge(key, result, (a, b) -> BY_DISTANCE.compare(b, a) < 0 ? b : a);
+    }
+
+    private record ParentLeg(String routeName, int boardParent, int alightParent) {}
+}
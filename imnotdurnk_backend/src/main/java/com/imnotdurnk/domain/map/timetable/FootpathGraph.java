@@ -0,0 +1,92 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.global.util.GeoUtil;
+
+import java.util.Arrays;
+
+/**
+ * 가까운 정류장 사이의 도보 환승 간선 (CSR 인접 배열)
+ *
+ * 시간표를 만들 때 반경 안의 모든 정류장 쌍을 격자로 한 번만 찾아 두고,
+ * 경로 탐색은 요청마다 거리를 다시 계산하지 않고 정류장별 간선 구간을 그대로 읽음
+ * - offsets[stop] ~ offsets[stop + 1] : stop 에서 나가는 간선, 도착 정류장 번호 오름차순
+ * - targets / meters / seconds : 간선별 도착 정류장, 거리(m), 도보 시간(초)
+ */
+public class FootpathGraph {
+
+    /** 기본 환승 도보 반경(m) */
+    public static final double DEFAULT_RADIUS = 300;
+    /** 1분에 90m 걷는 것으로 가정 */
+    public static final int WALK_METERS_PER_MINUTE = 90;
+
+    private final double radius;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] meters;
+    private final int[] seconds;
+
+    FootpathGraph(double radius, int[] offsets, int[] targets, int[] meters) {
+        this.radius = radius;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.meters = meters;
+        this.seconds = new int[meters.length];
+        for (int i = 0; i < meters.length; i++) seconds[i] = walkSeconds(meters[i]);
+    }
+
+    /**
+     * 정류장 좌표로 반경 안의 모든 정류장 쌍을 간선으로 만듦
+     * 격자 크기를 반경과 같게 잡으므로 정류장마다 주변 3x3 칸만 확인함
+     *
+     * @param radius 도보 반경(m), 경계는 포함하지 않음
+     */
+    public static FootpathGraph build(double[] stopLats, double[] stopLons, double radius) {
+        int n = stopLats.length;
+        StationGridIndex index = new StationGridIndex(stopLats, stopLons, radius);
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[Math.max(16, n * 4)];
+        int[] meters = new int[targets.length];
+        int size = 0;
+        for (int from = 0; from < n; from++) {
+            int[] near = index.within(stopLats[from], stopLons[from], radius);
+            Arrays.sort(near);
+            for (int to : near) {
+                if (to == from) continue;
+                if (size == targets.length) {
+                    targets = Arrays.copyOf(targets, size * 2);
+                    meters = Arrays.copyOf(meters, size * 2);
+                }
+                targets[size] = to;
+                meters[size] = (int) Math.round(GeoUtil.distance(stopLats[from], stopLons[from], stopLats[to], stopLons[to]));
+                size++;
+            }
+            offsets[from + 1] = size;
+        }
+        return new FootpathGraph(radius, offsets, Arrays.copyOf(targets, size), Arrays.copyOf(meters, size));
+    }
+
+    /**
+     * 거리(m)를 도보 시간(초)으로 변환, 초 단위 올림
+     */
+    public static int walkSeconds(int meters) {
+        return (meters * TransitTime.MINUTE + WALK_METERS_PER_MINUTE - 1) / WALK_METERS_PER_MINUTE;
+    }
+
+    /**
+     * 두 정류장 사이 간선의 위치
+     *
+     * @return 간선 위치, 반경 밖이라 간선이 없으면 -1
+     */
+    public int find(int from, int to) {
+        int i = Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to);
+        return i < 0 ? -1 : i;
+    }
+
+    public double getRadius() { return radius; }
+    public int getEdgeCount() { return targets.length; }
+    public int getEdgeStart(int stop) { return offsets[stop]; }
+    public int getEdgeEnd(int stop) { return offsets[stop + 1]; }
+    public int getTarget(int edge) { return targets[edge]; }
+    public int getMeters(int edge) { return meters[edge]; }
+    public int getSeconds(int edge) { return seconds[edge]; }
+}
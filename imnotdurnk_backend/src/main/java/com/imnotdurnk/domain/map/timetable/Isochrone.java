@@ -0,0 +1,144 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.global.util.GeoUtil;
+
+import java.util.Arrays;
+
+/**
+ * 출발지에서 정해진 시간 안에 닿는 정류장과 격자 칸
+ *
+ * 정류장별 가장 이른 도착 시각은 {@link RaptorRouter#isochrone} 의 탐색 한 번으로 구하고,
+ * 격자 칸은 도착한 정류장(과 출발지)에서 남은 시간 동안 걸어서 닿는 칸을 가장 이른 도착 시각으로 칠함
+ * 격자는 도달 정류장들을 덮는 사각형만큼의 원시 배열 하나라서 칸 수가 많아도 빠름
+ */
+public class Isochrone {
+
+    // 위도 1도의 길이(m)
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * GeoUtil.EARTH_RADIUS_METERS;
+    /** 정류장에서 내려서 걸어갈 수 있는 최대 거리(m) */
+    public static final double MAX_WALK = DirectRouteSearch.NEARBY_RADIUS;
+
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final TransitTimetable timetable;
+    private final int departure;
+    private final int deadline;
+
+    private final int[] stops;
+    private final int[] arrivals;
+    private final int[] rides;
+
+    private final double cellLat;
+    private final double cellLon;
+    private final int firstRow;
+    private final int firstCol;
+    private final int rowCount;
+    private final int colCount;
+    // [행 * 열 수 + 열] 칸에 가장 이르게 닿는 시각, 닿지 못하면 UNREACHED
+    private final int[] cells;
+
+    /**
+     * @param stops 도달한 정류장
+     * @param arrivals 정류장별 가장 이른 도착 시각
+     * @param rides 정류장별 그 시각에 도착할 때의 탑승 횟수
+     * @param cellSize 격자 크기(m)
+     */
+    Isochrone(TransitTimetable timetable, double startLat, double startLon, int departure, int deadline,
+              int[] stops, int[] arrivals, int[] rides, double cellSize) {
+        this.timetable = timetable;
+        this.departure = departure;
+        this.deadline = deadline;
+        this.stops = stops;
+        this.arrivals = arrivals;
+        this.rides = rides;
+
+        this.cellLat = cellSize / METERS_PER_DEGREE;
+        this.cellLon = cellSize / (METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(startLat))));
+
+        // 출발지와 도달 정류장을 걸어갈 수 있는 거리만큼 넓혀서 덮는 사각형
+        double walkLat = MAX_WALK / METERS_PER_DEGREE;
+        double walkLon = walkLat * cellLon / cellLat;
+        double minLat = startLat, maxLat = startLat, minLon = startLon, maxLon = startLon;
+        for (int stop : stops) {
+            minLat = Math.min(minLat, timetable.getStopLat(stop));
+            maxLat = Math.max(maxLat, timetable.getStopLat(stop));
+            minLon = Math.min(minLon, timetable.getStopLon(stop));
+            maxLon = Math.max(maxLon, timetable.getStopLon(stop));
+        }
+        this.firstRow = row(minLat - walkLat);
+        this.firstCol = col(minLon - walkLon);
+        this.rowCount = row(maxLat + walkLat) - firstRow + 1;
+        this.colCount = col(maxLon + walkLon) - firstCol + 1;
+        this.cells = new int[rowCount * colCount];
+        Arrays.fill(cells, UNREACHED);
+
+        paint(startLat, startLon, departure);
+        for (int i = 0; i < stops.length; i++) {
+            paint(timetable.getStopLat(stops[i]), timetable.getStopLon(stops[i]), arrivals[i]);
+        }
+    }
+
+    // 한 지점에 arrival 에 도착해서 남은 시간 동안 걸어서 닿는 칸을 칠함 (칸 중심 기준)
+    // 반경이 500m 이하라 haversine 대신 평면 근사 거리로 비교함
+    private void paint(double lat, double lon, int arrival) {
+        double radius = Math.min(MAX_WALK, (double) (deadline - arrival) * RaptorRouter.WALK_METERS_PER_MINUTE / TransitTime.MINUTE);
+        if (radius < 0) return;
+        double metersPerLon = METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        int rowSpan = (int) Math.ceil(radius / METERS_PER_DEGREE / cellLat);
+        int colSpan = (int) Math.ceil(radius / metersPerLon / cellLon);
+        int centerRow = row(lat);
+        int centerCol = col(lon);
+        for (int r = Math.max(firstRow, centerRow - rowSpan); r <= Math.min(firstRow + rowCount - 1, centerRow + rowSpan); r++) {
+            double dy = ((r + 0.5) * cellLat - lat) * METERS_PER_DEGREE;
+            for (int c = Math.max(firstCol, centerCol - colSpan); c <= Math.min(firstCol + colCount - 1, centerCol + colSpan); c++) {
+                double dx = ((c + 0.5) * cellLon - lon) * metersPerLon;
+                double meters = Math.sqrt(dx * dx + dy * dy);
+                if (meters > radius) continue;
+                int reached = arrival + (int) Math.ceil(meters * TransitTime.MINUTE / RaptorRouter.WALK_METERS_PER_MINUTE);
+                int index = (r - firstRow) * colCount + (c - firstCol);
+                if (reached < cells[index]) cells[index] = reached;
+            }
+        }
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor(lat / cellLat);
+    }
+
+    private int col(double lon) {
+        return (int) Math.floor(lon / cellLon);
+    }
+
+    public TransitTimetable getTimetable() { return timetable; }
+    public int getDeparture() { return departure; }
+    public int getDeadline() { return deadline; }
+
+    public int getStopCount() { return stops.length; }
+    public int getStop(int i) { return stops[i]; }
+    public int getArrival(int i) { return arrivals[i]; }
+    public int getRides(int i) { return rides[i]; }
+
+    /** 격자 한 칸의 위도·경도 크기 */
+    public double getCellLat() { return cellLat; }
+    public double getCellLon() { return cellLon; }
+
+    /**
+     * 닿는 칸마다 consumer 호출
+     *
+     * @param consumer (칸 남서쪽 위도, 칸 남서쪽 경도, 가장 이른 도착 시각)
+     */
+    public void forEachCell(CellConsumer consumer) {
+        for (int r = 0; r < rowCount; r++) {
+            for (int c = 0; c < colCount; c++) {
+                int reached = cells[r * colCount + c];
+                if (reached == UNREACHED) continue;
+                consumer.accept((firstRow + r) * cellLat, (firstCol + c) * cellLon, reached);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface CellConsumer {
+        void accept(double lat, double lon, int arrival);
+    }
+}
@@ -0,0 +1,139 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.global.util.GeoUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정차 지점(정류장·노선)별 막차 색인
+ *
+ * 정차 지점별 출발 기록은 시각 순으로 정렬되어 있으므로 마지막 출발 기록은 출발 구간 끝 바로 앞에 있음
+ * 조회 시에는 마지막 출발부터 거꾸로 확인해서 하차 지점까지 가는 첫 운행(= 막차)을 찾음
+ * 대부분 마지막 출발 운행이 바로 막차이므로 조회는 정차 지점마다 출발 기록 몇 개를 보는 수준임
+ */
+public class LastDepartureIndex {
+
+    // 막차가 하차 지점을 지나지 않을 때(단축 운행 등) 거꾸로 확인할 최대 출발 기록 수
+    private static final int MAX_SCAN = 32;
+
+    private final TransitTimetable timetable;
+
+    LastDepartureIndex(TransitTimetable timetable) {
+        this.timetable = timetable;
+    }
+
+    /**
+     * 정차 지점의 마지막 출발 시각
+     *
+     * @return 마지막 출발 시각, 출발이 없으면 {@link TransitTime#NONE}
+     */
+    public int lastDeparture(int slot) {
+        int index = lastIndex(slot);
+        return index < 0 ? TransitTime.NONE : timetable.getDepartureTime(index);
+    }
+
+    /**
+     * 승차 지점에서 하차 지점까지 가는 마지막 운행
+     *
+     * @param board 승차 정차 지점
+     * @param alight 하차 정차 지점 (같은 노선, 승차 지점보다 뒤)
+     * @return {출발 시각, 도착 시각}, 없으면 null
+     */
+    public int[] lastRide(int board, int alight) {
+        int last = lastIndex(board);
+        if (last < 0) return null;
+        int first = Math.max(timetable.getSlotDepartureStart(board), last - MAX_SCAN + 1);
+        TripStore trips = timetable.getTrips();
+        for (int index = last; index >= first; index--) {
+            int departure = timetable.getDepartureTime(index);
+            int trip = timetable.getDepartureTrip(index);
+            int arrival = trip == TripStore.NO_TRIP
+                    ? timetable.nextDeparture(alight, departure, true)
+                    : trips.timeAt(trip, alight);
+            if (arrival != TransitTime.NONE && arrival >= departure) return new int[]{departure, arrival};
+        }
+        return null;
+    }
+
+    // 정차 지점의 마지막 출발 기록 위치, 출발이 없으면 -1
+    private int lastIndex(int slot) {
+        int end = timetable.getSlotDepartureEnd(slot);
+        return end > timetable.getSlotDepartureStart(slot) ? end - 1 : -1;
+    }
+
+    /**
+     * 출발지 근처에서 타서 도착지 근처까지 환승 없이 가는 노선별 막차
+     *
+     * 하차 정류장은 {@link DirectRouteSearch} 와 같이 승차 지점보다 뒤이면서 도착지와 가장 가까운 곳
+     * 같은 노선을 여러 정류장에서 탈 수 있으면 막차가 가장 늦은 곳(같으면 출발지와 가까운 곳)을 고름
+     *
+     * @param radius 출발지·도착지에서 정류장까지 최대 거리(m)
+     * @return 노선별 막차, 막차 출발 시각이 늦은 순
+     */
+    public List<LastDeparture> find(double startLat, double startLon, double destLat, double destLon, double radius) {
+        // 노선별 도착지 근처 하차 가능 지점
+        Map<Integer, List<Integer>> alightSlots = new HashMap<>();
+        for (int stop : timetable.stopsWithin(destLat, destLon, radius)) {
+            for (int i = timetable.getStopSlotStart(stop); i < timetable.getStopSlotEnd(stop); i++) {
+                int slot = timetable.getStopSlot(i);
+                alightSlots.computeIfAbsent(timetable.getSlotRoute(slot), r -> new ArrayList<>()).add(slot);
+            }
+        }
+        if (alightSlots.isEmpty()) return List.of();
+
+        Map<Integer, LastDeparture> best = new HashMap<>();
+        for (int stop : timetable.stopsWithin(startLat, startLon, radius)) {
+            double walk = GeoUtil.distance(startLat, startLon, timetable.getStopLat(stop), timetable.getStopLon(stop));
+            for (int i = timetable.getStopSlotStart(stop); i < timetable.getStopSlotEnd(stop); i++) {
+                int board = timetable.getStopSlot(i);
+                int route = timetable.getSlotRoute(board);
+                List<Integer> candidates = alightSlots.get(route);
+                if (candidates == null) continue;
+
+                int alight = -1;
+                double alightDistance = Double.MAX_VALUE;
+                for (int slot : candidates) {
+                    if (slot <= board) continue;
+                    int alightStop = timetable.getSlotStop(slot);
+                    double distance = GeoUtil.distance(destLat, destLon,
+                            timetable.getStopLat(alightStop), timetable.getStopLon(alightStop));
+                    if (distance < alightDistance) {
+                        alight = slot;
+                        alightDistance = distance;
+                    }
+                }
+                if (alight < 0) continue;
+
+                int[] ride = lastRide(board, alight);
+                if (ride == null) continue;
+                LastDeparture current = best.get(route);
+                if (current == null || ride[0] > current.departure()
+                        || (ride[0] == current.departure() && walk < current.walkMeters())) {
+                    best.put(route, new LastDeparture(route, board, alight, ride[0], ride[1], walk, alightDistance));
+                }
+            }
+        }
+
+        LastDeparture[] results = best.values().toArray(new LastDeparture[0]);
+        Arrays.sort(results, (a, b) -> Integer.compare(b.departure(), a.departure()));
+        return List.of(results);
+    }
+
+    /**
+     * 노선 하나의 막차
+     *
+     * @param route 노선
+     * @param board 승차 정차 지점
+     * @param alight 하차 정차 지점
+     * @param departure 막차 출발 시각 (운행일 자정 기준 초)
+     * @param arrival 하차 지점 도착 시각
+     * @param walkMeters 출발지에서 승차 정류장까지 거리(m)
+     * @param destMeters 하차 정류장에서 도착지까지 거리(m)
+     */
+    public record LastDeparture(int route, int board, int alight, int departure, int arrival,
+                                double walkMeters, double destMeters) {}
+}
@@ -0,0 +1,526 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.domain.map.dto.TransitDto;
+import com.imnotdurnk.global.util.GeoUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 메모리 시간표 위에서 동작하는 라운드 기반 대중교통 경로 탐색 (RAPTOR)
+ *
+ * k 번째 라운드는 "k 번 탑승해서 각 정류장에 가장 일찍 도착하는 시각"을 구함
+ * - 라운드 0 : 출발지에서 걸어서 닿는 정류장
+ * - 라운드 k : 직전 라운드에 도착 시각이 나아진 정류장을 지나는 노선만 훑어서 탑승한 뒤, 내린 정류장에서 환승 도보
+ *   (환승 도보는 시간표의 {@link FootpathGraph} 간선을 읽으므로 반경은 map.footpath.radius 를 따름)
+ * 라운드마다 목적지 도착 후보가 하나씩 나오므로 (도착 시각, 탑승 횟수, 도보 거리) 기준으로
+ * 서로 지배되지 않는 경로만 남겨서 반환함
+ *
+ * 탐색 중 라벨 배열은 정류장 수만큼 필요하므로 스레드별로 재사용하고, 탐색이 끝나면 건드린 칸만 되돌림
+ */
+public class RaptorRouter {
+
+    /** 최대 탑승 횟수 (환승 2회) */
+    public static final int MAX_RIDES = 3;
+    /** 최대 반환 경로 수 */
+    public static final int MAX_ITINERARIES = 3;
+    /** 출발지·목적지에서 정류장까지 걸어갈 수 있는 반경(m) */
+    public static final double ACCESS_RADIUS = DirectRouteSearch.NEARBY_RADIUS;
+    /** 1분에 90m 걷는 것으로 가정 */
+    public static final int WALK_METERS_PER_MINUTE = FootpathGraph.WALK_METERS_PER_MINUTE;
+
+    private static final int INF = Integer.MAX_VALUE;
+    private static final int ORIGIN = -2;
+    private static final int BY_RIDE = -1;
+
+    private static final ThreadLocal<Labels> LABELS = new ThreadLocal<>();
+
+    private final TransitTimetable timetable;
+
+    public RaptorRouter(TransitTimetable timetable) {
+        this.timetable = timetable;
+    }
+
+    /**
+     * 출발지에서 목적지까지 최대 {@link #MAX_RIDES}번 탑승하는 경로 검색
+     *
+     * @param startLat 출발지 위도
+     * @param startLon 출발지 경도
+     * @param destLat 목적지 위도
+     * @param destLon 목적지 경도
+     * @param time 출발 시각 (자정 기준 초)
+     * @return 경로별 탑승 구간 목록, 도착 시각이 이른 순
+     */
+    public List<List<TransitDto>> route(double startLat, double startLon, double destLat, double destLon, int time) {
+        return route(startLat, startLon, new double[][]{{destLat, destLon}}, time).get(0);
+    }
+
+    /**
+     * 출발지 하나에서 여러 목적지까지의 경로를 한 번의 탐색으로 검색
+     *
+     * 라운드별 라벨은 출발지에만 의존하므로 탐색은 한 번만 돌리고,
+     * 라운드가 끝날 때마다 목적지별로 하차 후보 정류장의 라벨만 읽어서 경로를 복원함
+     * 따라서 목적지가 늘어도 추가 비용은 목적지 주변 정류장 수에 비례하는 만큼만 늘어남
+     *
+     * @param destinations 목적지별 {위도, 경도}
+     * @param time 출발 시각 (자정 기준 초)
+     * @return destinations 와 같은 순서로 목적지별 경로 목록 (각각 {@link #route} 와 같은 형식)
+     */
+    public List<List<List<TransitDto>>> route(double startLat, double startLon, double[][] destinations, int time) {
+        Labels labels = labels();
+        try {
+            return new Search(labels).run(startLat, startLon, destinations, time);
+        } finally {
+            labels.reset();
+        }
+    }
+
+    /**
+     * 출발지에서 budget 안에 닿는 모든 정류장의 가장 이른 도착 시각 (등시선)
+     *
+     * 목적지 대신 출발 시각 + budget 을 도착 시각 상한으로 두고 같은 라운드 탐색을 한 번 돌림
+     * 상한을 넘는 도착은 라벨에 남기지 않으므로 탐색 범위가 budget 에 비례함
+     *
+     * @param time 출발 시각 (자정 기준 초)
+     * @param budget 이동 시간 한도(초)
+     * @param cellSize 격자 크기(m)
+     */
+    public Isochrone isochrone(double startLat, double startLon, int time, int budget, double cellSize) {
+        Labels labels = labels();
+        try {
+            return new Search(labels).runAll(startLat, startLon, time, time + budget, cellSize);
+        } finally {
+            labels.reset();
+        }
+    }
+
+    private Labels labels() {
+        Labels labels = LABELS.get();
+        if (labels == null || labels.stopCount != timetable.getStopCount() || labels.routeCount != timetable.getRouteCount()) {
+            labels = new Labels(timetable.getStopCount(), timetable.getRouteCount());
+            LABELS.set(labels);
+        }
+        return labels;
+    }
+
+    private static int walkSeconds(int meters) {
+        return FootpathGraph.walkSeconds(meters);
+    }
+
+    /**
+     * 한 번의 탐색 상태
+     */
+    private final class Search {
+
+        private final Labels l;
+        private final int n;
+        private int targetBound = INF;
+
+        // 이번 라운드에 탑승으로 도착 시각이 나아진 정류장
+        private int[] improved = new int[64];
+        private int improvedCount;
+
+        Search(Labels labels) {
+            this.l = labels;
+            this.n = labels.stopCount;
+        }
+
+        List<List<List<TransitDto>>> run(double startLat, double startLon, double[][] destinations, int time) {
+            access(startLat, startLon, time);
+
+            Target[] targets = new Target[destinations.length];
+            for (int d = 0; d < destinations.length; d++) {
+                targets[d] = new Target(destinations[d][0], destinations[d][1]);
+            }
+
+            for (int k = 1; k <= MAX_RIDES && l.markedCount > 0; k++) {
+                scanRoutes(k);
+                transfer(k);
+
+                // 라벨은 모든 목적지가 함께 쓰므로 가장 늦게 도착하는 목적지 기준으로만 가지치기 가능
+                int bound = 0;
+                for (Target target : targets) {
+                    target.collect(k);
+                    bound = Math.max(bound, target.bound);
+                }
+                targetBound = bound;
+            }
+
+            List<List<List<TransitDto>>> result = new ArrayList<>(targets.length);
+            for (Target target : targets) {
+                List<List<TransitDto>> itineraries = new ArrayList<>();
+                for (Itinerary itinerary : paretoFront(target.candidates)) {
+                    itineraries.add(toTransitDtos(itinerary));
+                    if (itineraries.size() == MAX_ITINERARIES) break;
+                }
+                result.add(itineraries);
+            }
+            return result;
+        }
+
+        /**
+         * 목적지 하나의 하차 후보 정류장과 라운드별 도착 후보 경로
+         */
+        private final class Target {
+            final int[] egress;
+            final int[] egressMeters;
+            final List<Itinerary> candidates = new ArrayList<>();
+            int bound = INF;
+
+            Target(double destLat, double destLon) {
+                this.egress = timetable.stopsWithin(destLat, destLon, ACCESS_RADIUS);
+                this.egressMeters = new int[egress.length];
+                for (int i = 0; i < egress.length; i++) {
+                    int stop = egress[i];
+                    egressMeters[i] = (int) Math.round(GeoUtil.distance(destLat, destLon, timetable.getStopLat(stop), timetable.getStopLon(stop)));
+                }
+            }
+
+            // k 번 탑승해서 이 목적지에 가장 일찍 도착하는 경로
+            // 다른 목적지 때문에 덜 가지치기된 라벨은 목적지 하나만 찾을 때와 결과가 같도록 이 목적지의 상한으로 거름
+            void collect(int k) {
+                Itinerary best = null;
+                for (int i = 0; i < egress.length; i++) {
+                    int arrival = l.arrival[k * n + egress[i]];
+                    if (arrival == INF || arrival > bound) continue;
+                    Itinerary itinerary = reconstruct(k, egress[i], egressMeters[i], arrival + walkSeconds(egressMeters[i]));
+                    if (best == null || itinerary.arrival < best.arrival
+                            || (itinerary.arrival == best.arrival && itinerary.walkMeters < best.walkMeters)) {
+                        best = itinerary;
+                    }
+                }
+                if (best != null) {
+                    candidates.add(best);
+                    bound = Math.min(bound, best.arrival);
+                }
+            }
+        }
+
+        Isochrone runAll(double startLat, double startLon, int time, int deadline, double cellSize) {
+            // 라벨은 전날 운행분도 기준 시각의 시간축으로 옮겨 두므로 자정 넘어(00:30 + 30분) 찾아도 같은 기준으로 자름
+            targetBound = deadline;
+            access(startLat, startLon, time);
+            for (int k = 1; k <= MAX_RIDES && l.markedCount > 0; k++) {
+                scanRoutes(k);
+                transfer(k);
+            }
+
+            int[] stops = new int[l.touchedCount];
+            int[] arrivals = new int[l.touchedCount];
+            int[] rides = new int[l.touchedCount];
+            int count = 0;
+            for (int t = 0; t < l.touchedCount; t++) {
+                int stop = l.touchedList[t];
+                if (l.best[stop] > deadline) continue;
+                // 가장 이른 도착 시각은 그 시각을 처음 만든 라운드에만 남아 있음
+                int k = 0;
+                while (l.arrival[k * n + stop] != l.best[stop]) k++;
+                stops[count] = stop;
+                arrivals[count] = l.best[stop];
+                rides[count] = k;
+                count++;
+            }
+            return new Isochrone(timetable, startLat, startLon, time, deadline,
+                    Arrays.copyOf(stops, count), Arrays.copyOf(arrivals, count), Arrays.copyOf(rides, count), cellSize);
+        }
+
+        // 라운드 0: 출발지에서 걸어서 닿는 정류장
+        private void access(double startLat, double startLon, int time) {
+            for (int stop : timetable.stopsWithin(startLat, startLon, ACCESS_RADIUS)) {
+                int meters = (int) Math.round(GeoUtil.distance(startLat, startLon, timetable.getStopLat(stop), timetable.getStopLon(stop)));
+                int arrival = time + walkSeconds(meters);
+                l.touch(stop);
+                l.arrival[stop] = arrival;
+                l.walkFrom[stop] = ORIGIN;
+                l.walkMeters[stop] = meters;
+                l.best[stop] = arrival;
+                l.mark(stop);
+            }
+        }
+
+        // 직전 라운드에 나아진 정류장을 지나는 노선을, 노선마다 가장 앞쪽 정차 지점부터 한 번씩 훑음
+        private void scanRoutes(int k) {
+            int queuedCount = 0;
+            for (int m = 0; m < l.markedCount; m++) {
+                int stop = l.markedList[m];
+                l.marked[stop] = false;
+                for (int i = timetable.getStopSlotStart(stop); i < timetable.getStopSlotEnd(stop); i++) {
+                    int slot = timetable.getStopSlot(i);
+                    int route = timetable.getSlotRoute(slot);
+                    if (l.routeQueue[route] < 0) {
+                        l.queuedRoutes[queuedCount++] = route;
+                        l.routeQueue[route] = slot;
+                    } else if (slot < l.routeQueue[route]) {
+                        l.routeQueue[route] = slot;
+                    }
+                }
+            }
+            l.markedCount = 0;
+            improvedCount = 0;
+
+            for (int q = 0; q < queuedCount; q++) {
+                int route = l.queuedRoutes[q];
+                scanRoute(k, route, l.routeQueue[route]);
+                l.routeQueue[route] = -1;
+            }
+        }
+
+        private void scanRoute(int k, int route, int fromSlot) {
+            TripStore trips = timetable.getTrips();
+            int previous = (k - 1) * n;
+            int current = k * n;
+
+            boolean riding = false;
+            int boardSlot = -1;
+            int rideDeparture = 0;
+            int rideTime = 0;
+            // 전날 운행분을 탔으면 DAY, 시간표 값에서 빼서 기준 시각과 같은 시간축의 라벨로 씀
+            int rideOffset = 0;
+            int trip = TripStore.NO_TRIP;
+            int cursor = 0;
+            int tripEnd = 0;
+
+            for (int slot = fromSlot; slot < timetable.getRouteSlotEnd(route); slot++) {
+                int stop = timetable.getSlotStop(slot);
+
+                // 타고 있는 운행이 이 정차 지점에 도착하는 시각
+                int here = TransitTime.NONE;
+                if (riding) {
+                    if (trip != TripStore.NO_TRIP) {
+                        while (cursor < tripEnd && trips.getSlot(cursor) < slot) cursor++;
+                        if (cursor == tripEnd) riding = false;
+                        else if (trips.getSlot(cursor) == slot) here = trips.getTime(cursor) - rideOffset;
+                    } else {
+                        here = timetable.nextDeparture(slot, rideTime, true);
+                        if (here == TransitTime.NONE) {
+                            riding = false;
+                        } else {
+                            rideTime = here;
+                            here -= rideOffset;
+                        }
+                    }
+                }
+                if (here != TransitTime.NONE && here < l.best[stop] && here <= targetBound) {
+                    l.touch(stop);
+                    l.rideArrival[current + stop] = here;
+                    l.boardSlot[current + stop] = boardSlot;
+                    l.alightSlot[current + stop] = slot;
+                    l.departure[current + stop] = rideDeparture;
+                    l.arrival[current + stop] = here;
+                    l.walkFrom[current + stop] = BY_RIDE;
+                    l.best[stop] = here;
+                    l.mark(stop);
+                    if (improvedCount == improved.length) improved = Arrays.copyOf(improved, improvedCount * 2);
+                    improved[improvedCount++] = stop;
+                }
+
+                // 직전 라운드에 이 정류장에 도착했다면 더 이른 운행으로 갈아탈 수 있는지 확인
+                int ready = l.arrival[previous + stop];
+                if (ready == INF) continue;
+                int index = timetable.nextBoardingIndex(slot, ready - 1);
+                if (index < 0) continue;
+                int offset = timetable.boardingOffset(index, ready - 1);
+                int departure = timetable.getDepartureTime(index) - offset;
+                if (riding && here != TransitTime.NONE && departure >= here) continue;
+                int boardTrip = timetable.getDepartureTrip(index);
+                if (boardTrip != TripStore.NO_TRIP) {
+                    int position = trips.indexOf(boardTrip, slot);
+                    if (position < 0) continue;
+                    // 타고 있는 운행이 이 지점을 건너뛰면 그 운행이 다음에 서는 지점에 늦지 않게 닿는 운행으로만 갈아탐
+                    if (riding && here == TransitTime.NONE && trip != TripStore.NO_TRIP) {
+                        int next = trips.timeAt(boardTrip, trips.getSlot(cursor));
+                        if (next == TransitTime.NONE || next - offset > trips.getTime(cursor) - rideOffset) continue;
+                    }
+                    cursor = position;
+                    tripEnd = trips.getTripEnd(boardTrip);
+                }
+                riding = true;
+                trip = boardTrip;
+                boardSlot = slot;
+                rideDeparture = departure;
+                rideTime = departure + offset;
+                rideOffset = offset;
+            }
+        }
+
+        // 탑승으로 도착한 정류장에서 주변 정류장으로 걸어서 환승 (시간표에 미리 만든 도보 간선을 그대로 읽음)
+        private void transfer(int k) {
+            int current = k * n;
+            FootpathGraph footpaths = timetable.getFootpaths();
+            for (int i = 0; i < improvedCount; i++) {
+                int from = improved[i];
+                int arrived = l.rideArrival[current + from];
+                for (int edge = footpaths.getEdgeStart(from); edge < footpaths.getEdgeEnd(from); edge++) {
+                    int to = footpaths.getTarget(edge);
+                    int arrival = arrived + footpaths.getSeconds(edge);
+                    if (arrival >= l.best[to] || arrival > targetBound) continue;
+                    l.touch(to);
+                    l.arrival[current + to] = arrival;
+                    l.walkFrom[current + to] = from;
+                    l.walkMeters[current + to] = footpaths.getMeters(edge);
+                    l.best[to] = arrival;
+                    l.mark(to);
+                }
+            }
+        }
+
+        // 라벨을 거꾸로 따라가며 탑승 구간을 복원
+        private Itinerary reconstruct(int k, int egressStop, int egressMeters, int arrival) {
+            int[][] rides = new int[k][];
+            int walk = egressMeters;
+            int stop = egressStop;
+            for (int r = k; r > 0; r--) {
+                int i = r * n + stop;
+                if (l.walkFrom[i] >= 0) {
+                    walk += l.walkMeters[i];
+                    stop = l.walkFrom[i];
+                    i = r * n + stop;
+                }
+                rides[r - 1] = new int[]{l.boardSlot[i], l.alightSlot[i], l.departure[i], l.rideArrival[i]};
+                stop = timetable.getSlotStop(l.boardSlot[i]);
+            }
+            walk += l.walkMeters[stop];
+            return new Itinerary(rides, arrival, walk);
+        }
+    }
+
+    // 탑승 횟수·도착 시각·도보 거리가 모두 같거나 나은 다른 경로가 있으면 제외
+    private static List<Itinerary> paretoFront(List<Itinerary> candidates) {
+        List<Itinerary> front = new ArrayList<>();
+        for (Itinerary c : candidates) {
+            boolean dominated = false;
+            for (Itinerary d : candidates) {
+                if (d == c) continue;
+                boolean noWorse = d.rides.length <= c.rides.length && d.arrival <= c.arrival && d.walkMeters <= c.walkMeters;
+                boolean better = d.rides.length < c.rides.length || d.arrival < c.arrival || d.walkMeters < c.walkMeters;
+                if (noWorse && better) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated) front.add(c);
+        }
+        front.sort(Comparator.comparingInt((Itinerary i) -> i.arrival).thenComparingInt(i -> i.rides.length));
+        return front;
+    }
+
+    private List<TransitDto> toTransitDtos(Itinerary itinerary) {
+        List<TransitDto> legs = new ArrayList<>();
+        int totalWalkTime = itinerary.walkMeters / WALK_METERS_PER_MINUTE;
+        for (int[] ride : itinerary.rides) {
+            int board = ride[0];
+            int alight = ride[1];
+            int route = timetable.getSlotRoute(board);
+            int boardStop = timetable.getSlotStop(board);
+            int alightStop = timetable.getSlotStop(alight);
+            TransitDto leg = new TransitDto(
+                    timetable.getRouteName(route),
+                    timetable.getStopName(boardStop),
+                    timetable.getStopName(alightStop),
+                    timetable.getStopLat(boardStop),
+                    timetable.getStopLon(boardStop),
+                    timetable.getStopLat(alightStop),
+                    timetable.getStopLon(alightStop),
+                    (ride[3] - ride[2]) / TransitTime.MINUTE,
+                    timetable.getSlotSeq(board),
+                    timetable.getSlotSeq(alight),
+                    timetable.getRouteType(route),
+                    timetable.getRouteShapes().slotRange(board, alight),
+                    itinerary.walkMeters,
+                    totalWalkTime,
+                    TransitTime.format(ride[2]));
+            leg.setPolyline(timetable.getRouteShapes().slotPolyline(board, alight));
+            legs.add(leg);
+        }
+        return legs;
+    }
+
+    /**
+     * 목적지 도착 후보 경로
+     * rides 는 {승차 지점, 하차 지점, 출발 시각, 도착 시각} 배열
+     */
+    private record Itinerary(int[][] rides, int arrival, int walkMeters) {}
+
+    /**
+     * 라운드별 라벨, [라운드 * 정류장 수 + 정류장] 으로 접근
+     * 라운드 0 의 walkMeters 는 출발지에서 걸은 거리
+     */
+    private static final class Labels {
+        final int stopCount;
+        final int routeCount;
+
+        final int[] arrival;
+        final int[] rideArrival;
+        final int[] boardSlot;
+        final int[] alightSlot;
+        final int[] departure;
+        final int[] walkFrom;
+        final int[] walkMeters;
+        final int[] best;
+
+        final boolean[] marked;
+        final int[] markedList;
+        int markedCount;
+
+        final int[] routeQueue;
+        final int[] queuedRoutes;
+
+        final boolean[] touched;
+        int[] touchedList = new int[256];
+        int touchedCount;
+
+        Labels(int stopCount, int routeCount) {
+            this.stopCount = stopCount;
+            this.routeCount = routeCount;
+            int size = (MAX_RIDES + 1) * stopCount;
+            this.arrival = new int[size];
+            this.rideArrival = new int[size];
+            this.boardSlot = new int[size];
+            this.alightSlot = new int[size];
+            this.departure = new int[size];
+            this.walkFrom = new int[size];
+            this.walkMeters = new int[size];
+            this.best = new int[stopCount];
+            Arrays.fill(arrival, INF);
+            Arrays.fill(rideArrival, INF);
+            Arrays.fill(best, INF);
+            this.marked = new boolean[stopCount];
+            this.markedList = new int[stopCount];
+            this.routeQueue = new int[routeCount];
+            this.queuedRoutes = new int[routeCount];
+            Arrays.fill(routeQueue, -1);
+            this.touched = new boolean[stopCount];
+        }
+
+        void touch(int stop) {
+            if (touched[stop]) return;
+            touched[stop] = true;
+            if (touchedCount == touchedList.length) touchedList = Arrays.copyOf(touchedList, touchedCount * 2);
+            touchedList[touchedCount++] = stop;
+        }
+
+        void mark(int stop) {
+            if (marked[stop]) return;
+            marked[stop] = true;
+            markedList[markedCount++] = stop;
+        }
+
+        void reset() {
+            for (int t = 0; t < touchedCount; t++) {
+                int stop = touchedList[t];
+                for (int r = 0; r <= MAX_RIDES; r++) {
+                    arrival[r * stopCount + stop] = INF;
+                    rideArrival[r * stopCount + stop] = INF;
+                }
+                best[stop] = INF;
+                marked[stop] = false;
+                touched[stop] = false;
+            }
+            touchedCount = 0;
+            markedCount = 0;
+            Arrays.fill(routeQueue, -1);
+        }
+    }
+}
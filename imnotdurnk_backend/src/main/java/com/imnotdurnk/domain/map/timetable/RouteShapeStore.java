@@ -0,0 +1,112 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.domain.map.dto.RouteDto;
+import com.imnotdurnk.global.util.PolylineUtil;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 노선별로 정차 순서대로 늘어놓은 정류장 좌표·이름
+ *
+ * 시간표의 정차 지점(slot)이 이미 노선별 stop_sequence 순으로 연속 배치되어 있으므로
+ * slot 번호를 그대로 위치로 써서 좌표와 응답용 {@link RouteDto} 를 미리 만들어 둠
+ * 두 stop_sequence 사이의 정류장 목록은 이진 탐색 두 번과 배열 구간 하나로 구함
+ */
+public class RouteShapeStore {
+
+    private final TransitTimetable timetable;
+    private final Map<String, Integer> routeIndex;
+    private final int[] latsE5;
+    private final int[] lonsE5;
+    private final List<RouteDto> stops;
+
+    RouteShapeStore(TransitTimetable timetable) {
+        this.timetable = timetable;
+        int routeCount = timetable.getRouteCount();
+        this.routeIndex = new HashMap<>(routeCount * 2);
+        for (int route = 0; route < routeCount; route++) routeIndex.put(timetable.getRouteId(route), route);
+
+        int slotCount = timetable.getSlotCount();
+        this.latsE5 = new int[slotCount];
+        this.lonsE5 = new int[slotCount];
+        RouteDto[] dtos = new RouteDto[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            int stop = timetable.getSlotStop(slot);
+            double lat = timetable.getStopLat(stop);
+            double lon = timetable.getStopLon(stop);
+            latsE5[slot] = PolylineUtil.toE5(lat);
+            lonsE5[slot] = PolylineUtil.toE5(lon);
+            dtos[slot] = new RouteDto(Optional.of(String.valueOf(lon)), Optional.of(String.valueOf(lat)),
+                    Optional.ofNullable(timetable.getStopName(stop)));
+        }
+        this.stops = Collections.unmodifiableList(Arrays.asList(dtos));
+    }
+
+    /**
+     * 노선 ID 에 해당하는 노선 번호
+     *
+     * @return 노선 번호, 시간표에 없는 노선이면 -1
+     */
+    public int routeOf(String routeId) {
+        Integer route = routeIndex.get(routeId);
+        return route == null ? -1 : route;
+    }
+
+    /**
+     * 노선에서 stop_sequence 가 [seqFrom, seqTo] 인 정류장 목록
+     *
+     * @return 정류장 목록 (stop_sequence 순), 시간표에 없는 노선이면 null
+     */
+    public List<RouteDto> slice(String routeId, int seqFrom, int seqTo) {
+        int route = routeOf(routeId);
+        if (route < 0) return null;
+        return range(firstSlot(route, seqFrom), firstSlot(route, seqTo + 1));
+    }
+
+    /**
+     * 노선에서 stop_sequence 가 [seqFrom, seqTo] 인 정류장 좌표의 encoded polyline
+     *
+     * @return 인코딩된 polyline, 시간표에 없는 노선이면 null
+     */
+    public String polyline(String routeId, int seqFrom, int seqTo) {
+        int route = routeOf(routeId);
+        if (route < 0) return null;
+        return PolylineUtil.encode(latsE5, lonsE5, firstSlot(route, seqFrom), firstSlot(route, seqTo + 1));
+    }
+
+    /**
+     * 같은 노선 위의 두 정차 지점 사이 정류장 목록 (양 끝 포함)
+     */
+    public List<RouteDto> slotRange(int board, int alight) {
+        return range(board, alight + 1);
+    }
+
+    /**
+     * 같은 노선 위의 두 정차 지점 사이 정류장 좌표의 encoded polyline (양 끝 포함)
+     */
+    public String slotPolyline(int board, int alight) {
+        return PolylineUtil.encode(latsE5, lonsE5, board, Math.max(board, alight + 1));
+    }
+
+    // [from, to) 구간, 미리 만든 목록을 복사하지 않고 그대로 잘라서 씀
+    private List<RouteDto> range(int from, int to) {
+        return from >= to ? List.of() : stops.subList(from, to);
+    }
+
+    // 노선 안에서 stop_sequence 가 seq 이상인 첫 정차 지점
+    private int firstSlot(int route, int seq) {
+        int low = timetable.getRouteSlotStart(route);
+        int high = timetable.getRouteSlotEnd(route);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timetable.getSlotSeq(mid) < seq) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
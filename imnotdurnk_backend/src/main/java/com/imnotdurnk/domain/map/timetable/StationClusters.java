@@ -0,0 +1,113 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import java.util.Arrays;
+
+/**
+ * 이름이 같고 가까운 정류장(승강장·방향별 행)을 하나의 부모 정류장으로 묶음
+ *
+ * station 테이블은 같은 정류장의 승강장·방향마다 행이 따로 있어서
+ * 반경 검색 결과가 사실상 같은 정류장을 여러 번 포함함
+ * 도보 간선({@link FootpathGraph}) 중 이름이 같고 {@link #DEFAULT_RADIUS} 안인 쌍을 합쳐(union-find) 부모를 정하고,
+ * 검색은 반경에 걸린 승강장을 부모 단위로 묶어서 보고, 결과는 같은 부모 사이의 같은 노선을 하나로 합침
+ * - stopParents[stop] : 부모 번호
+ * - offsets[parent] ~ offsets[parent + 1] : 부모에 속한 정류장, 정류장 번호 오름차순
+ */
+public class StationClusters {
+
+    /** 같은 부모로 묶을 최대 거리(m), 도보 간선 반경보다 크면 도보 간선 반경까지만 묶임 */
+    public static final double DEFAULT_RADIUS = 150;
+
+    private final int[] stopParents;
+    private final int[] offsets;
+    private final int[] stops;
+
+    private StationClusters(int[] stopParents, int[] offsets, int[] stops) {
+        this.stopParents = stopParents;
+        this.offsets = offsets;
+        this.stops = stops;
+    }
+
+    static StationClusters build(TransitTimetable timetable, double radius) {
+        int n = timetable.getStopCount();
+        FootpathGraph footpaths = timetable.getFootpaths();
+        String[] names = new String[n];
+        for (int stop = 0; stop < n; stop++) names[stop] = normalize(timetable.getStopName(stop));
+
+        int[] root = new int[n];
+        for (int stop = 0; stop < n; stop++) root[stop] = stop;
+        for (int from = 0; from < n; from++) {
+            if (names[from] == null) continue;
+            for (int edge = footpaths.getEdgeStart(from); edge < footpaths.getEdgeEnd(from); edge++) {
+                int to = footpaths.getTarget(edge);
+                if (to < from || footpaths.getMeters(edge) > radius || !names[from].equals(names[to])) continue;
+                int a = find(root, from);
+                int b = find(root, to);
+                if (a != b) root[Math.max(a, b)] = Math.min(a, b);
+            }
+        }
+
+        // 대표 정류장 번호 순으로 부모 번호를 매기고 부모별로 계수 정렬
+        int[] stopParents = new int[n];
+        int[] parentOf = new int[n];
+        Arrays.fill(parentOf, -1);
+        int parentCount = 0;
+        for (int stop = 0; stop < n; stop++) {
+            int r = find(root, stop);
+            if (parentOf[r] < 0) parentOf[r] = parentCount++;
+            stopParents[stop] = parentOf[r];
+        }
+        int[] offsets = new int[parentCount + 1];
+        for (int stop = 0; stop < n; stop++) offsets[stopParents[stop] + 1]++;
+        for (int p = 0; p < parentCount; p++) offsets[p + 1] += offsets[p];
+        int[] cursor = Arrays.copyOf(offsets, parentCount);
+        int[] stops = new int[n];
+        for (int stop = 0; stop < n; stop++) stops[cursor[stopParents[stop]]++] = stop;
+        return new StationClusters(stopParents, offsets, stops);
+    }
+
+    private static int find(int[] root, int stop) {
+        while (root[stop] != stop) {
+            root[stop] = root[root[stop]];
+            stop = root[stop];
+        }
+        return stop;
+    }
+
+    // 공백 차이만 있는 이름은 같은 정류장으로 봄
+    private static String normalize(String name) {
+        if (name == null) return null;
+        String normalized = name.replaceAll("\\s+", "");
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * 반경 검색 결과를 부모 단위로 묶음
+     * 반경 밖에 있는 같은 부모의 다른 승강장은 더하지 않고, 반경에 걸린 승강장만 부모별로 모음
+     *
+     * @return 정류장 번호, 같은 부모끼리 붙어 있고 부모는 처음 걸린 순서대로
+     */
+    public int[] group(int[] stopList) {
+        int[] parents = new int[stopList.length];
+        int[] counts = new int[stopList.length + 1];
+        int[] ranks = new int[stopList.length];
+        int parentCount = 0;
+        for (int i = 0; i < stopList.length; i++) {
+            int parent = stopParents[stopList[i]];
+            int rank = 0;
+            while (rank < parentCount && parents[rank] != parent) rank++;
+            if (rank == parentCount) parents[parentCount++] = parent;
+            ranks[i] = rank;
+            counts[rank + 1]++;
+        }
+        for (int rank = 0; rank < parentCount; rank++) counts[rank + 1] += counts[rank];
+        int[] grouped = new int[stopList.length];
+        for (int i = 0; i < stopList.length; i++) grouped[counts[ranks[i]]++] = stopList[i];
+        return grouped;
+    }
+
+    public int getParentCount() { return offsets.length - 1; }
+    public int getParent(int stop) { return stopParents[stop]; }
+    public int getChildStart(int parent) { return offsets[parent]; }
+    public int getChildEnd(int parent) { return offsets[parent + 1]; }
+    public int getChild(int i) { return stops[i]; }
+}
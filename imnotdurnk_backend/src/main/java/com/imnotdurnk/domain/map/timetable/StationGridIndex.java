@@ -0,0 +1,185 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.global.util.GeoUtil;
+
+import java.util.Arrays;
+
+/**
+ * 정류장 좌표에 대한 균일 위경도 격자 색인
+ *
+ * 정류장을 격자 칸 번호 순으로 정렬해 원시 배열에 담고,
+ * 반경 검색 시 반경을 덮는 칸만 훑은 뒤 haversine 거리로 정확히 걸러냄
+ * 따라서 검색 비용은 전체 정류장 수가 아니라 주변 정류장 수에 비례함
+ */
+public class StationGridIndex {
+
+    // 위도 1도의 길이(m)
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * GeoUtil.EARTH_RADIUS_METERS;
+
+    /** 기본 격자 크기(m), 500m 반경 검색 시 3x3 칸 정도를 보게 됨 */
+    public static final double DEFAULT_CELL_SIZE = 500;
+
+    private final double cellLat;
+    private final double cellLon;
+
+    // 칸 번호(오름차순)와 각 칸이 차지하는 구간
+    private final long[] cellKeys;
+    private final int[] cellOffsets;
+
+    // 칸 순서로 정렬된 정류장 번호와 좌표
+    private final int[] stops;
+    private final double[] lats;
+    private final double[] lons;
+
+    public StationGridIndex(double[] stopLats, double[] stopLons) {
+        this(stopLats, stopLons, DEFAULT_CELL_SIZE);
+    }
+
+    public StationGridIndex(double[] stopLats, double[] stopLons, double cellSize) {
+        int n = stopLats.length;
+        double meanLat = 0;
+        for (double lat : stopLats) meanLat += lat;
+        meanLat = n == 0 ? 0 : meanLat / n;
+
+        this.cellLat = cellSize / METERS_PER_DEGREE;
+        this.cellLon = cellSize / (METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(meanLat))));
+
+        // (칸 번호, 정류장 번호) 순으로 정렬
+        long[] keys = new long[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = cellKey(row(stopLats[i]), col(stopLons[i]));
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keys[a] != keys[b] ? Long.compare(keys[a], keys[b]) : Integer.compare(a, b));
+
+        this.stops = new int[n];
+        this.lats = new double[n];
+        this.lons = new double[n];
+        long[] cellKeyBuffer = new long[n];
+        int[] cellOffsetBuffer = new int[n + 1];
+        int cellCount = 0;
+        for (int i = 0; i < n; i++) {
+            int stop = order[i];
+            stops[i] = stop;
+            lats[i] = stopLats[stop];
+            lons[i] = stopLons[stop];
+            if (cellCount == 0 || cellKeyBuffer[cellCount - 1] != keys[stop]) {
+                cellKeyBuffer[cellCount] = keys[stop];
+                cellOffsetBuffer[cellCount] = i;
+                cellCount++;
+            }
+        }
+        cellOffsetBuffer[cellCount] = n;
+        this.cellKeys = Arrays.copyOf(cellKeyBuffer, cellCount);
+        this.cellOffsets = Arrays.copyOf(cellOffsetBuffer, cellCount + 1);
+    }
+
+    /**
+     * 반경 안의 정류장 검색
+     *
+     * @param lat 기준 위도
+     * @param lon 기준 경도
+     * @param radius 반경(m), 경계는 포함하지 않음
+     * @return 반경 안의 정류장 번호 (순서 보장 없음)
+     */
+    public int[] within(double lat, double lon, double radius) {
+        int[] positions = collect(lat, lon, radius);
+        for (int i = 0; i < positions.length; i++) positions[i] = stops[positions[i]];
+        return positions;
+    }
+
+    /**
+     * 가까운 순으로 최대 k 개의 정류장 검색
+     * 반경을 두 배씩 늘려가며 k 개가 모일 때까지(또는 최대 반경까지) 찾음
+     *
+     * @param lat 기준 위도
+     * @param lon 기준 경도
+     * @param k 최대 개수
+     * @param maxRadius 최대 반경(m)
+     * @return 가까운 순으로 정렬된 정류장 번호
+     */
+    public int[] nearest(double lat, double lon, int k, double maxRadius) {
+        double radius = Math.min(DEFAULT_CELL_SIZE, maxRadius);
+        int[] positions = collect(lat, lon, radius);
+        while (positions.length < k && radius < maxRadius) {
+            radius = Math.min(radius * 2, maxRadius);
+            positions = collect(lat, lon, radius);
+        }
+        double[] distances = new double[positions.length];
+        Integer[] order = new Integer[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            distances[i] = GeoUtil.distance(lat, lon, lats[positions[i]], lons[positions[i]]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(distances[a], distances[b]));
+        int[] result = new int[Math.min(k, positions.length)];
+        for (int i = 0; i < result.length; i++) result[i] = stops[positions[order[i]]];
+        return result;
+    }
+
+    /**
+     * 위경도 사각형 안의 정류장 검색 (지도 화면 영역 조회용)
+     * 사각형이 걸친 줄마다 정류장이 있는 칸만 훑으므로 넓은 사각형이어도 비용은 전체 칸 수를 넘지 않음
+     *
+     * @return 사각형 안(경계 포함)의 정류장 번호 (순서 보장 없음)
+     */
+    public int[] inBox(double minLat, double minLon, double maxLat, double maxLon) {
+        int[] found = new int[16];
+        int size = 0;
+        int minCol = col(minLon);
+        int maxCol = col(maxLon);
+        for (int r = row(minLat), maxRow = row(maxLat); r <= maxRow; r++) {
+            // 칸 번호는 줄 번호가 상위 32비트이므로 한 줄의 칸은 (r, 0) 부터 연속해서 놓임
+            int cell = Arrays.binarySearch(cellKeys, cellKey(r, 0));
+            for (cell = cell < 0 ? -cell - 1 : cell; cell < cellKeys.length && (int) (cellKeys[cell] >> 32) == r; cell++) {
+                int c = (int) cellKeys[cell];
+                if (c < minCol || c > maxCol) continue;
+                for (int i = cellOffsets[cell]; i < cellOffsets[cell + 1]; i++) {
+                    if (lats[i] < minLat || lats[i] > maxLat || lons[i] < minLon || lons[i] > maxLon) continue;
+                    if (size == found.length) found = Arrays.copyOf(found, size * 2);
+                    found[size++] = stops[i];
+                }
+            }
+        }
+        return Arrays.copyOf(found, size);
+    }
+
+    // 반경을 덮는 칸을 훑고 haversine 으로 걸러낸 정렬 배열 상의 위치
+    private int[] collect(double lat, double lon, double radius) {
+        int[] found = new int[16];
+        int size = 0;
+        int rowSpan = (int) Math.ceil(radius / METERS_PER_DEGREE / cellLat);
+        int colSpan = (int) Math.ceil(radius / (METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(lat)))) / cellLon);
+        int centerRow = row(lat);
+        int centerCol = col(lon);
+        for (int r = centerRow - rowSpan; r <= centerRow + rowSpan; r++) {
+            for (int c = centerCol - colSpan; c <= centerCol + colSpan; c++) {
+                int cell = Arrays.binarySearch(cellKeys, cellKey(r, c));
+                if (cell < 0) continue;
+                for (int i = cellOffsets[cell]; i < cellOffsets[cell + 1]; i++) {
+                    if (GeoUtil.distance(lat, lon, lats[i], lons[i]) >= radius) continue;
+                    if (size == found.length) found = Arrays.copyOf(found, size * 2);
+                    found[size++] = i;
+                }
+            }
+        }
+        return Arrays.copyOf(found, size);
+    }
+
+    public int getCellCount() {
+        return cellKeys.length;
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor(lat / cellLat);
+    }
+
+    private int col(double lon) {
+        return (int) Math.floor(lon / cellLon);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
@@ -0,0 +1,136 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 지도 화면 영역의 정류장 조회
+ *
+ * 요청한 위경도 사각형을 웹 메르카토르 타일(z/x/y) 경계까지 넓혀서 조회하므로,
+ * 화면을 조금 움직여도 걸친 타일이 같으면 같은 결과(같은 ETag)가 나옴
+ * 낮은 줌에서는 타일 한 변을 {@link #CELLS_PER_TILE} 칸으로 나눠 칸마다 정류장 수와 평균 좌표만 돌려줌
+ */
+public class StationViewport {
+
+    /** 묶음 모드에서 타일 한 변을 나누는 칸 수 (256px 타일이면 칸 하나가 64px) */
+    public static final int CELLS_PER_TILE = 4;
+
+    // 웹 메르카토르가 표현하는 최대 위도
+    private static final double MAX_LAT = 85.05112878;
+
+    private final int zoom;
+    private final int minX;
+    private final int minY;
+    private final int maxX;
+    private final int maxY;
+
+    private StationViewport(int zoom, int minX, int minY, int maxX, int maxY) {
+        this.zoom = zoom;
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * 사각형이 걸친 타일 범위
+     *
+     * @param zoom 줌 레벨 (0 ~ 22)
+     */
+    public static StationViewport of(double minLat, double minLon, double maxLat, double maxLon, int zoom) {
+        if (zoom < 0 || zoom > 22) throw new IllegalArgumentException("zoom 은 0 ~ 22 사이여야 합니다.");
+        if (minLat > maxLat || minLon > maxLon) throw new IllegalArgumentException("bbox 의 최솟값이 최댓값보다 큽니다.");
+        int last = (1 << zoom) - 1;
+        // 위도가 클수록 y 가 작아짐
+        return new StationViewport(zoom,
+                clamp((int) Math.floor(tileX(minLon, zoom)), last), clamp((int) Math.floor(tileY(maxLat, zoom)), last),
+                clamp((int) Math.floor(tileX(maxLon, zoom)), last), clamp((int) Math.floor(tileY(minLat, zoom)), last));
+    }
+
+    /**
+     * 타일 범위 안의 정류장
+     *
+     * @param cluster true 이면 칸별로 묶고, false 이면 정류장마다 하나씩
+     * @return 표시할 점 목록, 묶음 모드에서는 정류장 수가 1 인 칸도 있음
+     */
+    public List<Marker> query(TransitTimetable timetable, boolean cluster) {
+        int[] stops = timetable.getStationIndex().inBox(getMinLat(), getMinLon(), getMaxLat(), getMaxLon());
+        List<Marker> markers = new ArrayList<>();
+        if (!cluster) {
+            for (int stop : stops) markers.add(new Marker(stop, 1, timetable.getStopLat(stop), timetable.getStopLon(stop)));
+            return markers;
+        }
+
+        int width = getTileWidth() * CELLS_PER_TILE;
+        int height = getTileHeight() * CELLS_PER_TILE;
+        int cells = width * height;
+        int[] counts = new int[cells];
+        int[] first = new int[cells];
+        double[] latSums = new double[cells];
+        double[] lonSums = new double[cells];
+        for (int stop : stops) {
+            double lat = timetable.getStopLat(stop);
+            double lon = timetable.getStopLon(stop);
+            int cell = cellIndex((tileY(lat, zoom) - minY) * CELLS_PER_TILE, height) * width
+                    + cellIndex((tileX(lon, zoom) - minX) * CELLS_PER_TILE, width);
+            if (counts[cell]++ == 0) first[cell] = stop;
+            latSums[cell] += lat;
+            lonSums[cell] += lon;
+        }
+        // 칸 순서(북서쪽부터)로 내보내서 같은 타일 범위는 항상 같은 순서가 되게 함
+        for (int cell = 0; cell < cells; cell++) {
+            if (counts[cell] == 0) continue;
+            markers.add(new Marker(first[cell], counts[cell], latSums[cell] / counts[cell], lonSums[cell] / counts[cell]));
+        }
+        return markers;
+    }
+
+    /**
+     * 표시할 점
+     *
+     * @param stop 정류장 번호, 묶음이면 칸에서 처음 찾은 정류장
+     * @param count 묶인 정류장 수
+     * @param lat 위도, 묶음이면 평균
+     * @param lon 경도, 묶음이면 평균
+     */
+    public record Marker(int stop, int count, double lat, double lon) {}
+
+    public int getZoom() { return zoom; }
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+    public int getTileWidth() { return maxX - minX + 1; }
+    public int getTileHeight() { return maxY - minY + 1; }
+
+    public double getMinLat() { return tileLat(maxY + 1, zoom); }
+    public double getMaxLat() { return tileLat(minY, zoom); }
+    public double getMinLon() { return tileLon(minX, zoom); }
+    public double getMaxLon() { return tileLon(maxX + 1, zoom); }
+
+    // 경계 위의 점이 범위 밖 칸 번호를 받지 않도록 자름
+    private static int cellIndex(double position, int size) {
+        return Math.min(size - 1, Math.max(0, (int) Math.floor(position)));
+    }
+
+    private static int clamp(int tile, int last) {
+        return Math.min(last, Math.max(0, tile));
+    }
+
+    private static double tileX(double lon, int zoom) {
+        return (lon + 180) / 360 * (1 << zoom);
+    }
+
+    private static double tileY(double lat, int zoom) {
+        double rad = Math.toRadians(Math.max(-MAX_LAT, Math.min(MAX_LAT, lat)));
+        return (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2 * (1 << zoom);
+    }
+
+    private static double tileLon(int x, int zoom) {
+        return (double) x / (1 << zoom) * 360 - 180;
+    }
+
+    private static double tileLat(int y, int zoom) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2.0 * y / (1 << zoom)))));
+    }
+}
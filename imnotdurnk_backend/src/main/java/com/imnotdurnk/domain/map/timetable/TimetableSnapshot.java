@@ -0,0 +1,380 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link TransitTimetable} 을 파일 하나로 저장하고 다시 읽는 바이너리 스냅샷
+ *
+ * 시간표가 원시 배열로만 되어 있으므로 배열을 그대로 열 단위로 기록함
+ * 읽을 때는 {@link FileChannel#map} 으로 파일을 메모리에 매핑한 뒤 배열 단위로 한 번에 복사하므로
+ * 행 단위 파싱이나 DB 조회 없이 수 초 안에 시간표를 만들 수 있음
+ *
+ * 형식 (리틀 엔디언, 각 구간은 8바이트 경계에 맞춤)
+ * - 헤더 : MAGIC(int), FORMAT(int), 생성 시각(long, epoch ms), 데이터 버전(문자열)
+ * - 정류장 : ID(문자열표), 이름(문자열표), 위도(double[]), 경도(double[])
+ * - 노선 : ID(문자열표), 이름(문자열표), 유형(int[]), 정차 지점 시작 위치(int[])
+ * - 정차 지점 : 노선, 정류장, 순번, 출발 기록 시작 위치(int[])
+ * - 출발 기록 : 시각, 운행(int[])
+ * - 정류장 -> 정차 지점 : 시작 위치, 정차 지점(int[])
+ * - 운행 : ID(문자열표), 노선, 시작 위치, 정차 지점, 시각(int[])
+ * - 도보 환승 : 반경(double[1]), 정류장별 시작 위치, 도착 정류장, 거리(int[])
+ * 배열은 길이(int) 뒤에 값, 문자열표는 개수(int), 바이트 위치(int[]), UTF-8 바이트 순
+ */
+public class TimetableSnapshot {
+
+    private static final int MAGIC = 0x494D5454; // "IMTT"
+    private static final int FORMAT = 2;
+
+    private final String version;
+    private final long createdAt;
+    private final TransitTimetable timetable;
+
+    private TimetableSnapshot(String version, long createdAt, TransitTimetable timetable) {
+        this.version = version;
+        this.createdAt = createdAt;
+        this.timetable = timetable;
+    }
+
+    public String getVersion() { return version; }
+    public long getCreatedAt() { return createdAt; }
+    public TransitTimetable getTimetable() { return timetable; }
+
+    /**
+     * 시간표를 스냅샷 파일로 저장
+     * 임시 파일에 모두 쓴 뒤 이름을 바꾸므로 읽는 쪽이 쓰다 만 파일을 보지 않음
+     *
+     * @param timetable 저장할 시간표
+     * @param version 데이터 버전 (GTFS 피드 버전 등)
+     * @param path 저장 경로
+     */
+    public static void write(TransitTimetable timetable, String version, Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Writer out = new Writer(channel);
+            out.putInt(MAGIC);
+            out.putInt(FORMAT);
+            out.putLong(System.currentTimeMillis());
+            out.putStrings(new String[]{version});
+
+            int stopCount = timetable.getStopCount();
+            String[] stopIds = new String[stopCount];
+            String[] stopNames = new String[stopCount];
+            double[] stopLats = new double[stopCount];
+            double[] stopLons = new double[stopCount];
+            for (int s = 0; s < stopCount; s++) {
+                stopIds[s] = timetable.getStopId(s);
+                stopNames[s] = timetable.getStopName(s);
+                stopLats[s] = timetable.getStopLat(s);
+                stopLons[s] = timetable.getStopLon(s);
+            }
+            out.putStrings(stopIds);
+            out.putStrings(stopNames);
+            out.putDoubles(stopLats);
+            out.putDoubles(stopLons);
+
+            int routeCount = timetable.getRouteCount();
+            String[] routeIds = new String[routeCount];
+            String[] routeNames = new String[routeCount];
+            int[] routeTypes = new int[routeCount];
+            int[] routeSlotOffsets = new int[routeCount + 1];
+            for (int r = 0; r < routeCount; r++) {
+                routeIds[r] = timetable.getRouteId(r);
+                routeNames[r] = timetable.getRouteName(r);
+                routeTypes[r] = timetable.getRouteType(r);
+                routeSlotOffsets[r] = timetable.getRouteSlotStart(r);
+            }
+            routeSlotOffsets[routeCount] = timetable.getSlotCount();
+            out.putStrings(routeIds);
+            out.putStrings(routeNames);
+            out.putInts(routeTypes);
+            out.putInts(routeSlotOffsets);
+
+            int slotCount = timetable.getSlotCount();
+            int[] slotRoutes = new int[slotCount];
+            int[] slotStops = new int[slotCount];
+            int[] slotSeqs = new int[slotCount];
+            int[] slotDepartureOffsets = new int[slotCount + 1];
+            for (int s = 0; s < slotCount; s++) {
+                slotRoutes[s] = timetable.getSlotRoute(s);
+                slotStops[s] = timetable.getSlotStop(s);
+                slotSeqs[s] = timetable.getSlotSeq(s);
+                slotDepartureOffsets[s] = timetable.getSlotDepartureStart(s);
+            }
+            slotDepartureOffsets[slotCount] = timetable.getStopTimeCount();
+            out.putInts(slotRoutes);
+            out.putInts(slotStops);
+            out.putInts(slotSeqs);
+            out.putInts(slotDepartureOffsets);
+
+            int departureCount = timetable.getStopTimeCount();
+            int[] departures = new int[departureCount];
+            int[] departureTrips = new int[departureCount];
+            for (int i = 0; i < departureCount; i++) {
+                departures[i] = timetable.getDepartureTime(i);
+                departureTrips[i] = timetable.getDepartureTrip(i);
+            }
+            out.putInts(departures);
+            out.putInts(departureTrips);
+
+            int[] stopSlotOffsets = new int[stopCount + 1];
+            for (int s = 0; s < stopCount; s++) stopSlotOffsets[s] = timetable.getStopSlotStart(s);
+            stopSlotOffsets[stopCount] = slotCount;
+            int[] stopSlots = new int[slotCount];
+            for (int i = 0; i < slotCount; i++) stopSlots[i] = timetable.getStopSlot(i);
+            out.putInts(stopSlotOffsets);
+            out.putInts(stopSlots);
+
+            TripStore trips = timetable.getTrips();
+            int tripCount = trips.getTripCount();
+            String[] tripIds = new String[tripCount];
+            int[] tripRoutes = new int[tripCount];
+            int[] tripOffsets = new int[tripCount + 1];
+            for (int t = 0; t < tripCount; t++) {
+                tripIds[t] = trips.getTripId(t);
+                tripRoutes[t] = trips.getTripRoute(t);
+                tripOffsets[t] = trips.getTripStart(t);
+            }
+            int entryCount = tripCount == 0 ? 0 : trips.getTripEnd(tripCount - 1);
+            tripOffsets[tripCount] = entryCount;
+            int[] tripSlots = new int[entryCount];
+            int[] tripTimes = new int[entryCount];
+            for (int i = 0; i < entryCount; i++) {
+                tripSlots[i] = trips.getSlot(i);
+                tripTimes[i] = trips.getTime(i);
+            }
+            out.putStrings(tripIds);
+            out.putInts(tripRoutes);
+            out.putInts(tripOffsets);
+            out.putInts(tripSlots);
+            out.putInts(tripTimes);
+
+            FootpathGraph footpaths = timetable.getFootpaths();
+            int[] footpathOffsets = new int[stopCount + 1];
+            for (int s = 0; s < stopCount; s++) footpathOffsets[s] = footpaths.getEdgeStart(s);
+            footpathOffsets[stopCount] = footpaths.getEdgeCount();
+            int[] footpathTargets = new int[footpaths.getEdgeCount()];
+            int[] footpathMeters = new int[footpaths.getEdgeCount()];
+            for (int i = 0; i < footpathTargets.length; i++) {
+                footpathTargets[i] = footpaths.getTarget(i);
+                footpathMeters[i] = footpaths.getMeters(i);
+            }
+            out.putDoubles(new double[]{footpaths.getRadius()});
+            out.putInts(footpathOffsets);
+            out.putInts(footpathTargets);
+            out.putInts(footpathMeters);
+            out.flush();
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 스냅샷 파일의 데이터 버전만 읽음
+     */
+    public static String readVersion(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Reader in = new Reader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            in.header();
+            in.getLong();
+            return in.getStrings()[0];
+        }
+    }
+
+    /**
+     * 스냅샷 파일을 매핑해서 시간표를 만듦
+     *
+     * @throws IOException 파일을 읽을 수 없거나 형식이 맞지 않을 때
+     */
+    public static TimetableSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Reader in = new Reader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            in.header();
+            long createdAt = in.getLong();
+            String version = in.getStrings()[0];
+
+            String[] stopIds = in.getStrings();
+            String[] stopNames = in.getStrings();
+            double[] stopLats = in.getDoubles();
+            double[] stopLons = in.getDoubles();
+
+            String[] routeIds = in.getStrings();
+            String[] routeNames = in.getStrings();
+            int[] routeTypes = in.getInts();
+            int[] routeSlotOffsets = in.getInts();
+
+            int[] slotRoutes = in.getInts();
+            int[] slotStops = in.getInts();
+            int[] slotSeqs = in.getInts();
+            int[] slotDepartureOffsets = in.getInts();
+            int[] departures = in.getInts();
+            int[] departureTrips = in.getInts();
+            int[] stopSlotOffsets = in.getInts();
+            int[] stopSlots = in.getInts();
+
+            String[] tripIds = in.getStrings();
+            TripStore trips = new TripStore(tripIds, in.getInts(), in.getInts(), in.getInts(), in.getInts());
+            FootpathGraph footpaths = new FootpathGraph(in.getDoubles()[0], in.getInts(), in.getInts(), in.getInts());
+
+            TransitTimetable timetable = new TransitTimetable(stopIds, stopNames, stopLats, stopLons,
+                    routeIds, routeNames, routeTypes, routeSlotOffsets,
+                    slotRoutes, slotStops, slotSeqs, slotDepartureOffsets, departures, departureTrips,
+                    stopSlotOffsets, stopSlots, trips, footpaths);
+            return new TimetableSnapshot(version, createdAt, timetable);
+        } catch (RuntimeException e) {
+            // 잘린 파일 등으로 버퍼 범위를 벗어나면 형식 오류로 취급
+            throw new IOException("시간표 스냅샷 형식이 올바르지 않습니다: " + path, e);
+        }
+    }
+
+    // 1MB 단위로 모아서 채널에 씀
+    private static class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long written;
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putInts(int[] values) throws IOException {
+            putInt(values.length);
+            for (int value : values) putInt(value);
+            align();
+        }
+
+        void putDoubles(double[] values) throws IOException {
+            putInt(values.length);
+            align();
+            for (double value : values) {
+                ensure(Double.BYTES);
+                buffer.putDouble(value);
+            }
+        }
+
+        void putStrings(String[] values) throws IOException {
+            byte[][] bytes = new byte[values.length][];
+            int[] offsets = new int[values.length + 1];
+            for (int i = 0; i < values.length; i++) {
+                bytes[i] = values[i] == null ? new byte[0] : values[i].getBytes(StandardCharsets.UTF_8);
+                offsets[i + 1] = offsets[i] + bytes[i].length;
+            }
+            putInt(values.length);
+            for (int i = 0; i < values.length; i++) putInt(values[i] == null ? -1 : offsets[i]);
+            putInt(offsets[values.length]);
+            for (byte[] value : bytes) {
+                for (int i = 0; i < value.length; ) {
+                    ensure(1);
+                    int length = Math.min(value.length - i, buffer.remaining());
+                    buffer.put(value, i, length);
+                    i += length;
+                }
+            }
+            align();
+        }
+
+        // 다음 구간이 8바이트 경계에서 시작하도록 채움
+        void align() throws IOException {
+            while ((written + buffer.position()) % 8 != 0) {
+                ensure(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) written += channel.write(buffer);
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+    }
+
+    // 매핑한 버퍼에서 배열 단위로 읽음
+    private static class Reader {
+        private final MappedByteBuffer buffer;
+
+        Reader(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void header() throws IOException {
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) throw new IOException("시간표 스냅샷 파일이 아닙니다.");
+            int format = buffer.getInt();
+            if (format != FORMAT) throw new IOException("지원하지 않는 스냅샷 형식입니다: " + format);
+        }
+
+        long getLong() {
+            return buffer.getLong();
+        }
+
+        int[] getInts() {
+            int[] values = new int[buffer.getInt()];
+            buffer.asIntBuffer().get(values);
+            buffer.position(buffer.position() + values.length * Integer.BYTES);
+            align();
+            return values;
+        }
+
+        double[] getDoubles() {
+            double[] values = new double[buffer.getInt()];
+            align();
+            buffer.asDoubleBuffer().get(values);
+            buffer.position(buffer.position() + values.length * Double.BYTES);
+            return values;
+        }
+
+        String[] getStrings() {
+            int count = buffer.getInt();
+            int[] offsets = new int[count + 1];
+            buffer.asIntBuffer().get(offsets);
+            buffer.position(buffer.position() + offsets.length * Integer.BYTES);
+            int start = buffer.position();
+            String[] values = new String[count];
+            for (int i = 0; i < count; i++) {
+                if (offsets[i] < 0) continue;
+                byte[] bytes = new byte[end(offsets, i) - offsets[i]];
+                buffer.get(start + offsets[i], bytes);
+                values[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            buffer.position(start + offsets[count]);
+            align();
+            return values;
+        }
+
+        // 문자열의 끝 = null(-1)을 건너뛴 다음 문자열의 시작 위치, 마지막은 전체 길이
+        private static int end(int[] offsets, int i) {
+            for (int j = i + 1; j < offsets.length; j++) {
+                if (offsets[j] >= 0) return offsets[j];
+            }
+            return offsets[offsets.length - 1];
+        }
+
+        private void align() {
+            int position = buffer.position();
+            if (position % 8 != 0) buffer.position(position + 8 - position % 8);
+        }
+    }
+}
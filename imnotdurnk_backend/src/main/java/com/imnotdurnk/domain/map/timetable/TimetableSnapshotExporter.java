@@ -0,0 +1,71 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * map.snapshot.export=true 일 때 기동 시 DB 에서 시간표를 만들어 스냅샷 파일로 저장
+ *
+ * 피드 버전마다 한 번만 실행하고(GTFS 적재 직후 등), 나머지 노드는 저장된 파일을 읽어서 기동함
+ * 버전은 map.snapshot.version, 없으면 timetable_version 테이블, 그것도 없으면 현재 시각
+ * 같은 버전의 스냅샷이 이미 있으면 다시 만들지 않음
+ * GTFS 적재({@code GtfsImportRunner})가 켜져 있으면 적재가 끝난 뒤 실행됨
+ */
+@Component
+@RequiredArgsConstructor
+@Order(2)
+@ConditionalOnProperty(name = "map.snapshot.export", havingValue = "true")
+public class TimetableSnapshotExporter implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TimetableSnapshotExporter.class);
+
+    private final TransitTimetableLoader loader;
+
+    @Value("${map.snapshot.path}")
+    private String snapshotPath;
+
+    @Value("${map.snapshot.version:}")
+    private String version;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path path = Path.of(snapshotPath);
+        String exportVersion = version.isBlank() ? loader.currentVersion() : version;
+        if (exportVersion == null) exportVersion = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmm"));
+        try {
+            if (isCurrent(path, exportVersion)) {
+                log.info("시간표 스냅샷이 이미 최신입니다: 버전 {}", exportVersion);
+                return;
+            }
+            long startedAt = System.currentTimeMillis();
+            TimetableSnapshot.write(loader.load(), exportVersion, path);
+            log.info("시간표 스냅샷 저장 완료: 버전 {}, {}bytes ({}ms)", exportVersion, Files.size(path),
+                    System.currentTimeMillis() - startedAt);
+        } catch (IOException | RuntimeException e) {
+            log.error("시간표 스냅샷 저장 실패", e);
+        }
+    }
+
+    // 같은 버전의 스냅샷이 이미 있는지, 형식이 바뀐 이전 스냅샷은 다시 만듦
+    private static boolean isCurrent(Path path, String version) {
+        if (!Files.isRegularFile(path)) return false;
+        try {
+            return version.equals(TimetableSnapshot.readVersion(path));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.imnotdurnk.domain.map.timetable;
+
+/**
+ * 적재가 끝난 시간표와 그 출처
+ *
+ * 교체 단위이므로 시간표와 버전이 항상 함께 바뀜
+ *
+ * @param timetable 시간표
+ * @param version 데이터 버전, 버전 정보가 없으면 null
+ * @param source 적재 출처 (snapshot / db)
+ * @param builtAt 적재 완료 시각 (epoch ms)
+ * @param buildMillis 적재에 걸린 시간(ms)
+ */
+public record TimetableState(TransitTimetable timetable, String version, String source, long builtAt, long buildMillis) {
+}
@@ -0,0 +1,40 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.domain.map.entity.TransitResult;
+
+/**
+ * 메모리 시간표에서 찾은 환승 구간(한 노선으로 이동하는 구간) 한 건
+ * StopRepository.findTransitRoute 의 결과와 같은 {@link TransitResult} 형태
+ */
+public class TransitLegResult implements TransitResult {
+
+    private final String route;
+    private final String start;
+    private final String end;
+    private final Integer duration;
+    private final Integer seq1;
+    private final Integer seq2;
+    private final Integer type;
+    private final String routeId;
+
+    public TransitLegResult(String route, String start, String end, Integer duration,
+                            Integer seq1, Integer seq2, Integer type, String routeId) {
+        this.route = route;
+        this.start = start;
+        this.end = end;
+        this.duration = duration;
+        this.seq1 = seq1;
+        this.seq2 = seq2;
+        this.type = type;
+        this.routeId = routeId;
+    }
+
+    @Override public String getRoute() { return route; }
+    @Override public String getStart() { return start; }
+    @Override public String getEnd() { return end; }
+    @Override public Integer getDuration() { return duration; }
+    @Override public Integer getSeq1() { return seq1; }
+    @Override public Integer getSeq2() { return seq2; }
+    @Override public Integer getType() { return type; }
+    @Override public String getRouteId() { return routeId; }
+}
@@ -0,0 +1,101 @@
+package com.imnotdurnk.domain.map.timetable;
+
+/**
+ * 시간표 시각을 자정 기준 초(int)로 다루는 유틸
+ *
+ * GTFS 는 운행일을 넘긴 심야 운행을 "25:10:00" 처럼 24시 이상으로 표기하므로
+ * LocalTime 대신 초 단위 정수를 사용하며 24시 이상도 그대로 표현함
+ */
+public final class TransitTime {
+
+    public static final int NONE = -1;
+    public static final int MINUTE = 60;
+    public static final int HOUR = 60 * MINUTE;
+    public static final int DAY = 24 * HOUR;
+    /** 운행일이 바뀌는 시각, 이보다 이른 새벽 시각은 전날 운행일로 봄 */
+    public static final int SERVICE_DAY_START = 4 * HOUR;
+
+    private TransitTime() {}
+
+    /**
+     * "HH:mm:ss" 또는 "HH:mm" 문자열을 자정 기준 초로 변환
+     * split 없이 한 번 훑어서 변환하므로 적재 시 수천만 행에 써도 부담이 적음
+     *
+     * @param time 시각 문자열 (시는 24 이상 가능)
+     * @return 자정 기준 초
+     * @throws IllegalArgumentException 형식이 맞지 않는 경우
+     */
+    public static int parse(String time) {
+        if (time == null) throw new IllegalArgumentException("시각이 없습니다.");
+        int seconds = 0;
+        int value = 0;
+        int fields = 0;
+        boolean digit = false;
+        for (int i = 0; i < time.length(); i++) {
+            char c = time.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digit = true;
+            } else if (c == ':') {
+                if (!digit) throw new IllegalArgumentException("잘못된 시각 형식: " + time);
+                seconds = seconds * 60 + value;
+                value = 0;
+                digit = false;
+                fields++;
+            } else if (!Character.isWhitespace(c)) {
+                throw new IllegalArgumentException("잘못된 시각 형식: " + time);
+            }
+        }
+        if (!digit || fields < 1 || fields > 2) throw new IllegalArgumentException("잘못된 시각 형식: " + time);
+        seconds = seconds * 60 + value;
+        return fields == 1 ? seconds * 60 : seconds;
+    }
+
+    /**
+     * 자정 기준 초를 "HH:mm:ss" 로 변환 (24시 이상은 그대로 표기)
+     */
+    public static String format(int seconds) {
+        int hours = seconds / HOUR;
+        int minutes = seconds % HOUR / MINUTE;
+        int secs = seconds % MINUTE;
+        char[] buf = new char[hours >= 100 ? 9 : 8];
+        int p = 0;
+        if (hours >= 100) buf[p++] = (char) ('0' + hours / 100);
+        buf[p++] = (char) ('0' + hours / 10 % 10);
+        buf[p++] = (char) ('0' + hours % 10);
+        buf[p++] = ':';
+        buf[p++] = (char) ('0' + minutes / 10);
+        buf[p++] = (char) ('0' + minutes % 10);
+        buf[p++] = ':';
+        buf[p++] = (char) ('0' + secs / 10);
+        buf[p] = (char) ('0' + secs % 10);
+        return new String(buf);
+    }
+
+    /**
+     * 기준 시각에 분을 더함
+     */
+    public static int plusMinutes(int seconds, int minutes) {
+        return seconds + minutes * MINUTE;
+    }
+
+    /**
+     * 현재 시각부터 시간표 시각까지 남은 초
+     *
+     * 시간표 시각은 운행일 기준(24시 이상 가능)이고 현재 시각은 0~24시이므로,
+     * {@link #SERVICE_DAY_START} 전의 시각은 둘 다 전날 운행일의 24시 이후로 옮긴 뒤 차이를 구함
+     * (00:30 에 24:40 출발이면 10분 남음, 23:30 에 00:10 출발이면 40분 남음, 11:00 에 23:30 출발이면 750분 남음)
+     *
+     * @param now 현재 시각 (자정 기준 초)
+     * @param time 시간표 시각 (운행일 자정 기준 초)
+     * @return 남은 초, 이미 지났으면 음수
+     */
+    public static int secondsUntil(int now, int time) {
+        return toServiceDay(time) - toServiceDay(now);
+    }
+
+    // 운행일 시작 전(새벽)의 0~24시 시각을 전날 운행일 기준(24시 이상)으로 옮김
+    private static int toServiceDay(int seconds) {
+        return seconds < SERVICE_DAY_START ? seconds + DAY : seconds;
+    }
+}
@@ -0,0 +1,265 @@
+package com.imnotdurnk.domain.map.timetable;
+
+/**
+ * station / route / stop_time 을 메모리에 올린 읽기 전용 시간표
+ *
+ * 객체 대신 원시 배열로만 구성하며 한 번 만들어지면 변경되지 않음
+ * - stop : 정류장 (인덱스 = 정류장 번호)
+ * - route : 노선 (인덱스 = 노선 번호)
+ * - slot : 노선 위의 한 정차 지점 (route, stop_sequence), 노선별로 stop_sequence 오름차순으로 연속 배치
+ * - departure : slot 별 출발 시각(자정 기준 초), slot 안에서 오름차순 정렬
+ *
+ * - trip : 운행, 출발 기록마다 어느 운행인지 함께 저장하고 운행별 정차 시각은 {@link TripStore} 에 둠
+ *
+ * slot 은 (정류장, 노선) 쌍마다 만들어지므로 slot 별 출발 시각 배열이 곧
+ * 정류장·노선 기준 출발 색인이 되고, 다음 출발 시각은 이진 탐색으로 찾음
+ * 승차한 운행의 하차 시각은 같은 운행 기록에서 읽으므로 소요 시간이 서로 다른 운행에 섞이지 않음
+ */
+public class TransitTimetable {
+
+    // 하차 지점을 지나지 않는 운행(단축 운행 등)을 건너뛸 때 확인할 최대 출발 기록 수
+    private static final int MAX_RIDE_SCAN = 32;
+
+    // 정류장
+    private final String[] stopIds;
+    private final String[] stopNames;
+    private final double[] stopLats;
+    private final double[] stopLons;
+
+    // 노선
+    private final String[] routeIds;
+    private final String[] routeNames;
+    private final int[] routeTypes;
+    private final int[] routeSlotOffsets;
+
+    // 노선별 정차 지점
+    private final int[] slotRoutes;
+    private final int[] slotStops;
+    private final int[] slotSeqs;
+    private final int[] slotDepartureOffsets;
+    private final int[] departures;
+    private final int[] departureTrips;
+
+    // 정류장 -> 정차 지점
+    private final int[] stopSlotOffsets;
+    private final int[] stopSlots;
+
+    // 운행별 정차 기록
+    private final TripStore trips;
+
+    // 정류장 좌표 격자 색인
+    private final StationGridIndex stationIndex;
+
+    // 정류장 간 도보 환승 간선
+    private final FootpathGraph footpaths;
+
+    // 같은 이름의 가까운 정류장(승강장) 묶음
+    private final StationClusters stationClusters;
+
+    // 노선별 정류장 좌표 (노선 구간·polyline 응답용)
+    private final RouteShapeStore routeShapes;
+
+    // 정차 지점별 막차
+    private final LastDepartureIndex lastDepartures;
+
+    TransitTimetable(String[] stopIds, String[] stopNames, double[] stopLats, double[] stopLons,
+                     String[] routeIds, String[] routeNames, int[] routeTypes, int[] routeSlotOffsets,
+                     int[] slotRoutes, int[] slotStops, int[] slotSeqs,
+                     int[] slotDepartureOffsets, int[] departures, int[] departureTrips,
+                     int[] stopSlotOffsets, int[] stopSlots, TripStore trips, FootpathGraph footpaths) {
+        this.stopIds = stopIds;
+        this.stopNames = stopNames;
+        this.stopLats = stopLats;
+        this.stopLons = stopLons;
+        this.routeIds = routeIds;
+        this.routeNames = routeNames;
+        this.routeTypes = routeTypes;
+        this.routeSlotOffsets = routeSlotOffsets;
+        this.slotRoutes = slotRoutes;
+        this.slotStops = slotStops;
+        this.slotSeqs = slotSeqs;
+        this.slotDepartureOffsets = slotDepartureOffsets;
+        this.departures = departures;
+        this.departureTrips = departureTrips;
+        this.stopSlotOffsets = stopSlotOffsets;
+        this.stopSlots = stopSlots;
+        this.trips = trips;
+        this.stationIndex = new StationGridIndex(stopLats, stopLons);
+        this.footpaths = footpaths;
+        this.stationClusters = StationClusters.build(this, StationClusters.DEFAULT_RADIUS);
+        this.routeShapes = new RouteShapeStore(this);
+        this.lastDepartures = new LastDepartureIndex(this);
+    }
+
+    public int getStopCount() { return stopIds.length; }
+    public String getStopId(int stop) { return stopIds[stop]; }
+    public String getStopName(int stop) { return stopNames[stop]; }
+    public double getStopLat(int stop) { return stopLats[stop]; }
+    public double getStopLon(int stop) { return stopLons[stop]; }
+
+    public int getRouteCount() { return routeIds.length; }
+    public String getRouteId(int route) { return routeIds[route]; }
+    public String getRouteName(int route) { return routeNames[route]; }
+    public int getRouteType(int route) { return routeTypes[route]; }
+    public int getRouteSlotStart(int route) { return routeSlotOffsets[route]; }
+    public int getRouteSlotEnd(int route) { return routeSlotOffsets[route + 1]; }
+
+    public int getSlotCount() { return slotStops.length; }
+    public int getSlotRoute(int slot) { return slotRoutes[slot]; }
+    public int getSlotStop(int slot) { return slotStops[slot]; }
+    public int getSlotSeq(int slot) { return slotSeqs[slot]; }
+
+    public int getStopSlotStart(int stop) { return stopSlotOffsets[stop]; }
+    public int getStopSlotEnd(int stop) { return stopSlotOffsets[stop + 1]; }
+    public int getStopSlot(int i) { return stopSlots[i]; }
+
+    public int getSlotDepartureStart(int slot) { return slotDepartureOffsets[slot]; }
+    public int getSlotDepartureEnd(int slot) { return slotDepartureOffsets[slot + 1]; }
+    public int getDepartureTime(int index) { return departures[index]; }
+    public int getDepartureTrip(int index) { return departureTrips[index]; }
+
+    public int getStopTimeCount() { return departures.length; }
+    public StationGridIndex getStationIndex() { return stationIndex; }
+    public TripStore getTrips() { return trips; }
+    public FootpathGraph getFootpaths() { return footpaths; }
+    public StationClusters getStationClusters() { return stationClusters; }
+    public RouteShapeStore getRouteShapes() { return routeShapes; }
+    public LastDepartureIndex getLastDepartures() { return lastDepartures; }
+
+    /**
+     * 정차 지점에서 주어진 시각 이후 첫 출발 기록의 위치를 이진 탐색으로 찾음
+     *
+     * @param slot 정차 지점
+     * @param time 기준 시각 (자정 기준 초)
+     * @param inclusive true 이면 같은 시각의 출발도 포함
+     * @return 출발 기록 위치, 없으면 -1
+     */
+    public int nextDepartureIndex(int slot, int time, boolean inclusive) {
+        int low = slotDepartureOffsets[slot];
+        int high = slotDepartureOffsets[slot + 1];
+        int target = inclusive ? time : time + 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departures[mid] < target) low = mid + 1;
+            else high = mid;
+        }
+        return low < slotDepartureOffsets[slot + 1] ? low : -1;
+    }
+
+    /**
+     * 정차 지점에서 주어진 시각 이후 첫 출발 시각
+     *
+     * @return 첫 출발 시각, 없으면 {@link TransitTime#NONE}
+     */
+    public int nextDeparture(int slot, int time, boolean inclusive) {
+        int index = nextDepartureIndex(slot, time, inclusive);
+        return index < 0 ? TransitTime.NONE : departures[index];
+    }
+
+    /**
+     * 기준 시각 이후 탈 수 있는 첫 출발 기록의 위치
+     * 자정을 넘긴 시각(예: 00:30)에는 전날 운행분(24:30 표기)도 함께 확인해서 더 이른 쪽을 반환함
+     *
+     * @param slot 정차 지점
+     * @param time 기준 시각 (자정 기준 초)
+     * @return 출발 기록 위치, 없으면 -1
+     */
+    public int nextBoardingIndex(int slot, int time) {
+        int sameDay = nextDepartureIndex(slot, time, false);
+        if (time >= TransitTime.DAY) return sameDay;
+        int previousDay = nextDepartureIndex(slot, time + TransitTime.DAY, false);
+        if (previousDay < 0) return sameDay;
+        if (sameDay < 0 || departures[previousDay] - TransitTime.DAY < departures[sameDay]) return previousDay;
+        return sameDay;
+    }
+
+    /**
+     * {@link #nextBoardingIndex} 가 고른 출발 기록을 기준 시각의 시간축으로 옮길 때 빼야 하는 값
+     * 전날 운행분(24시 이상 표기, 예: 00:30 기준의 24:40)이면 {@link TransitTime#DAY}, 아니면 0
+     * 전날 운행분은 항상 기준 시각 + 하루보다 늦게 출발하고, 같은 날 운행분이 그보다 늦으면 전날 운행분이 골라지므로 구분이 겹치지 않음
+     *
+     * @param index nextBoardingIndex 의 결과
+     * @param time nextBoardingIndex 에 넘긴 기준 시각
+     */
+    public int boardingOffset(int index, int time) {
+        return time < TransitTime.DAY && departures[index] > time + TransitTime.DAY ? TransitTime.DAY : 0;
+    }
+
+    /**
+     * 기준 시각 이후 탈 수 있는 첫 출발 시각
+     *
+     * @return 첫 출발 시각 (기준 시각과 같은 시간축, 전날 운행분 24:40 은 00:40), 없으면 {@link TransitTime#NONE}
+     */
+    public int nextBoarding(int slot, int time) {
+        int index = nextBoardingIndex(slot, time);
+        return index < 0 ? TransitTime.NONE : departures[index] - boardingOffset(index, time);
+    }
+
+    /**
+     * 승차 지점에서 기준 시각 이후 출발해 하차 지점까지 가는 첫 운행을 찾음
+     *
+     * 승차한 운행의 기록에서 하차 시각을 읽으므로 출발·도착이 같은 차량 기준임
+     * 운행 정보가 없는 기존 데이터는 하차 지점에서 승차 시각 이후 첫 출발 시각으로 대신함
+     *
+     * @param board 승차 정차 지점
+     * @param alight 하차 정차 지점 (같은 노선, 승차 지점보다 뒤)
+     * @param time 기준 시각 (자정 기준 초)
+     * @return {출발 시각, 도착 시각, 운행 번호}, 시각은 기준 시각과 같은 시간축, 없으면 null
+     */
+    public int[] nextRide(int board, int alight, int time) {
+        int index = nextBoardingIndex(board, time);
+        if (index < 0) return null;
+        // 전날 운행분에서 고르면 뒤의 출발 기록도 모두 전날 운행분임
+        int offset = boardingOffset(index, time);
+        int end = Math.min(slotDepartureOffsets[board + 1], index + MAX_RIDE_SCAN);
+        for (; index < end; index++) {
+            int departure = departures[index];
+            int trip = departureTrips[index];
+            int arrival = trip == TripStore.NO_TRIP
+                    ? nextDeparture(alight, departure, true)
+                    : trips.timeAt(trip, alight);
+            if (arrival != TransitTime.NONE && arrival >= departure) return new int[]{departure - offset, arrival - offset, trip};
+        }
+        return null;
+    }
+
+    /**
+     * 정류장·노선 기준으로 기준 시각 이후 첫 출발 시각을 찾음
+     *
+     * @param stop 정류장
+     * @param route 노선
+     * @param time 기준 시각 (자정 기준 초)
+     * @return 첫 출발 시각, 해당 정류장을 지나지 않거나 출발이 없으면 {@link TransitTime#NONE}
+     */
+    public int nextDeparture(int stop, int route, int time) {
+        int best = TransitTime.NONE;
+        for (int i = stopSlotOffsets[stop]; i < stopSlotOffsets[stop + 1]; i++) {
+            int slot = stopSlots[i];
+            if (slotRoutes[slot] != route) continue;
+            int departure = nextBoarding(slot, time);
+            if (departure != TransitTime.NONE && (best == TransitTime.NONE || departure < best)) best = departure;
+        }
+        return best;
+    }
+
+    /**
+     * 기준 좌표에서 반경 안에 있는 정류장 번호를 반환
+     *
+     * @param lat 기준 위도
+     * @param lon 기준 경도
+     * @param radius 반경(m)
+     * @return 반경 안의 정류장 번호 배열
+     */
+    public int[] stopsWithin(double lat, double lon, double radius) {
+        return stationIndex.within(lat, lon, radius);
+    }
+
+    /**
+     * 반경 안의 정류장을 같은 부모 정류장끼리 묶어서 반환
+     *
+     * @see StationClusters#group
+     */
+    public int[] stationsWithin(double lat, double lon, double radius) {
+        return stationClusters.group(stationIndex.within(lat, lon, radius));
+    }
+}
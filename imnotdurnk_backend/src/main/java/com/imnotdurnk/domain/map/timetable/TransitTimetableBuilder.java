@@ -0,0 +1,383 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * station / route / stop_time 행을 받아 {@link TransitTimetable} 을 만드는 빌더
+ *
+ * stop_time 은 수천만 행이 될 수 있으므로 행 단위 객체를 만들지 않고
+ * 원시 배열에 쌓은 뒤 노선 기준 계수 정렬로 묶음
+ * trip_id 가 있는 행은 운행 단위로도 묶어서 {@link TripStore} 를 만듦
+ *
+ * 정차 지점은 (노선, stop_sequence) 마다 하나이므로, GTFS 처럼 한 route_id 에 양방향이나 경유지가 다른 운행이 섞여
+ * 같은 stop_sequence 에 다른 정류장이 나오면 그 노선을 정차 패턴별 노선으로 나눔
+ * 나뉜 노선의 ID 는 첫 패턴이 원래 ID 를 그대로 쓰고, 나머지는 "{route_id}#{패턴 번호}" 로 붙임
+ */
+public class TransitTimetableBuilder {
+
+    private final Map<String, Integer> stopIndex = new HashMap<>();
+    private final List<String> stopIds = new ArrayList<>();
+    private final List<String> stopNames = new ArrayList<>();
+    private double[] stopLats = new double[1024];
+    private double[] stopLons = new double[1024];
+
+    private final Map<String, Integer> routeIndex = new HashMap<>();
+    private final List<String> routeIds = new ArrayList<>();
+    private final List<String> routeNames = new ArrayList<>();
+    private int[] routeTypes = new int[256];
+
+    private final Map<String, Integer> tripIndex = new HashMap<>();
+    private final List<String> tripIds = new ArrayList<>();
+    private int[] tripRoutes = new int[1024];
+
+    private double footpathRadius = FootpathGraph.DEFAULT_RADIUS;
+
+    private static final String PATTERN_SEPARATOR = "#";
+
+    private int rowCount;
+    private int[] rowTrips = new int[4096];
+    private int[] rowRoutes = new int[4096];
+    private int[] rowStops = new int[4096];
+    private int[] rowSeqs = new int[4096];
+    private int[] rowDepartures = new int[4096];
+
+    public TransitTimetableBuilder addStop(String stopId, String stopName, double lat, double lon) {
+        if (stopId == null || stopIndex.containsKey(stopId)) return this;
+        int index = stopIds.size();
+        if (index == stopLats.length) {
+            stopLats = Arrays.copyOf(stopLats, index * 2);
+            stopLons = Arrays.copyOf(stopLons, index * 2);
+        }
+        stopIndex.put(stopId, index);
+        stopIds.add(stopId);
+        stopNames.add(stopName);
+        stopLats[index] = lat;
+        stopLons[index] = lon;
+        return this;
+    }
+
+    /**
+     * 도보 환승 간선을 만들 반경(m), 기본값은 {@link FootpathGraph#DEFAULT_RADIUS}
+     */
+    public TransitTimetableBuilder footpathRadius(double radius) {
+        this.footpathRadius = radius;
+        return this;
+    }
+
+    public TransitTimetableBuilder addRoute(String routeId, String routeName, int routeType) {
+        if (routeId == null || routeIndex.containsKey(routeId)) return this;
+        int index = routeIds.size();
+        if (index == routeTypes.length) routeTypes = Arrays.copyOf(routeTypes, index * 2);
+        routeIndex.put(routeId, index);
+        routeIds.add(routeId);
+        routeNames.add(routeName);
+        routeTypes[index] = routeType;
+        return this;
+    }
+
+    public TransitTimetableBuilder addStopTime(String routeId, String stopId, int stopSequence, String departureTime) {
+        return addStopTime(null, routeId, stopId, stopSequence, departureTime);
+    }
+
+    public TransitTimetableBuilder addStopTime(String routeId, String stopId, int stopSequence, int departureTime) {
+        return addStopTime(null, routeId, stopId, stopSequence, departureTime);
+    }
+
+    /**
+     * stop_time 한 행을 문자열 시각으로 추가, 시각 형식이 잘못된 행은 버림
+     */
+    public TransitTimetableBuilder addStopTime(String tripId, String routeId, String stopId, int stopSequence, String departureTime) {
+        int seconds;
+        try {
+            seconds = TransitTime.parse(departureTime);
+        } catch (IllegalArgumentException e) {
+            return this;
+        }
+        return addStopTime(tripId, routeId, stopId, stopSequence, seconds);
+    }
+
+    /**
+     * stop_time 한 행을 추가
+     * 정류장이나 노선이 먼저 등록되지 않은 행은 DB 조인과 마찬가지로 버림
+     * 순번이나 시각이 음수인 행도 버림
+     *
+     * @param tripId 운행 ID, 없으면 null
+     * @param departureTime 출발 시각 (자정 기준 초)
+     */
+    public TransitTimetableBuilder addStopTime(String tripId, String routeId, String stopId, int stopSequence, int departureTime) {
+        Integer route = routeIndex.get(routeId);
+        Integer stop = stopIndex.get(stopId);
+        if (route == null || stop == null) return this;
+        if (stopSequence < 0 || departureTime < 0) return this;
+        if (rowCount == rowRoutes.length) {
+            int capacity = rowCount * 2;
+            rowTrips = Arrays.copyOf(rowTrips, capacity);
+            rowRoutes = Arrays.copyOf(rowRoutes, capacity);
+            rowStops = Arrays.copyOf(rowStops, capacity);
+            rowSeqs = Arrays.copyOf(rowSeqs, capacity);
+            rowDepartures = Arrays.copyOf(rowDepartures, capacity);
+        }
+        rowTrips[rowCount] = tripId == null ? TripStore.NO_TRIP : tripOf(tripId, route);
+        rowRoutes[rowCount] = route;
+        rowStops[rowCount] = stop;
+        rowSeqs[rowCount] = stopSequence;
+        rowDepartures[rowCount] = departureTime;
+        rowCount++;
+        return this;
+    }
+
+    // 행을 노선별로 계수 정렬하고 노선 안에서 정렬, routeRowOffsets 에 노선별 구간을 채움
+    private int[] groupRows(int[] routeRowOffsets) {
+        int routeCount = routeRowOffsets.length - 1;
+        for (int i = 0; i < rowCount; i++) routeRowOffsets[rowRoutes[i] + 1]++;
+        for (int r = 0; r < routeCount; r++) routeRowOffsets[r + 1] += routeRowOffsets[r];
+        int[] rows = new int[rowCount];
+        int[] cursor = Arrays.copyOf(routeRowOffsets, routeCount);
+        for (int i = 0; i < rowCount; i++) rows[cursor[rowRoutes[i]]++] = i;
+        sortRows(rows, routeRowOffsets, routeCount);
+        return rows;
+    }
+
+    /**
+     * 같은 stop_sequence 에 다른 정류장이 섞인 노선을 정차 패턴별 노선으로 나눔
+     *
+     * 운행마다 (stop_sequence -> 정류장) 패턴을 만들고, 겹치는 순번의 정류장이 모두 같은 기존 패턴에 합치거나 새 패턴을 만듦
+     * 단축 운행처럼 일부 정류장만 서는 운행은 충돌이 없으므로 원래 노선에 그대로 남음
+     * 운행 정보가 없는 행은 그 순번의 정류장이 같거나 비어 있는 첫 패턴으로 보냄
+     *
+     * @return 나눈 노선이 있으면 true (행의 노선 번호가 바뀌었으므로 다시 묶어야 함)
+     */
+    private boolean splitPatterns(int[] rows, int[] routeRowOffsets) {
+        int routeCount = routeRowOffsets.length - 1;
+        boolean split = false;
+        for (int r = 0; r < routeCount; r++) {
+            int start = routeRowOffsets[r];
+            int end = routeRowOffsets[r + 1];
+            // 행이 stop_sequence 순이므로 이웃한 행만 비교하면 충돌을 찾을 수 있음
+            boolean conflict = false;
+            for (int i = start + 1; i < end && !conflict; i++) {
+                conflict = rowSeqs[rows[i]] == rowSeqs[rows[i - 1]] && rowStops[rows[i]] != rowStops[rows[i - 1]];
+            }
+            if (!conflict) continue;
+
+            Map<Integer, Map<Integer, Integer>> tripStops = new TreeMap<>();
+            for (int i = start; i < end; i++) {
+                int row = rows[i];
+                if (rowTrips[row] == TripStore.NO_TRIP) continue;
+                tripStops.computeIfAbsent(rowTrips[row], t -> new HashMap<>()).putIfAbsent(rowSeqs[row], rowStops[row]);
+            }
+            List<Map<Integer, Integer>> patterns = new ArrayList<>();
+            Map<Integer, Integer> tripPatterns = new HashMap<>();
+            for (Map.Entry<Integer, Map<Integer, Integer>> trip : tripStops.entrySet()) {
+                tripPatterns.put(trip.getKey(), patternOf(patterns, trip.getValue()));
+            }
+            List<Integer> patternRoutes = new ArrayList<>();
+            patternRoutes.add(r);
+            for (int i = start; i < end; i++) {
+                int row = rows[i];
+                int pattern = rowTrips[row] == TripStore.NO_TRIP
+                        ? patternOf(patterns, Map.of(rowSeqs[row], rowStops[row]))
+                        : tripPatterns.get(rowTrips[row]);
+                while (patternRoutes.size() <= pattern) patternRoutes.add(addPatternRoute(r, patternRoutes.size()));
+                rowRoutes[row] = patternRoutes.get(pattern);
+                if (rowTrips[row] != TripStore.NO_TRIP) tripRoutes[rowTrips[row]] = rowRoutes[row];
+            }
+            split = true;
+        }
+        return split;
+    }
+
+    // 정류장이 겹치지 않는 첫 패턴에 합치고 번호를 반환, 없으면 새 패턴
+    private static int patternOf(List<Map<Integer, Integer>> patterns, Map<Integer, Integer> stops) {
+        for (int p = 0; p < patterns.size(); p++) {
+            Map<Integer, Integer> pattern = patterns.get(p);
+            boolean compatible = true;
+            for (Map.Entry<Integer, Integer> stop : stops.entrySet()) {
+                Integer existing = pattern.get(stop.getKey());
+                if (existing != null && !existing.equals(stop.getValue())) {
+                    compatible = false;
+                    break;
+                }
+            }
+            if (compatible) {
+                pattern.putAll(stops);
+                return p;
+            }
+        }
+        patterns.add(new HashMap<>(stops));
+        return patterns.size() - 1;
+    }
+
+    // 원래 노선의 이름·종류를 그대로 쓰는 패턴 노선 추가, routeIndex 에는 넣지 않으므로 addStopTime 은 원래 노선으로 받음
+    private int addPatternRoute(int route, int pattern) {
+        int index = routeIds.size();
+        if (index == routeTypes.length) routeTypes = Arrays.copyOf(routeTypes, index * 2);
+        routeIds.add(routeIds.get(route) + PATTERN_SEPARATOR + pattern);
+        routeNames.add(routeNames.get(route));
+        routeTypes[index] = routeTypes[route];
+        return index;
+    }
+
+    /**
+     * 노선별 구간 안의 행을 (stop_sequence, departure_time, trip) 순으로 정렬
+     *
+     * 행마다 박싱하지 않도록 정렬 키를 long 하나에 담아 원시 정렬함
+     * trip 은 키에 직접 넣지 않고, 행을 trip 순으로 계수 정렬한 순위를 넣어서 같은 trip 이면 입력 순서를 유지함
+     */
+    private void sortRows(int[] rows, int[] routeRowOffsets, int routeCount) {
+        int tripCount = tripIds.size();
+        // trip 순위 (운행 정보가 없는 NO_TRIP 이 맨 앞)
+        int[] tripOffsets = new int[tripCount + 2];
+        for (int i = 0; i < rowCount; i++) tripOffsets[rowTrips[i] + 2]++;
+        for (int t = 0; t <= tripCount; t++) tripOffsets[t + 1] += tripOffsets[t];
+        int[] rankRows = new int[rowCount];
+        int[] rowRanks = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            int rank = tripOffsets[rowTrips[i] + 1]++;
+            rankRows[rank] = i;
+            rowRanks[i] = rank;
+        }
+
+        int maxSeq = 0;
+        int maxDeparture = 0;
+        for (int i = 0; i < rowCount; i++) {
+            maxSeq = Math.max(maxSeq, rowSeqs[i]);
+            maxDeparture = Math.max(maxDeparture, rowDepartures[i]);
+        }
+        int rankBits = bitLength(rowCount);
+        int departureBits = bitLength(maxDeparture);
+        if (rankBits + departureBits + bitLength(maxSeq) > 63) {
+            throw new IllegalStateException("stop_time 정렬 키 범위를 넘었습니다.");
+        }
+
+        long rankMask = (1L << rankBits) - 1;
+        long[] keys = new long[rowCount];
+        for (int r = 0; r < routeCount; r++) {
+            int start = routeRowOffsets[r];
+            int end = routeRowOffsets[r + 1];
+            for (int i = start; i < end; i++) {
+                int row = rows[i];
+                keys[i] = ((long) rowSeqs[row] << (departureBits + rankBits))
+                        | ((long) rowDepartures[row] << rankBits)
+                        | rowRanks[row];
+            }
+            Arrays.sort(keys, start, end);
+            for (int i = start; i < end; i++) rows[i] = rankRows[(int) (keys[i] & rankMask)];
+        }
+    }
+
+    // 0 ~ value 를 담는 데 필요한 비트 수
+    private static int bitLength(int value) {
+        return 32 - Integer.numberOfLeadingZeros(value);
+    }
+
+    private int tripOf(String tripId, int route) {
+        Integer trip = tripIndex.get(tripId);
+        if (trip != null) return trip;
+        int index = tripIds.size();
+        if (index == tripRoutes.length) tripRoutes = Arrays.copyOf(tripRoutes, index * 2);
+        tripIndex.put(tripId, index);
+        tripIds.add(tripId);
+        tripRoutes[index] = route;
+        return index;
+    }
+
+    public TransitTimetable build() {
+        int stopCount = stopIds.size();
+
+        // 1. 노선 기준 계수 정렬
+        // 2. 노선 안에서 (stop_sequence, departure_time, trip) 정렬
+        int[] routeRowOffsets = new int[routeIds.size() + 1];
+        int[] rows = groupRows(routeRowOffsets);
+        // 같은 stop_sequence 에 다른 정류장이 섞인 노선은 정차 패턴별로 나눈 뒤 다시 묶음
+        if (splitPatterns(rows, routeRowOffsets)) {
+            routeRowOffsets = new int[routeIds.size() + 1];
+            rows = groupRows(routeRowOffsets);
+        }
+        int routeCount = routeIds.size();
+
+        // 3. stop_sequence 가 바뀔 때마다 정차 지점(slot)을 새로 만듦
+        int[] routeSlotOffsets = new int[routeCount + 1];
+        int[] slotRoutes = new int[Math.max(rowCount, 1)];
+        int[] slotStops = new int[Math.max(rowCount, 1)];
+        int[] slotSeqs = new int[Math.max(rowCount, 1)];
+        int[] slotDepartureOffsets = new int[rowCount + 1];
+        int[] departures = new int[rowCount];
+        int[] departureTrips = new int[rowCount];
+        int[] rowSlots = new int[rowCount];
+        int slotCount = 0;
+        int departureCount = 0;
+        for (int r = 0; r < routeCount; r++) {
+            routeSlotOffsets[r] = slotCount;
+            for (int i = routeRowOffsets[r]; i < routeRowOffsets[r + 1]; i++) {
+                int row = rows[i];
+                boolean newSlot = slotCount == routeSlotOffsets[r] || slotSeqs[slotCount - 1] != rowSeqs[row];
+                if (newSlot) {
+                    slotRoutes[slotCount] = r;
+                    slotStops[slotCount] = rowStops[row];
+                    slotSeqs[slotCount] = rowSeqs[row];
+                    slotDepartureOffsets[slotCount] = departureCount;
+                    slotCount++;
+                } else if (rowTrips[row] == TripStore.NO_TRIP && departures[departureCount - 1] == rowDepartures[row]) {
+                    // 운행 정보가 없으면 같은 시각 출발은 구분할 수 없으므로 하나만 남김
+                    rowSlots[row] = slotCount - 1;
+                    continue;
+                }
+                rowSlots[row] = slotCount - 1;
+                departureTrips[departureCount] = rowTrips[row];
+                departures[departureCount++] = rowDepartures[row];
+            }
+        }
+        routeSlotOffsets[routeCount] = slotCount;
+        slotDepartureOffsets[slotCount] = departureCount;
+
+        // 4. 정류장 -> 정차 지점 역색인
+        int[] stopSlotOffsets = new int[stopCount + 1];
+        for (int s = 0; s < slotCount; s++) stopSlotOffsets[slotStops[s] + 1]++;
+        for (int s = 0; s < stopCount; s++) stopSlotOffsets[s + 1] += stopSlotOffsets[s];
+        int[] stopSlots = new int[slotCount];
+        int[] stopCursor = Arrays.copyOf(stopSlotOffsets, stopCount);
+        for (int s = 0; s < slotCount; s++) stopSlots[stopCursor[slotStops[s]]++] = s;
+
+        // 5. 운행별 (slot, 시각) 압축 배열, 운행 안에서는 slot 순
+        int tripCount = tripIds.size();
+        int[] tripOffsets = new int[tripCount + 1];
+        for (int i = 0; i < rowCount; i++) {
+            if (rowTrips[i] != TripStore.NO_TRIP) tripOffsets[rowTrips[i] + 1]++;
+        }
+        for (int t = 0; t < tripCount; t++) tripOffsets[t + 1] += tripOffsets[t];
+        long[] tripEntries = new long[tripOffsets[tripCount]];
+        int[] tripCursor = Arrays.copyOf(tripOffsets, tripCount);
+        for (int i = 0; i < rowCount; i++) {
+            if (rowTrips[i] == TripStore.NO_TRIP) continue;
+            tripEntries[tripCursor[rowTrips[i]]++] = ((long) rowSlots[i] << 32) | (rowDepartures[i] & 0xffffffffL);
+        }
+        int[] tripSlots = new int[tripEntries.length];
+        int[] tripTimes = new int[tripEntries.length];
+        for (int t = 0; t < tripCount; t++) {
+            Arrays.sort(tripEntries, tripOffsets[t], tripOffsets[t + 1]);
+        }
+        for (int i = 0; i < tripEntries.length; i++) {
+            tripSlots[i] = (int) (tripEntries[i] >>> 32);
+            tripTimes[i] = (int) tripEntries[i];
+        }
+        TripStore trips = new TripStore(tripIds.toArray(new String[0]), Arrays.copyOf(tripRoutes, tripCount),
+                tripOffsets, tripSlots, tripTimes);
+
+        int[] routeTypeArray = Arrays.copyOf(routeTypes, routeCount);
+        double[] lats = Arrays.copyOf(stopLats, stopCount);
+        double[] lons = Arrays.copyOf(stopLons, stopCount);
+        return new TransitTimetable(
+                stopIds.toArray(new String[0]), stopNames.toArray(new String[0]), lats, lons,
+                routeIds.toArray(new String[0]), routeNames.toArray(new String[0]), routeTypeArray, routeSlotOffsets,
+                Arrays.copyOf(slotRoutes, slotCount), Arrays.copyOf(slotStops, slotCount), Arrays.copyOf(slotSeqs, slotCount),
+                Arrays.copyOf(slotDepartureOffsets, slotCount + 1), Arrays.copyOf(departures, departureCount),
+                Arrays.copyOf(departureTrips, departureCount),
+                stopSlotOffsets, stopSlots, trips, FootpathGraph.build(lats, lons, footpathRadius));
+    }
+}
@@ -0,0 +1,149 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 현재 사용 중인 메모리 시간표를 보관
+ *
+ * 적재는 애플리케이션 기동 후 별도 스레드에서 진행하고,
+ * 적재가 끝나기 전(또는 실패 시)에는 null 을 돌려줘서 호출 측이 DB 쿼리로 대신 처리하게 함
+ * map.snapshot.path 에 스냅샷 파일이 있으면 DB 대신 스냅샷에서 읽음
+ *
+ * 주기적으로 스냅샷 파일(또는 timetable_version 테이블)의 버전을 확인해서 바뀌었으면
+ * 요청 스레드가 아닌 스케줄러 스레드에서 새 시간표를 만들고 참조 하나만 바꿔서 교체함
+ * 요청은 시작할 때 {@link #state()} 로 받은 시간표를 끝까지 쓰므로 교체 중인 요청도 이전 버전으로 끝남
+ */
+@Component
+@RequiredArgsConstructor
+public class TransitTimetableHolder {
+
+    private static final Logger log = LoggerFactory.getLogger(TransitTimetableHolder.class);
+
+    private final TransitTimetableLoader loader;
+
+    @Value("${map.timetable.enabled:true}")
+    private boolean enabled;
+
+    @Value("${map.snapshot.path:}")
+    private String snapshotPath;
+
+    private final AtomicReference<TimetableState> state = new AtomicReference<>();
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) return;
+        Thread thread = new Thread(this::reload, "timetable-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 데이터 버전이 바뀌었으면 새 시간표를 만들어 교체
+     * 기동 시 적재가 아직 진행 중이면 건너뜀
+     */
+    @Scheduled(initialDelayString = "${map.timetable.watch-interval:60000}",
+            fixedDelayString = "${map.timetable.watch-interval:60000}")
+    public void watch() {
+        if (!enabled || loading.get()) return;
+        TimetableState current = state.get();
+        String available = availableVersion();
+        if (current != null && Objects.equals(current.version(), available)) return;
+        log.info("시간표 버전 변경 감지: {} -> {}", current == null ? null : current.version(), available);
+        reload();
+    }
+
+    /**
+     * 시간표를 새로 만들어 교체, 이미 적재 중이면 아무것도 하지 않음
+     */
+    public void reload() {
+        if (!loading.compareAndSet(false, true)) return;
+        try {
+            TimetableState loaded = load();
+            TimetableState previous = state.getAndSet(loaded);
+            log.info("시간표 교체 완료: 버전 {} -> {} ({}, {}ms)",
+                    previous == null ? null : previous.version(), loaded.version(), loaded.source(), loaded.buildMillis());
+        } catch (RuntimeException e) {
+            log.error("시간표 적재 실패, {}", state.get() == null ? "DB 쿼리로 경로를 조회합니다." : "이전 시간표를 계속 사용합니다.", e);
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    private TimetableState load() {
+        long startedAt = System.currentTimeMillis();
+        if (hasSnapshot()) {
+            try {
+                TimetableSnapshot snapshot = TimetableSnapshot.read(Path.of(snapshotPath));
+                log.info("시간표 스냅샷 적재 완료: 버전 {}, 정차 시각 {}건 ({}ms)", snapshot.getVersion(),
+                        snapshot.getTimetable().getStopTimeCount(), System.currentTimeMillis() - startedAt);
+                return state(snapshot.getTimetable(), snapshot.getVersion(), "snapshot", startedAt);
+            } catch (IOException e) {
+                log.warn("시간표 스냅샷을 읽지 못해 DB 에서 적재합니다.", e);
+            }
+        }
+        // 적재 도중 버전이 바뀌어도 다음 확인 때 다시 적재되도록 버전을 먼저 읽음
+        String version = loader.currentVersion();
+        return state(loader.load(), version, "db", startedAt);
+    }
+
+    // 지금 적재하면 받게 될 데이터 버전
+    private String availableVersion() {
+        if (hasSnapshot()) {
+            try {
+                return TimetableSnapshot.readVersion(Path.of(snapshotPath));
+            } catch (IOException e) {
+                log.warn("시간표 스냅샷 버전 확인 실패: {}", e.getMessage());
+            }
+        }
+        return loader.currentVersion();
+    }
+
+    private boolean hasSnapshot() {
+        return !snapshotPath.isBlank() && Files.isRegularFile(Path.of(snapshotPath));
+    }
+
+    private static TimetableState state(TransitTimetable timetable, String version, String source, long startedAt) {
+        long builtAt = System.currentTimeMillis();
+        return new TimetableState(timetable, version, source, builtAt, builtAt - startedAt);
+    }
+
+    /**
+     * 한 요청 안에서는 이 값을 한 번만 읽어서 시간표와 버전을 함께 씀
+     *
+     * @return 현재 시간표와 버전, 아직 적재되지 않았으면 null
+     */
+    public TimetableState state() {
+        return state.get();
+    }
+
+    /**
+     * @return 현재 시간표, 아직 적재되지 않았으면 null
+     */
+    public TransitTimetable current() {
+        TimetableState current = state.get();
+        return current == null ? null : current.timetable();
+    }
+
+    /**
+     * @return 현재 시간표 버전, 적재 전이거나 버전 정보가 없으면 null
+     */
+    public String currentVersion() {
+        TimetableState current = state.get();
+        return current == null ? null : current.version();
+    }
+}
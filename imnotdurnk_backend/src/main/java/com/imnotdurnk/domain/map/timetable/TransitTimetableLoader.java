@@ -0,0 +1,89 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.global.config.DataSourceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * station / route / stop_time 테이블을 읽어 {@link TransitTimetable} 을 만듦
+ *
+ * stop_time 은 행 수가 많아 JPA 엔티티 대신 JDBC 로 스트리밍해서 빌더에 바로 넣음
+ * 읽기만 하므로 replica 커넥션 풀을 씀
+ */
+@Component
+public class TransitTimetableLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(TransitTimetableLoader.class);
+
+    private final DataSource dataSource;
+
+    public TransitTimetableLoader(@Qualifier(DataSourceConfig.REPLICA) DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Value("${map.footpath.radius:300}")
+    private double footpathRadius;
+
+    public TransitTimetable load() {
+        long startedAt = System.currentTimeMillis();
+        TransitTimetableBuilder builder = new TransitTimetableBuilder().footpathRadius(footpathRadius);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL 드라이버는 fetchSize 가 Integer.MIN_VALUE 일 때만 결과를 스트리밍함
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+
+        jdbcTemplate.query("SELECT stop_id, stop_name, ST_Latitude(location) AS lat, ST_Longitude(location) AS lon FROM station",
+                rs -> {
+                    builder.addStop(trim(rs.getString("stop_id")), trim(rs.getString("stop_name")),
+                            rs.getDouble("lat"), rs.getDouble("lon"));
+                });
+
+        jdbcTemplate.query("SELECT route_id, route_short_name, route_type FROM route",
+                rs -> {
+                    builder.addRoute(trim(rs.getString("route_id")), trim(rs.getString("route_short_name")),
+                            rs.getInt("route_type"));
+                });
+
+        jdbcTemplate.query("SELECT trip_id, route_id, stop_id, stop_sequence, departure_time FROM stop_time",
+                rs -> {
+                    builder.addStopTime(trim(rs.getString("trip_id")),
+                            trim(rs.getString("route_id")), trim(rs.getString("stop_id")),
+                            rs.getInt("stop_sequence"), trim(rs.getString("departure_time")));
+                });
+
+        TransitTimetable timetable = builder.build();
+        log.info("시간표 적재 완료: 정류장 {}개, 노선 {}개, 운행 {}개, 정차 시각 {}건, 도보 환승 {}건 ({}ms)",
+                timetable.getStopCount(), timetable.getRouteCount(), timetable.getTrips().getTripCount(),
+                timetable.getStopTimeCount(), timetable.getFootpaths().getEdgeCount(),
+                System.currentTimeMillis() - startedAt);
+        return timetable;
+    }
+
+    /**
+     * timetable_version 테이블에 기록된 현재 데이터 버전
+     *
+     * @return 버전, 테이블이 없거나 비어 있으면 null
+     */
+    public String currentVersion() {
+        try {
+            List<String> versions = new JdbcTemplate(dataSource)
+                    .queryForList("SELECT version FROM timetable_version WHERE id = 1", String.class);
+            return versions.isEmpty() ? null : versions.get(0);
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+
+    // 원본 CSV 에서 넘어온 \r 등 공백 제거
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+}
@@ -0,0 +1,66 @@
+package com.imnotdurnk.domain.map.timetable;
+
+/**
+ * 운행(trip)별 정차 지점과 시각을 담은 압축 배열
+ *
+ * 운행 t 의 정차 기록은 [tripOffsets[t], tripOffsets[t + 1]) 구간에 있고
+ * 같은 노선의 정차 지점(slot) 번호는 stop_sequence 순이므로 구간 안에서 slot 오름차순으로 정렬되어 있음
+ * 따라서 "이 운행이 하차 지점에 몇 시에 도착하는가"를 이진 탐색 한 번으로 구할 수 있음
+ */
+public class TripStore {
+
+    /** 운행 정보가 없는 stop_time 행(trip_id 가 비어 있는 기존 데이터) */
+    public static final int NO_TRIP = -1;
+
+    private final String[] tripIds;
+    private final int[] tripRoutes;
+    private final int[] tripOffsets;
+    private final int[] tripSlots;
+    private final int[] tripTimes;
+
+    TripStore(String[] tripIds, int[] tripRoutes, int[] tripOffsets, int[] tripSlots, int[] tripTimes) {
+        this.tripIds = tripIds;
+        this.tripRoutes = tripRoutes;
+        this.tripOffsets = tripOffsets;
+        this.tripSlots = tripSlots;
+        this.tripTimes = tripTimes;
+    }
+
+    public int getTripCount() { return tripIds.length; }
+    public String getTripId(int trip) { return tripIds[trip]; }
+    public int getTripRoute(int trip) { return tripRoutes[trip]; }
+    public int getTripStart(int trip) { return tripOffsets[trip]; }
+    public int getTripEnd(int trip) { return tripOffsets[trip + 1]; }
+    public int getSlot(int i) { return tripSlots[i]; }
+    public int getTime(int i) { return tripTimes[i]; }
+
+    /**
+     * 운행이 정차 지점을 지나는 시각
+     *
+     * @param trip 운행 번호
+     * @param slot 정차 지점
+     * @return 정차 시각 (자정 기준 초), 해당 지점을 지나지 않으면 {@link TransitTime#NONE}
+     */
+    public int timeAt(int trip, int slot) {
+        int i = indexOf(trip, slot);
+        return i < 0 ? TransitTime.NONE : tripTimes[i];
+    }
+
+    /**
+     * 운행 구간 안에서 정차 지점의 위치
+     * 이후 정차 지점은 위치를 하나씩 늘려가며 순서대로 읽을 수 있음
+     *
+     * @return 정차 기록 위치, 해당 지점을 지나지 않으면 -1
+     */
+    public int indexOf(int trip, int slot) {
+        int low = tripOffsets[trip];
+        int high = tripOffsets[trip + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (tripSlots[mid] < slot) low = mid + 1;
+            else if (tripSlots[mid] > slot) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+}
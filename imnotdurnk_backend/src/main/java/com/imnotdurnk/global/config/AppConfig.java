@@ -1,14 +1,29 @@
 package com.imnotdurnk.global.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /**
+     * 경로 조회의 블로킹 작업(JPA, Redis)을 요청 스레드 대신 실행하는 스케줄러
+     * 스레드 수를 DB 커넥션 풀 크기에 맞춰 제한하고, 넘치는 작업은 큐에서 기다림
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler mapScheduler(@Value("${map.scheduler.threads:20}") int threads,
+                                  @Value("${map.scheduler.queue-size:1000}") int queueSize) {
+        return Schedulers.newBoundedElastic(threads, queueSize, "map-blocking");
+    }
 }
@@ -0,0 +1,86 @@
+package com.imnotdurnk.global.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 쓰기용(primary)과 읽기용(replica) 커넥션 풀을 나눠 둠
+ *
+ * {@link ReplicaReads} 로 감싼 map 도메인 조회만 replica 풀, 나머지는 readOnly 트랜잭션을 포함해 모두 primary 풀로 보냄
+ * 경로 탐색처럼 무거운 조회가 몰려도 회원/캘린더 쓰기 커넥션을 뺏지 않도록 풀 크기를 따로 잡음
+ * replica 주소가 없으면 primary 와 같은 DB 를 가리키는 별도 풀로 동작함
+ * 풀 이름(primary, replica)이 HikariCP 지표의 pool 태그로 붙음
+ */
+@Configuration
+public class DataSourceConfig {
+
+    public static final String PRIMARY = "primaryDataSource";
+    public static final String REPLICA = "replicaDataSource";
+
+    @Value("${spring.datasource.driver-class-name}")
+    private String driverClassName;
+
+    @Bean(name = PRIMARY, destroyMethod = "close")
+    public HikariDataSource primaryDataSource(@Value("${spring.datasource.url}") String url,
+                                              @Value("${spring.datasource.username}") String username,
+                                              @Value("${spring.datasource.password}") String password,
+                                              @Value("${spring.datasource.primary.maximum-pool-size:10}") int maximumPoolSize) {
+        return createPool("primary", url, username, password, maximumPoolSize, false);
+    }
+
+    @Bean(name = REPLICA, destroyMethod = "close")
+    public HikariDataSource replicaDataSource(@Value("${spring.datasource.replica.url:${spring.datasource.url}}") String url,
+                                              @Value("${spring.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${spring.datasource.replica.password:${spring.datasource.password}}") String password,
+                                              @Value("${spring.datasource.replica.maximum-pool-size:20}") int maximumPoolSize) {
+        return createPool("replica", url, username, password, maximumPoolSize, true);
+    }
+
+    /**
+     * JPA, JdbcTemplate 가 쓰는 기본 DataSource
+     *
+     * 트랜잭션이 시작될 때가 아니라 첫 쿼리를 보낼 때 커넥션을 가져오도록 LazyConnectionDataSourceProxy 로 감싸서,
+     * 저장소 메서드 안에서 시작한 트랜잭션도 {@link ReplicaReads} 구간을 보고 풀을 고르게 함
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier(PRIMARY) DataSource primary,
+                                 @Qualifier(REPLICA) DataSource replica) {
+        ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource();
+        routing.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private HikariDataSource createPool(String poolName, String url, String username, String password,
+                                        int maximumPoolSize, boolean readOnly) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(readOnly);
+        return dataSource;
+    }
+
+    // ReplicaReads 구간 안이면 replica, 아니면 primary
+    static class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return ReplicaReads.isActive() ? REPLICA : PRIMARY;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.imnotdurnk.global.config;
+
+import java.util.function.Supplier;
+
+/**
+ * replica 커넥션 풀로 보낼 조회 구간
+ *
+ * 이 구간 안에서 새로 가져오는 커넥션만 replica 풀에서 받고, 나머지 조회·쓰기는 모두 primary 풀을 씀
+ * 경로 탐색(map 도메인)의 무거운 조회만 명시적으로 감싸서 회원/캘린더 조회가 같은 풀을 나눠 쓰거나
+ * 지연된 replica 를 읽지 않도록 함
+ * 이미 primary 커넥션을 잡은 트랜잭션 안에서 부르면 그 커넥션을 그대로 씀
+ */
+public final class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> false);
+
+    private ReplicaReads() {}
+
+    public static <T> T call(Supplier<T> query) {
+        boolean previous = ACTIVE.get();
+        ACTIVE.set(true);
+        try {
+            return query.get();
+        } finally {
+            ACTIVE.set(previous);
+        }
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get();
+    }
+}
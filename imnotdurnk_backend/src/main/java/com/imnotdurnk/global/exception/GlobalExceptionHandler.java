@@ -90,6 +90,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return handleExceptionInternalWithHeader(exception.getCode(), exception.getMessage(), headers);
     }
 
+    // 외부 api 호출 한도 초과
+    @ExceptionHandler(QuotaExceededException.class)
+    public ResponseEntity<?> handleQuotaExceededException(QuotaExceededException exception){
+        return handleExceptionInternal(exception.getCode(), exception.getMessage());
+    }
+
     // 포맷이 일치하지 않는 음성 파일인 경우
     @ExceptionHandler(UnsupportedAudioFileException.class)
     public ResponseEntity<?> handleUnsupportedAudioFileException(UnsupportedAudioFileException exception){
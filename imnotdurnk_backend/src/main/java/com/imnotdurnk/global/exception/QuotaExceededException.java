@@ -0,0 +1,18 @@
+package com.imnotdurnk.global.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/***
+ * 외부 API 의 호출 한도를 다 써서 더 이상 호출할 수 없는 경우 429 반환
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class QuotaExceededException extends RuntimeException {
+    private int code = HttpStatus.TOO_MANY_REQUESTS.value();
+
+    public QuotaExceededException(String message) { super(message); }
+
+    public int getCode() {
+        return code;
+    }
+}
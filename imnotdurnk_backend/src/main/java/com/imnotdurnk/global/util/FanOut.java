@@ -0,0 +1,65 @@
+package com.imnotdurnk.global.util;
+
+import com.imnotdurnk.global.exception.ApiTimeOutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 블로킹 작업(JDBC, 외부 API) 여러 개를 가상 스레드에서 동시에 실행하고 모두 끝날 때까지 기다림
+ *
+ * 호출마다 작업당 가상 스레드 하나를 만들고, 호출이 끝나면 남은 작업을 모두 중단시킴
+ * - 하나라도 실패하면 나머지 작업을 인터럽트로 취소하고 그 예외를 그대로 던짐
+ * - 제한 시간 안에 모두 끝나지 않으면 남은 작업을 취소하고 {@link ApiTimeOutException}
+ * ForkJoin 공용 풀이나 요청 스레드를 블로킹 대기에 쓰지 않기 위함 (StructuredTaskScope 의 ShutdownOnFailure 와 같은 규칙)
+ */
+public class FanOut {
+
+    private FanOut() {}
+
+    /**
+     * @param tasks 실행할 작업
+     * @param timeout 모든 작업이 끝나야 하는 제한 시간
+     * @return 작업 순서와 같은 순서의 결과
+     */
+    public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) futures.add(completion.submit(task));
+
+            // 끝난 순서대로 확인해서 실패를 바로 알아챔
+            for (int i = 0; i < futures.size(); i++) {
+                Future<T> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) throw new ApiTimeOutException("작업 시간 초과: " + timeout.toMillis() + "ms");
+                done.get();
+            }
+
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) results.add(future.resultNow());
+            return results;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("작업 대기 중 인터럽트", e);
+        } finally {
+            // 실패·시간 초과로 빠져나올 때 아직 도는 작업을 취소함, 가상 스레드라 종료를 기다리지 않음
+            executor.shutdownNow();
+        }
+    }
+}
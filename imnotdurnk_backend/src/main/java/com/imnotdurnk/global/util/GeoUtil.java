@@ -0,0 +1,58 @@
+package com.imnotdurnk.global.util;
+
+import java.util.Locale;
+
+public class GeoUtil {
+
+    /**
+     * MySQL ST_Distance_Sphere 의 기본 반지름(m)
+     * DB 쿼리와 같은 값을 써야 500m 경계에 걸린 정류장이 동일하게 판정됨
+     */
+    public static final double EARTH_RADIUS_METERS = 6370986.0;
+
+    private GeoUtil() {}
+
+    /**
+     * 두 좌표 사이의 구면 거리(haversine)를 계산
+     *
+     * @param lat1 첫 번째 지점의 위도
+     * @param lon1 첫 번째 지점의 경도
+     * @param lat2 두 번째 지점의 위도
+     * @param lon2 두 번째 지점의 경도
+     * @return 두 지점 사이의 거리(m)
+     */
+    public static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * 중심에서 반지름 안의 모든 점을 포함하는 위경도 사각형을 WKT 폴리곤으로 만듦
+     * MySQL 에서 SPATIAL INDEX 를 타는 MBRContains 로 먼저 거르고 정확한 거리는 ST_Distance_Sphere 로 다시 확인할 때 씀
+     *
+     * 좌표 순서는 경도 위도(long-lat)이므로 ST_GeomFromText(wkt, 4326, 'axis-order=long-lat') 로 읽어야 함
+     *
+     * @param lat 중심 위도
+     * @param lon 중심 경도
+     * @param radius 반지름(m)
+     * @return POLYGON((minLon minLat, maxLon minLat, maxLon maxLat, minLon maxLat, minLon minLat))
+     */
+    public static String boundingBox(double lat, double lon, double radius) {
+        double angle = radius / EARTH_RADIUS_METERS;
+        double dLat = Math.toDegrees(angle);
+        double minLat = Math.max(-90, lat - dLat);
+        double maxLat = Math.min(90, lat + dLat);
+        // 원의 가장 동쪽/서쪽 점은 중심보다 극에 가까운 위도에 있으므로 cos 대신 asin 으로 정확히 구함
+        double sinRatio = Math.sin(angle) / Math.cos(Math.toRadians(lat));
+        double dLon = sinRatio >= 1 ? 180 : Math.toDegrees(Math.asin(sinRatio));
+        double minLon = Math.max(-180, lon - dLon);
+        double maxLon = Math.min(180, lon + dLon);
+        // 0 에 가까운 값이 지수 표기(1.0E-5)로 찍히지 않도록 고정 소수점으로 씀
+        return String.format(Locale.ROOT, "POLYGON((%.7f %.7f, %.7f %.7f, %.7f %.7f, %.7f %.7f, %.7f %.7f))",
+                minLon, minLat, maxLon, minLat, maxLon, maxLat, minLon, maxLat, minLon, minLat);
+    }
+}
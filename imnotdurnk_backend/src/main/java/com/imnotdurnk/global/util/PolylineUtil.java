@@ -0,0 +1,100 @@
+package com.imnotdurnk.global.util;
+
+/**
+ * Google Encoded Polyline 형식(정밀도 1e-5) 인코딩
+ *
+ * 좌표마다 이전 좌표와의 차이만 5비트 단위 가변 길이로 적으므로
+ * 정류장 수십 개짜리 구간도 수백 바이트 문자열 하나로 보낼 수 있음
+ */
+public class PolylineUtil {
+
+    private static final double PRECISION = 1e5;
+
+    private PolylineUtil() {}
+
+    /**
+     * 위도·경도를 1e-5 단위 정수로 변환
+     */
+    public static int toE5(double value) {
+        return (int) Math.round(value * PRECISION);
+    }
+
+    /**
+     * 좌표 배열의 [from, to) 구간을 인코딩
+     *
+     * @param latsE5 1e-5 단위 위도
+     * @param lonsE5 1e-5 단위 경도
+     * @param from 시작 위치 (포함)
+     * @param to 끝 위치 (제외)
+     * @return 인코딩된 polyline
+     */
+    public static String encode(int[] latsE5, int[] lonsE5, int from, int to) {
+        StringBuilder sb = new StringBuilder((to - from) * 8);
+        int prevLat = 0;
+        int prevLon = 0;
+        for (int i = from; i < to; i++) {
+            encodeValue(latsE5[i] - prevLat, sb);
+            encodeValue(lonsE5[i] - prevLon, sb);
+            prevLat = latsE5[i];
+            prevLon = lonsE5[i];
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 위도·경도 배열 전체를 인코딩
+     */
+    public static String encode(double[] lats, double[] lons) {
+        int[] latsE5 = new int[lats.length];
+        int[] lonsE5 = new int[lons.length];
+        for (int i = 0; i < lats.length; i++) {
+            latsE5[i] = toE5(lats[i]);
+            lonsE5[i] = toE5(lons[i]);
+        }
+        return encode(latsE5, lonsE5, 0, lats.length);
+    }
+
+    /**
+     * polyline 을 {위도, 경도} 배열로 복원
+     */
+    public static double[][] decode(String polyline) {
+        double[][] buffer = new double[polyline.length()][];
+        int count = 0;
+        int index = 0;
+        int lat = 0;
+        int lon = 0;
+        while (index < polyline.length()) {
+            int[] result = decodeValue(polyline, index);
+            lat += result[0];
+            result = decodeValue(polyline, result[1]);
+            lon += result[0];
+            index = result[1];
+            buffer[count++] = new double[]{lat / PRECISION, lon / PRECISION};
+        }
+        double[][] points = new double[count][];
+        System.arraycopy(buffer, 0, points, 0, count);
+        return points;
+    }
+
+    private static void encodeValue(int value, StringBuilder sb) {
+        int v = value < 0 ? ~(value << 1) : value << 1;
+        while (v >= 0x20) {
+            sb.append((char) ((0x20 | (v & 0x1f)) + 63));
+            v >>>= 5;
+        }
+        sb.append((char) (v + 63));
+    }
+
+    // {값, 다음 읽을 위치}
+    private static int[] decodeValue(String polyline, int index) {
+        int result = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = polyline.charAt(index++) - 63;
+            result |= (b & 0x1f) << shift;
+            shift += 5;
+        } while (b >= 0x20);
+        return new int[]{(result & 1) != 0 ? ~(result >> 1) : result >> 1, index};
+    }
+}
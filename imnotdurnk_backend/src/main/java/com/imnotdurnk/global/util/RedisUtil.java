@@ -48,6 +48,21 @@ public class RedisUtil {
         valueOperations.set(key, value, expireDuration);
     }
 
+    /**
+     * 지정된 키의 값을 1 증가시킴, 키가 없으면 1 로 만들고 만료 시간을 설정함
+     *
+     * @param key       증가시킬 키
+     * @param duration  키를 새로 만들 때의 만료 시간 (초 단위)
+     * @return 증가된 값
+     */
+    public long increment(String key, long duration) {
+        Long value = stringRedisTemplate.opsForValue().increment(key);
+        if (value != null && value == 1) {
+            stringRedisTemplate.expire(key, Duration.ofSeconds(duration));
+        }
+        return value == null ? 0 : value;
+    }
+
     /**
      * Redis 저장소에서 지정된 키에 해당하는 데이터를 삭제함
      *
@@ -0,0 +1,24 @@
+use `imnotdurnk_db`;
+
+-- station.location 을 SRID 4326 으로 바꾸고 SPATIAL INDEX 추가
+-- SRID 가 없는(0) 컬럼에는 공간 색인이 쓰이지 않으므로 먼저 값의 SRID 를 바꾼 뒤 컬럼에 SRID 를 고정함
+-- POINT(경도, 위도) 로 저장된 값은 ST_SRID 로 SRID 만 바꾸면 그대로 경도/위도로 해석됨
+-- 이후 좌표는 ST_X/ST_Y 대신 ST_Latitude/ST_Longitude 로 읽어야 함 (4326 은 위도가 첫 번째 축)
+UPDATE station SET location = ST_SRID(location, 4326);
+ALTER TABLE station MODIFY location POINT NOT NULL SRID 4326;
+CREATE SPATIAL INDEX idx_station_location ON station (location);
+
+-- 정류장별 출발 시각 조회(반경 안 정류장 -> 기준 시각 이후 출발)와 노선별 구간 조회용
+CREATE INDEX idx_stop_time_stop_departure ON stop_time (stop_id, departure_time);
+CREATE INDEX idx_stop_time_route_seq ON stop_time (route_id, stop_sequence);
+
+-- 적용 전후 비교 (서울시청 기준 500m)
+-- 적용 전: station 전체 스캔 후 ST_Distance_Sphere 로 거름
+--   EXPLAIN ANALYZE
+--   SELECT s.stop_id FROM station s
+--   WHERE ST_Distance_Sphere(point(ST_X(s.location), ST_Y(s.location)), point(126.97842, 37.56661)) < 500;
+-- 적용 후: idx_station_location 범위 스캔 후 반경 안 정류장만 거리 계산
+--   EXPLAIN ANALYZE
+--   SELECT s.stop_id FROM station s
+--   WHERE MBRContains(ST_GeomFromText('POLYGON((126.9727471 37.5621134, 126.9840929 37.5621134, 126.9840929 37.5711066, 126.9727471 37.5711066, 126.9727471 37.5621134))', 4326, 'axis-order=long-lat'), s.location)
+--   AND ST_Distance_Sphere(s.location, ST_SRID(point(126.97842, 37.56661), 4326)) < 500;
@@ -0,0 +1,7 @@
+use `imnotdurnk_db`;
+
+-- 운행(trip) 단위 조회를 위해 stop_time 에 trip_id 추가
+-- 기존 행은 NULL 로 남고, 조회 시 NULL 끼리는 같은 운행으로 취급함 (<=>)
+ALTER TABLE stop_time ADD COLUMN trip_id VARCHAR(255) NULL AFTER id;
+
+CREATE INDEX idx_stop_time_trip ON stop_time (trip_id, stop_sequence);
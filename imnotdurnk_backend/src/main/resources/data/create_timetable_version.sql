@@ -0,0 +1,9 @@
+use `imnotdurnk_db`;
+
+-- 메모리 시간표 데이터 버전 (한 행만 사용)
+-- 값이 바뀌면 각 서버가 주기적으로 확인하다가 시간표를 새로 적재함 (GTFS 적재 시 자동 갱신)
+CREATE TABLE IF NOT EXISTS timetable_version (
+    id INT PRIMARY KEY,
+    version VARCHAR(64) NOT NULL,
+    updated_at DATETIME NOT NULL
+);
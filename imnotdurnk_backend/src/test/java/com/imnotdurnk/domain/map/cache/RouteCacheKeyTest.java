@@ -0,0 +1,36 @@
+package com.imnotdurnk.domain.map.cache;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RouteCacheKeyTest {
+
+    private static String key(double startLat, double startLon, int time) {
+        return RouteCacheKey.of("test", 100, 300, startLat, startLon, 37.5665, 126.9780, time);
+    }
+
+    @DisplayName("수십 미터 떨어진 좌표와 같은 시각 구간은 같은 키가 된다.")
+    @Test
+    void sameCellAndBucket() {
+        // 위도 0.0001도 ≈ 11m
+        Assertions.assertThat(key(37.55520, 126.92370, 24 * 3600))
+                .isEqualTo(key(37.55530, 126.92380, 24 * 3600 + 120));
+    }
+
+    @DisplayName("격자 칸이나 시각 구간이 다르면 키가 달라진다.")
+    @Test
+    void differentCellOrBucket() {
+        String base = key(37.55520, 126.92370, 24 * 3600);
+        Assertions.assertThat(key(37.55720, 126.92370, 24 * 3600)).isNotEqualTo(base);
+        Assertions.assertThat(key(37.55520, 126.92370, 24 * 3600 + 300)).isNotEqualTo(base);
+    }
+
+    @DisplayName("시각 없는 키도 50m 격자 안의 좌표는 같은 키가 되고 이웃 칸은 달라진다.")
+    @Test
+    void timeIndependentKey() {
+        String base = RouteCacheKey.of("odsay", 50, 37.55520, 126.92370, 37.5665, 126.9780);
+        Assertions.assertThat(RouteCacheKey.of("odsay", 50, 37.55522, 126.92372, 37.5665, 126.9780)).isEqualTo(base);
+        Assertions.assertThat(RouteCacheKey.of("odsay", 50, 37.55620, 126.92370, 37.5665, 126.9780)).isNotEqualTo(base);
+    }
+}
@@ -0,0 +1,91 @@
+package com.imnotdurnk.domain.map.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imnotdurnk.global.exception.QuotaExceededException;
+import com.imnotdurnk.global.util.RedisUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class OdsayClientTest {
+
+    private static final String PATH = "{\"result\":{\"path\":[{\"pathType\":2,\"info\":{\"totalTime\":25}}]}}";
+    private static final String ERROR = "{\"error\":[{\"code\":\"-98\",\"message\":\"출발지와 도착지가 700m 이내입니다.\"}]}";
+
+    private final RedisUtil redisUtil = Mockito.mock(RedisUtil.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @DisplayName("같은 격자 칸으로 동시에 들어온 조회는 Odsay 를 한 번만 호출하고 응답을 한 번만 캐시한다.")
+    @Test
+    void coalesceConcurrentLookups() {
+        OdsayClient client = client(PATH, 1000);
+
+        List<Mono<JsonNode>> lookups = new ArrayList<>();
+        for (int i = 0; i < 5; i++) lookups.add(client.searchPubTransPath(127.0276, 37.4979, 127.0594, 37.5133));
+        List<JsonNode> responses = Flux.merge(lookups).collectList().block();
+
+        Assertions.assertThat(responses).hasSize(5);
+        Assertions.assertThat(responses.get(0).path("result").path("path").size()).isEqualTo(1);
+        Assertions.assertThat(calls.get()).isEqualTo(1);
+        Mockito.verify(redisUtil, Mockito.times(1)).increment(anyString(), anyLong());
+        Mockito.verify(redisUtil, Mockito.times(1)).setDataExpire(anyString(), anyString(), anyLong());
+    }
+
+    @DisplayName("하루 호출 수가 한도를 넘으면 Odsay 를 호출하지 않고 429 로 거절한다.")
+    @Test
+    void rejectWhenQuotaExceeded() {
+        Mockito.when(redisUtil.increment(anyString(), anyLong())).thenReturn(1001L);
+        OdsayClient client = client(PATH, 1000);
+
+        Assertions.assertThatThrownBy(() -> client.searchPubTransPath(127.0276, 37.4979, 127.0594, 37.5133).block())
+                .isInstanceOf(QuotaExceededException.class)
+                .extracting("code").isEqualTo(429);
+        Assertions.assertThat(calls.get()).isZero();
+        Assertions.assertThat(meterRegistry.get("map.odsay.request").tag("result", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @DisplayName("오류 응답은 그대로 돌려주되 캐시하지 않는다.")
+    @Test
+    void skipCachingErrorResponse() {
+        OdsayClient client = client(ERROR, 1000);
+
+        JsonNode response = client.searchPubTransPath(127.0276, 37.4979, 127.0277, 37.4980).block();
+
+        Assertions.assertThat(response.has("error")).isTrue();
+        Assertions.assertThat(calls.get()).isEqualTo(1);
+        Mockito.verify(redisUtil, Mockito.never()).setDataExpire(anyString(), anyString(), anyLong());
+    }
+
+    private OdsayClient client(String body, long dailyQuota) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(50)).map(tick -> ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        });
+        return new OdsayClient(new ObjectMapper(), redisUtil, Schedulers.immediate(), meterRegistry,
+                "test-key", 50, 86400, dailyQuota, builder);
+    }
+}
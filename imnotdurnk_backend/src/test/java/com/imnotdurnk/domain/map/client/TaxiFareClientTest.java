@@ -0,0 +1,71 @@
+package com.imnotdurnk.domain.map.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imnotdurnk.domain.map.taxi.TaxiFareEstimator;
+import com.imnotdurnk.domain.map.timetable.TransitTime;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TaxiFareClientTest {
+
+    private static final String FARE = "{\"results\":[{\"summary\":{\"fare\":{\"taxi\":15000,\"toll\":800}}}]}";
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @DisplayName("같은 출발지·도착지로 동시에 들어온 조회는 카카오를 한 번만 호출하고, 이후 조회는 캐시로 답한다.")
+    @Test
+    void coalesceConcurrentLookups() {
+        TaxiFareClient client = client(Duration.ofMillis(100), 1500);
+        int time = TransitTime.parse("23:30:00");
+
+        List<Mono<Integer>> lookups = new ArrayList<>();
+        for (int i = 0; i < 5; i++) lookups.add(client.getFare(127.0276, 37.4979, 127.0594, 37.5133, time));
+        List<Integer> fares = Flux.merge(lookups).collectList().block();
+
+        Assertions.assertThat(fares).hasSize(5).containsOnly(15800);
+        Assertions.assertThat(calls.get()).isEqualTo(1);
+
+        // 반올림 칸이 같은 좌표는 캐시에서 바로 답함
+        Assertions.assertThat(client.getFare(127.0277, 37.4978, 127.0594, 37.5133, time).block()).isEqualTo(15800);
+        Assertions.assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @DisplayName("응답이 대기 한도를 넘기면 요금 없이(빈 Mono) 끝나고, 늦게 온 응답은 다음 조회 때 캐시로 쓴다.")
+    @Test
+    void emptyWhenBudgetExceeded() {
+        TaxiFareClient client = client(Duration.ofMillis(300), 50);
+        int time = TransitTime.parse("23:30:00");
+
+        Assertions.assertThat(client.getFare(127.0276, 37.4979, 127.0594, 37.5133, time).blockOptional()).isEmpty();
+
+        Integer fare = Mono.delay(Duration.ofMillis(500))
+                .then(Mono.defer(() -> client.getFare(127.0276, 37.4979, 127.0594, 37.5133, time)))
+                .block();
+        Assertions.assertThat(fare).isEqualTo(15800);
+        Assertions.assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private TaxiFareClient client(Duration latency, long budgetMillis) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            calls.incrementAndGet();
+            return Mono.delay(latency).map(tick -> ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(FARE)
+                    .build());
+        });
+        return new TaxiFareClient(new ObjectMapper(), new TaxiFareEstimator(), budgetMillis, 600, builder);
+    }
+}
@@ -0,0 +1,58 @@
+package com.imnotdurnk.domain.map.gtfs;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+class GtfsCsvReaderTest {
+
+    @DisplayName("BOM, CRLF, 따옴표 필드를 처리하고 값에 \\r 을 남기지 않는다.")
+    @Test
+    void readQuotedAndCrlf() throws IOException {
+        String csv = "\uFEFFstop_id,stop_name,stop_lat\r\n"
+                + "1,\"강남역, \"\"2호선\"\"\",37.4979\r\n"
+                + "\r\n"
+                + "2,역삼역,37.5006\r\n";
+
+        GtfsCsvReader reader = new GtfsCsvReader(new StringReader(csv));
+        int id = reader.requireColumn("stop_id");
+        int name = reader.requireColumn("stop_name");
+        int lat = reader.requireColumn("stop_lat");
+
+        Assertions.assertThat(reader.next()).isTrue();
+        Assertions.assertThat(reader.getInt(id, -1)).isEqualTo(1);
+        Assertions.assertThat(reader.get(name)).isEqualTo("강남역, \"2호선\"");
+        Assertions.assertThat(reader.next()).isTrue();
+        Assertions.assertThat(reader.get(name)).isEqualTo("역삼역");
+        Assertions.assertThat(reader.getDouble(lat)).isEqualTo(37.5006);
+        Assertions.assertThat(reader.next()).isFalse();
+    }
+
+    @DisplayName("버퍼보다 긴 파일도 행 경계를 잃지 않고 끝까지 읽는다.")
+    @Test
+    void readAcrossBufferBoundary() throws IOException {
+        StringBuilder csv = new StringBuilder("trip_id,stop_sequence\n");
+        for (int i = 0; i < 100_000; i++) csv.append("T").append(i).append(',').append(i).append('\n');
+
+        GtfsCsvReader reader = new GtfsCsvReader(new StringReader(csv.toString()));
+        int rows = 0;
+        while (reader.next()) {
+            Assertions.assertThat(reader.get(0)).isEqualTo("T" + rows);
+            Assertions.assertThat(reader.getInt(1, -1)).isEqualTo(rows);
+            rows++;
+        }
+        Assertions.assertThat(rows).isEqualTo(100_000);
+    }
+
+    @DisplayName("헤더에 없는 필수 컬럼은 예외를 던진다.")
+    @Test
+    void requireMissingColumn() throws IOException {
+        GtfsCsvReader reader = new GtfsCsvReader(new StringReader("stop_id\n1\n"));
+
+        Assertions.assertThatThrownBy(() -> reader.requireColumn("stop_lat"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
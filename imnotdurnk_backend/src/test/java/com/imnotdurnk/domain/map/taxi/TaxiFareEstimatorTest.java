@@ -0,0 +1,47 @@
+package com.imnotdurnk.domain.map.taxi;
+
+import com.imnotdurnk.domain.map.timetable.TransitTime;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TaxiFareEstimatorTest {
+
+    private final TaxiFareEstimator estimator = new TaxiFareEstimator();
+
+    @DisplayName("기본 거리 안에서는 기본요금에 심야 할증만 붙는다.")
+    @Test
+    void baseFareWithSurcharge() {
+        Assertions.assertThat(estimator.estimate(1000, TransitTime.parse("12:00:00"))).isEqualTo(4800);
+        Assertions.assertThat(estimator.estimate(1000, TransitTime.parse("23:30:00"))).isEqualTo(6700);
+        Assertions.assertThat(estimator.estimate(1000, TransitTime.parse("26:30:00"))).isEqualTo(5800);
+    }
+
+    @DisplayName("기본 거리를 넘으면 거리·시간 요금이 더해진다.")
+    @Test
+    void distanceAndTimeFare() {
+        // 직선 5km * 우회 계수 1.3 = 6.5km, 기본 거리 이후 4.9km 에 48단위
+        Assertions.assertThat(estimator.estimate(5000, TransitTime.parse("12:00:00"))).isEqualTo(9600);
+        Assertions.assertThat(estimator.estimate(5000, TransitTime.parse("23:30:00"))).isEqualTo(13400);
+    }
+
+    @DisplayName("실제 요금이 추정치보다 비싸면 우회 계수가 커진다.")
+    @Test
+    void calibrateDetourFactor() {
+        int time = TransitTime.parse("12:00:00");
+        double before = estimator.getDetourFactor();
+
+        estimator.calibrate(5000, 12000, time);
+
+        Assertions.assertThat(estimator.getDetourFactor()).isGreaterThan(before);
+        Assertions.assertThat(estimator.estimate(5000, time)).isGreaterThanOrEqualTo(9600);
+    }
+
+    @DisplayName("기본요금 구간의 실제 요금으로는 보정하지 않는다.")
+    @Test
+    void ignoreBaseFareSample() {
+        estimator.calibrate(800, 4800, TransitTime.parse("12:00:00"));
+
+        Assertions.assertThat(estimator.getDetourFactor()).isEqualTo(TaxiFareEstimator.DEFAULT_DETOUR_FACTOR);
+    }
+}
@@ -0,0 +1,85 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.domain.map.entity.MapResult;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class DirectRouteSearchTest {
+
+    private TransitTimetable timetable;
+
+    @BeforeEach
+    void setUp() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A", "출발정류장", 37.500, 127.000)
+                .addStop("B", "중간정류장", 37.510, 127.000)
+                .addStop("C", "도착정류장", 37.520, 127.000);
+        builder.addRoute("R1", "100", 3)
+                .addRoute("R2", "200", 3);
+        builder.addStopTime("R1", "A", 1, "23:00:00")
+                .addStopTime("R1", "B", 2, "23:05:00")
+                .addStopTime("R1", "C", 3, "23:10:00")
+                .addStopTime("R1", "A", 1, "23:30:00")
+                .addStopTime("R1", "B", 2, "23:35:00")
+                .addStopTime("R1", "C", 3, "23:40:00");
+        // 반대 방향 노선은 목적지 쪽으로 가지 않으므로 결과에 나오면 안 됨
+        builder.addStopTime("R2", "C", 1, "23:20:00")
+                .addStopTime("R2", "A", 2, "23:40:00");
+        timetable = builder.build();
+    }
+
+    @DisplayName("기준 시각 이후 출발하는 직행 노선을 목적지와 가까운 하차 정류장으로 찾는다.")
+    @Test
+    void findDirectRoute() {
+        List<MapResult> results = new DirectRouteSearch(timetable)
+                .find(37.5001, 127.0, 37.5199, 127.0, TransitTime.parse("23:10:00"));
+
+        Assertions.assertThat(results).hasSize(1);
+        MapResult result = results.get(0);
+        Assertions.assertThat(result.getRoute()).contains("100");
+        Assertions.assertThat(result.getStartStop()).contains("출발정류장");
+        Assertions.assertThat(result.getDestStop()).contains("도착정류장");
+        Assertions.assertThat(result.getSeq1()).contains(1);
+        Assertions.assertThat(result.getSeq2()).contains(3);
+        Assertions.assertThat(result.getDuration()).contains(10.0);
+    }
+
+    @DisplayName("막차가 지난 뒤에는 결과가 없다.")
+    @Test
+    void noDepartureAfterLastService() {
+        List<MapResult> results = new DirectRouteSearch(timetable)
+                .find(37.5001, 127.0, 37.5199, 127.0, TransitTime.parse("23:50:00"));
+
+        Assertions.assertThat(results).isEmpty();
+    }
+
+    @DisplayName("소요 시간은 승차한 운행이 하차 정류장에 도착하는 시각으로 계산한다.")
+    @Test
+    void durationFollowsBoardedTrip() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A", "출발정류장", 37.500, 127.000)
+                .addStop("B", "중간정류장", 37.510, 127.000)
+                .addStop("C", "도착정류장", 37.520, 127.000);
+        builder.addRoute("R1", "100", 3);
+        // 먼저 출발하는 T1 은 느리고, 뒤에 출발하는 T2 가 C 에 먼저 도착함
+        builder.addStopTime("T1", "R1", "A", 1, "23:00:00")
+                .addStopTime("T1", "R1", "B", 2, "23:15:00")
+                .addStopTime("T1", "R1", "C", 3, "23:30:00")
+                .addStopTime("T2", "R1", "A", 1, "23:05:00")
+                .addStopTime("T2", "R1", "B", 2, "23:10:00")
+                .addStopTime("T2", "R1", "C", 3, "23:15:00");
+        // B 까지만 가는 단축 운행은 C 로 갈 때 건너뜀
+        builder.addStopTime("T0", "R1", "A", 1, "22:55:00")
+                .addStopTime("T0", "R1", "B", 2, "23:00:00");
+
+        List<MapResult> results = new DirectRouteSearch(builder.build())
+                .find(37.5001, 127.0, 37.5199, 127.0, TransitTime.parse("22:50:00"));
+
+        Assertions.assertThat(results).hasSize(1);
+        Assertions.assertThat(results.get(0).getDuration()).contains(30.0);
+    }
+}
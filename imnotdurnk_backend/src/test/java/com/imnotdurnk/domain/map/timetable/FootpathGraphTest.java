@@ -0,0 +1,34 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FootpathGraphTest {
+
+    // 위도 0.001도 ≈ 111m
+    private final double[] lats = {37.500, 37.501, 37.502, 37.510};
+    private final double[] lons = {127.000, 127.000, 127.000, 127.000};
+
+    @DisplayName("반경 안의 정류장 쌍만 양방향 간선으로 만들고 도착 정류장 번호 순으로 저장한다.")
+    @Test
+    void buildEdgesWithinRadius() {
+        FootpathGraph graph = FootpathGraph.build(lats, lons, 300);
+
+        Assertions.assertThat(targets(graph, 0)).containsExactly(1, 2);
+        Assertions.assertThat(targets(graph, 1)).containsExactly(0, 2);
+        Assertions.assertThat(targets(graph, 3)).isEmpty();
+        Assertions.assertThat(graph.getEdgeCount()).isEqualTo(6);
+
+        int edge = graph.find(0, 2);
+        Assertions.assertThat(graph.getMeters(edge)).isBetween(221, 223);
+        Assertions.assertThat(graph.getSeconds(edge)).isEqualTo(FootpathGraph.walkSeconds(graph.getMeters(edge)));
+        Assertions.assertThat(graph.find(0, 3)).isEqualTo(-1);
+    }
+
+    private int[] targets(FootpathGraph graph, int stop) {
+        int[] targets = new int[graph.getEdgeEnd(stop) - graph.getEdgeStart(stop)];
+        for (int i = 0; i < targets.length; i++) targets[i] = graph.getTarget(graph.getEdgeStart(stop) + i);
+        return targets;
+    }
+}
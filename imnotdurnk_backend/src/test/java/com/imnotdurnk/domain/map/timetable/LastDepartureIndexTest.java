@@ -0,0 +1,58 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class LastDepartureIndexTest {
+
+    private TransitTimetable timetable;
+
+    @BeforeEach
+    void setUp() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A", "출발정류장", 37.500, 127.000)
+                .addStop("B", "중간정류장", 37.510, 127.000)
+                .addStop("C", "집앞정류장", 37.520, 127.000);
+        builder.addRoute("R1", "100", 3)
+                .addRoute("R2", "200", 3);
+        builder.addStopTime("T1", "R1", "A", 1, "23:20:00")
+                .addStopTime("T1", "R1", "B", 2, "23:25:00")
+                .addStopTime("T1", "R1", "C", 3, "23:30:00")
+                .addStopTime("T2", "R1", "A", 1, "24:10:00")
+                .addStopTime("T2", "R1", "B", 2, "24:15:00")
+                .addStopTime("T3", "R1", "A", 1, "24:20:00")
+                .addStopTime("T3", "R1", "B", 2, "24:25:00");
+        // 반대 방향 노선은 집 쪽으로 가지 않으므로 결과에 나오면 안 됨
+        builder.addStopTime("R2", "C", 1, "24:00:00")
+                .addStopTime("R2", "A", 2, "24:20:00");
+        timetable = builder.build();
+    }
+
+    @DisplayName("마지막 운행이 하차 정류장까지 가지 않으면 그 전 운행을 막차로 찾는다.")
+    @Test
+    void skipShortTurn() {
+        List<LastDepartureIndex.LastDeparture> results = timetable.getLastDepartures()
+                .find(37.5001, 127.0, 37.5199, 127.0, 500);
+
+        Assertions.assertThat(results).hasSize(1);
+        LastDepartureIndex.LastDeparture last = results.get(0);
+        Assertions.assertThat(timetable.getRouteName(last.route())).isEqualTo("100");
+        Assertions.assertThat(timetable.getStopName(timetable.getSlotStop(last.alight()))).isEqualTo("집앞정류장");
+        Assertions.assertThat(TransitTime.format(last.departure())).isEqualTo("23:20:00");
+        Assertions.assertThat(TransitTime.format(last.arrival())).isEqualTo("23:30:00");
+    }
+
+    @DisplayName("하차 정류장까지 가는 운행이 마지막이면 그대로 막차가 된다.")
+    @Test
+    void lastTripReachesStop() {
+        List<LastDepartureIndex.LastDeparture> results = timetable.getLastDepartures()
+                .find(37.5001, 127.0, 37.5099, 127.0, 500);
+
+        Assertions.assertThat(results).hasSize(1);
+        Assertions.assertThat(TransitTime.format(results.get(0).departure())).isEqualTo("24:20:00");
+    }
+}
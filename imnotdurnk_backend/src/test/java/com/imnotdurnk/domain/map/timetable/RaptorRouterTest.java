@@ -0,0 +1,171 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.domain.map.dto.TransitDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class RaptorRouterTest {
+
+    private TransitTimetable timetable;
+
+    @BeforeEach
+    void setUp() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A", "출발정류장", 37.500, 127.000)
+                .addStop("B", "중간정류장", 37.510, 127.000)
+                .addStop("C", "환승정류장1", 37.520, 127.000)
+                .addStop("D", "환승정류장2", 37.521, 127.000)
+                .addStop("E", "도착정류장", 37.540, 127.000);
+        builder.addRoute("R1", "100", 3)
+                .addRoute("R2", "200", 3)
+                .addRoute("R3", "300", 3);
+        // C 에서 D 로 걸어서 갈아타면 23:30 도착
+        builder.addStopTime("T1", "R1", "A", 1, "23:00:00")
+                .addStopTime("T1", "R1", "B", 2, "23:05:00")
+                .addStopTime("T1", "R1", "C", 3, "23:10:00")
+                .addStopTime("T2", "R2", "D", 1, "23:20:00")
+                .addStopTime("T2", "R2", "E", 2, "23:30:00");
+        // 갈아타지 않고 한 번에 가면 23:50 도착
+        builder.addStopTime("T3", "R3", "A", 1, "23:01:00")
+                .addStopTime("T3", "R3", "E", 2, "23:50:00");
+        timetable = builder.build();
+    }
+
+    @DisplayName("환승 경로와 직행 경로가 서로 지배되지 않으면 둘 다 도착 시각 순으로 반환한다.")
+    @Test
+    void paretoItineraries() {
+        List<List<TransitDto>> result = new RaptorRouter(timetable)
+                .route(37.5001, 127.0, 37.5399, 127.0, TransitTime.parse("22:55:00"));
+
+        Assertions.assertThat(result).hasSize(2);
+        Assertions.assertThat(result.get(0)).extracting(TransitDto::getRoute).containsExactly("100", "200");
+        Assertions.assertThat(result.get(0)).extracting(TransitDto::getTimestamp).containsExactly("23:00:00", "23:20:00");
+        Assertions.assertThat(result.get(1)).extracting(TransitDto::getRoute).containsExactly("300");
+        Assertions.assertThat(result.get(1).get(0).getDuration()).isEqualTo(49);
+    }
+
+    @DisplayName("환승 노선의 막차를 놓치면 직행 경로만 남는다.")
+    @Test
+    void missedTransfer() {
+        List<List<TransitDto>> result = new RaptorRouter(timetable)
+                .route(37.5001, 127.0, 37.5399, 127.0, TransitTime.parse("23:00:30"));
+
+        Assertions.assertThat(result).hasSize(1);
+        Assertions.assertThat(result.get(0)).extracting(TransitDto::getRoute).containsExactly("300");
+    }
+
+    @DisplayName("자정 넘어 찾으면 전날 운행분(24시 이상 표기)의 심야버스를 기준 시각과 같은 시간축으로 반환한다.")
+    @Test
+    void afterMidnight() {
+        RaptorRouter router = new RaptorRouter(nightTimetable());
+
+        List<List<TransitDto>> result = router.route(37.5001, 127.0, 37.5399, 127.0, TransitTime.parse("00:30:00"));
+
+        Assertions.assertThat(result).hasSize(1);
+        Assertions.assertThat(result.get(0)).extracting(TransitDto::getRoute).containsExactly("N10");
+        Assertions.assertThat(result.get(0)).extracting(TransitDto::getTimestamp).containsExactly("00:40:00");
+        Assertions.assertThat(result.get(0).get(0).getDuration()).isEqualTo(20);
+    }
+
+    @DisplayName("타고 있는 운행이 건너뛰는 정류장에서도 같은 노선의 더 빨리 도착하는 운행으로 갈아탄다.")
+    @Test
+    void boardAtSkippedStop() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A", "출발정류장", 37.500, 127.000)
+                .addStop("X", "환승정류장", 37.503, 127.000)
+                .addStop("E", "도착정류장", 37.540, 127.000);
+        builder.addRoute("R1", "100", 3);
+        // T1 은 X 를 건너뛰고 늦게 도착, X 에서 타는 T2 가 먼저 도착함
+        builder.addStopTime("T1", "R1", "A", 1, "23:00:00")
+                .addStopTime("T1", "R1", "E", 3, "23:50:00")
+                .addStopTime("T2", "R1", "X", 2, "23:15:00")
+                .addStopTime("T2", "R1", "E", 3, "23:25:00");
+
+        List<List<TransitDto>> result = new RaptorRouter(builder.build())
+                .route(37.5001, 127.0, 37.5399, 127.0, TransitTime.parse("22:55:00"));
+
+        Assertions.assertThat(result).isNotEmpty();
+        Assertions.assertThat(result.get(0)).extracting(TransitDto::getTimestamp).containsExactly("23:15:00");
+        Assertions.assertThat(result.get(0).get(0).getDuration()).isEqualTo(10);
+    }
+
+    @DisplayName("여러 목적지를 한 번에 찾으면 목적지별로 따로 찾은 결과와 같다.")
+    @Test
+    void multipleDestinations() {
+        RaptorRouter router = new RaptorRouter(timetable);
+        int departure = TransitTime.parse("22:55:00");
+
+        List<List<List<TransitDto>>> result = router.route(37.5001, 127.0,
+                new double[][]{{37.5399, 127.0}, {37.5199, 127.0}}, departure);
+
+        Assertions.assertThat(result).hasSize(2);
+        Assertions.assertThat(result.get(0)).usingRecursiveComparison()
+                .isEqualTo(router.route(37.5001, 127.0, 37.5399, 127.0, departure));
+        Assertions.assertThat(result.get(1)).hasSize(1);
+        Assertions.assertThat(result.get(1).get(0)).extracting(TransitDto::getRoute).containsExactly("100");
+    }
+
+    @DisplayName("등시선은 이동 한도 안에 닿는 정류장만 가장 이른 도착 시각과 탑승 횟수로 반환한다.")
+    @Test
+    void isochrone() {
+        RaptorRouter router = new RaptorRouter(timetable);
+        int departure = TransitTime.parse("22:55:00");
+
+        Isochrone within30 = router.isochrone(37.5001, 127.0, departure, 30 * TransitTime.MINUTE, 250);
+        Assertions.assertThat(stopNames(within30)).containsExactlyInAnyOrder("출발정류장", "중간정류장", "환승정류장1", "환승정류장2");
+
+        Isochrone within40 = router.isochrone(37.5001, 127.0, departure, 40 * TransitTime.MINUTE, 250);
+        int e = indexOf(within40, "도착정류장");
+        Assertions.assertThat(TransitTime.format(within40.getArrival(e))).isEqualTo("23:30:00");
+        Assertions.assertThat(within40.getRides(e)).isEqualTo(2);
+
+        int[] cells = {0};
+        within40.forEachCell((lat, lon, arrival) -> {
+            Assertions.assertThat(arrival).isBetween(departure, within40.getDeadline());
+            cells[0]++;
+        });
+        Assertions.assertThat(cells[0]).isPositive();
+    }
+
+    @DisplayName("자정 넘어 구한 등시선에도 전날 운행분(24시 이상 표기) 심야버스로 닿는 정류장이 포함된다.")
+    @Test
+    void isochroneAfterMidnight() {
+        timetable = nightTimetable();
+        int departure = TransitTime.parse("00:30:00");
+
+        Isochrone within30 = new RaptorRouter(timetable).isochrone(37.5001, 127.0, departure, 30 * TransitTime.MINUTE, 250);
+
+        int e = indexOf(within30, "도착정류장");
+        Assertions.assertThat(e).isNotNegative();
+        Assertions.assertThat(TransitTime.format(within30.getArrival(e))).isEqualTo("01:00:00");
+        Assertions.assertThat(within30.getRides(e)).isEqualTo(1);
+    }
+
+    // 심야버스 N10 은 24:40 출발(전날 운행분), 첫차는 05:00 출발
+    private TransitTimetable nightTimetable() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A", "출발정류장", 37.500, 127.000)
+                .addStop("E", "도착정류장", 37.540, 127.000);
+        builder.addRoute("N1", "N10", 3);
+        builder.addStopTime("N1-1", "N1", "A", 1, "24:40:00")
+                .addStopTime("N1-1", "N1", "E", 2, "25:00:00")
+                .addStopTime("N1-2", "N1", "A", 1, "05:00:00")
+                .addStopTime("N1-2", "N1", "E", 2, "05:20:00");
+        return builder.build();
+    }
+
+    private List<String> stopNames(Isochrone isochrone) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < isochrone.getStopCount(); i++) names.add(timetable.getStopName(isochrone.getStop(i)));
+        return names;
+    }
+
+    private int indexOf(Isochrone isochrone, String stopName) {
+        return stopNames(isochrone).indexOf(stopName);
+    }
+}
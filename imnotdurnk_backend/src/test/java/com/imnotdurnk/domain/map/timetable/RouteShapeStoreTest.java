@@ -0,0 +1,64 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.domain.map.dto.RouteDto;
+import com.imnotdurnk.global.util.PolylineUtil;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class RouteShapeStoreTest {
+
+    private RouteShapeStore shapes;
+
+    @BeforeEach
+    void setUp() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A", "첫정류장", 37.500, 127.000)
+                .addStop("B", "둘째정류장", 37.510, 127.010)
+                .addStop("C", "셋째정류장", 37.520, 127.020)
+                .addStop("D", "넷째정류장", 37.530, 127.030);
+        builder.addRoute("R1", "100", 3)
+                .addRoute("R2", "200", 3);
+        // stop_sequence 가 연속되지 않아도 순서대로 잘라야 함
+        builder.addStopTime("T1", "R1", "A", 1, "23:00:00")
+                .addStopTime("T1", "R1", "B", 3, "23:05:00")
+                .addStopTime("T1", "R1", "C", 5, "23:10:00")
+                .addStopTime("T1", "R1", "D", 7, "23:15:00")
+                .addStopTime("T2", "R1", "A", 1, "23:30:00")
+                .addStopTime("T2", "R1", "B", 3, "23:35:00");
+        builder.addStopTime("T3", "R2", "D", 1, "23:00:00")
+                .addStopTime("T3", "R2", "A", 2, "23:20:00");
+        shapes = builder.build().getRouteShapes();
+    }
+
+    @DisplayName("두 stop_sequence 사이의 정류장을 순서대로 한 번씩 반환한다.")
+    @Test
+    void sliceBySequence() {
+        List<RouteDto> stops = shapes.slice("R1", 3, 7);
+
+        Assertions.assertThat(stops).extracting(stop -> stop.getStopName().orElse(null))
+                .containsExactly("둘째정류장", "셋째정류장", "넷째정류장");
+        Assertions.assertThat(stops.get(0).getLat()).contains("37.51");
+        Assertions.assertThat(stops.get(0).getLon()).contains("127.01");
+    }
+
+    @DisplayName("시간표에 없는 노선이면 null 을 반환해서 DB 조회로 넘긴다.")
+    @Test
+    void unknownRoute() {
+        Assertions.assertThat(shapes.slice("R9", 1, 3)).isNull();
+        Assertions.assertThat(shapes.polyline("R9", 1, 3)).isNull();
+    }
+
+    @DisplayName("구간 polyline 을 복원하면 정류장 좌표와 같다.")
+    @Test
+    void polylineMatchesSlice() {
+        double[][] points = PolylineUtil.decode(shapes.polyline("R1", 1, 5));
+
+        Assertions.assertThat(points).hasNumberOfRows(3);
+        Assertions.assertThat(points[0]).containsExactly(37.500, 127.000);
+        Assertions.assertThat(points[2]).containsExactly(37.520, 127.020);
+    }
+}
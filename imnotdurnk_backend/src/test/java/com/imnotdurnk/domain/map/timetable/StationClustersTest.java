@@ -0,0 +1,114 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.domain.map.entity.MapResult;
+import com.imnotdurnk.domain.map.entity.TransitResult;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class StationClustersTest {
+
+    private TransitTimetable timetable;
+
+    @BeforeEach
+    void setUp() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        // 위도 0.001도 ≈ 111m
+        builder.addStop("A1", "시청앞", 37.5000, 127.000)
+                .addStop("A2", "시청 앞", 37.5005, 127.000)
+                .addStop("B", "시청역", 37.5003, 127.000)
+                .addStop("A3", "시청앞", 37.5100, 127.000)
+                .addStop("C1", "도착정류장", 37.5200, 127.000)
+                .addStop("C2", "도착정류장", 37.5201, 127.000);
+        builder.addRoute("R1", "100", 3);
+        // 같은 노선이 운행마다 다른 승강장에 정차
+        builder.addStopTime("T1", "R1", "A1", 1, "23:00:00")
+                .addStopTime("T1", "R1", "C1", 3, "23:10:00");
+        builder.addStopTime("T2", "R1", "A2", 2, "23:01:00")
+                .addStopTime("T2", "R1", "C2", 4, "23:12:00");
+        timetable = builder.build();
+    }
+
+    @DisplayName("이름이 같고 가까운 승강장만 같은 부모 정류장으로 묶는다.")
+    @Test
+    void clusterByNameAndDistance() {
+        StationClusters clusters = timetable.getStationClusters();
+
+        Assertions.assertThat(clusters.getParent(0)).isEqualTo(clusters.getParent(1));
+        Assertions.assertThat(clusters.getParent(2)).isNotEqualTo(clusters.getParent(0));
+        Assertions.assertThat(clusters.getParent(3)).isNotEqualTo(clusters.getParent(0));
+        Assertions.assertThat(clusters.getParentCount()).isEqualTo(4);
+    }
+
+    @DisplayName("반경 검색은 걸린 승강장만 부모별로 묶고 반경 밖의 같은 부모 승강장은 더하지 않는다.")
+    @Test
+    void groupWithinRadius() {
+        Assertions.assertThat(timetable.stationsWithin(37.4996, 127.0, 50)).containsExactly(0);
+
+        int[] stops = timetable.stationsWithin(37.5002, 127.0, 60);
+        Assertions.assertThat(stops).containsExactlyInAnyOrder(0, 1, 2);
+        // 시청앞 두 승강장은 붙어 있고 시청역은 앞이나 뒤에 옴
+        Assertions.assertThat(stops[1]).isNotEqualTo(2);
+    }
+
+    @DisplayName("이름이 같은 노선을 같은 부모 정류장 사이에서 타는 직행 결과는 하나만 남긴다.")
+    @Test
+    void collapseDirectRoutesBetweenSameParents() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A1", "시청앞", 37.5000, 127.000)
+                .addStop("A2", "시청앞", 37.5005, 127.000)
+                .addStop("C1", "도착정류장", 37.5200, 127.000)
+                .addStop("C2", "도착정류장", 37.5201, 127.000);
+        // 승강장마다 route_id 가 따로 있는 같은 100번과 다른 노선 200번
+        builder.addRoute("R1", "100", 3)
+                .addRoute("R2", "100", 3)
+                .addRoute("R3", "200", 3);
+        builder.addStopTime("T1", "R1", "A1", 1, "23:00:00")
+                .addStopTime("T1", "R1", "C1", 2, "23:10:00")
+                .addStopTime("T2", "R2", "A2", 1, "23:01:00")
+                .addStopTime("T2", "R2", "C2", 2, "23:12:00")
+                .addStopTime("T3", "R3", "A2", 1, "23:02:00")
+                .addStopTime("T3", "R3", "C2", 2, "23:13:00");
+
+        List<MapResult> results = new DirectRouteSearch(builder.build())
+                .find(37.5001, 127.0, 37.5200, 127.0, TransitTime.parse("22:50:00"));
+
+        Assertions.assertThat(results).hasSize(2);
+        Assertions.assertThat(results.get(0).getRoute()).contains("100");
+        Assertions.assertThat(results.get(0).getRouteId()).contains("R1");
+        Assertions.assertThat(results.get(1).getRoute()).contains("200");
+    }
+
+    @DisplayName("출발지 반경 밖에 있는 같은 부모 승강장에서는 타지 않는다.")
+    @Test
+    void noBoardingOutsideRadius() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A1", "시청앞", 37.5000, 127.000)
+                .addStop("A2", "시청앞", 37.5010, 127.000)
+                .addStop("C", "도착정류장", 37.5200, 127.000);
+        builder.addRoute("R1", "100", 3);
+        builder.addStopTime("T1", "R1", "A2", 1, "23:00:00")
+                .addStopTime("T1", "R1", "C", 2, "23:10:00");
+        TransitTimetable clustered = builder.build();
+        Assertions.assertThat(clustered.getStationClusters().getParent(0)).isEqualTo(clustered.getStationClusters().getParent(1));
+
+        // A1 까지는 약 467m, A2 까지는 약 578m
+        List<MapResult> results = new DirectRouteSearch(clustered)
+                .find(37.4958, 127.0, 37.5200, 127.0, TransitTime.parse("22:50:00"));
+
+        Assertions.assertThat(results).isEmpty();
+    }
+
+    @DisplayName("같은 부모 정류장 사이를 같은 노선으로 가는 구간은 가장 빠른 하나만 남긴다.")
+    @Test
+    void collapseLegsBetweenSameParents() {
+        List<TransitResult> legs = new DirectRouteSearch(timetable)
+                .findLegs(37.5001, 127.0, 37.5200, 127.0, TransitTime.parse("22:50:00"));
+
+        Assertions.assertThat(legs).hasSize(1);
+        Assertions.assertThat(legs.get(0).getDuration()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,79 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.global.util.GeoUtil;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+class StationGridIndexTest {
+
+    private final Random random = new Random(609);
+
+    @DisplayName("격자 색인의 반경 검색 결과가 전체 탐색 결과와 같다.")
+    @Test
+    void withinMatchesBruteForce() {
+        int n = 5000;
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = 37.45 + random.nextDouble() * 0.2;
+            lons[i] = 126.90 + random.nextDouble() * 0.2;
+        }
+        StationGridIndex index = new StationGridIndex(lats, lons);
+
+        for (int q = 0; q < 50; q++) {
+            double lat = 37.45 + random.nextDouble() * 0.2;
+            double lon = 126.90 + random.nextDouble() * 0.2;
+            int[] expected = IntStream.range(0, n)
+                    .filter(i -> GeoUtil.distance(lat, lon, lats[i], lons[i]) < 500)
+                    .toArray();
+            int[] actual = index.within(lat, lon, 500);
+            Arrays.sort(actual);
+
+            Assertions.assertThat(actual).containsExactly(expected);
+        }
+    }
+
+    @DisplayName("가까운 정류장 k개를 거리순으로 반환한다.")
+    @Test
+    void nearestReturnsClosestFirst() {
+        double[] lats = {37.5000, 37.5010, 37.5100, 37.6000};
+        double[] lons = {127.0000, 127.0000, 127.0000, 127.0000};
+        StationGridIndex index = new StationGridIndex(lats, lons);
+
+        int[] nearest = index.nearest(37.5009, 127.0, 2, 5000);
+
+        Assertions.assertThat(nearest).containsExactly(1, 0);
+    }
+
+    @DisplayName("사각형 검색 결과가 전체 탐색 결과와 같다.")
+    @Test
+    void inBoxMatchesBruteForce() {
+        int n = 5000;
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = 37.45 + random.nextDouble() * 0.2;
+            lons[i] = 126.90 + random.nextDouble() * 0.2;
+        }
+        StationGridIndex index = new StationGridIndex(lats, lons);
+
+        for (int q = 0; q < 50; q++) {
+            double minLat = 37.45 + random.nextDouble() * 0.2;
+            double minLon = 126.90 + random.nextDouble() * 0.2;
+            double maxLat = minLat + random.nextDouble() * 0.05;
+            double maxLon = minLon + random.nextDouble() * 0.05;
+            int[] expected = IntStream.range(0, n)
+                    .filter(i -> lats[i] >= minLat && lats[i] <= maxLat && lons[i] >= minLon && lons[i] <= maxLon)
+                    .toArray();
+            int[] actual = index.inBox(minLat, minLon, maxLat, maxLon);
+            Arrays.sort(actual);
+
+            Assertions.assertThat(actual).containsExactly(expected);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class StationViewportTest {
+
+    private TransitTimetable timetable;
+
+    @BeforeEach
+    void setUp() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A", "시청", 37.5665, 126.9780)
+                .addStop("B", "시청앞", 37.5667, 126.9782)
+                .addStop("C", "광화문", 37.5759, 126.9769)
+                .addStop("D", "강남", 37.4979, 127.0276);
+        timetable = builder.build();
+    }
+
+    @DisplayName("bbox 를 타일 경계까지 넓히므로 조금 옮긴 bbox 도 같은 타일 범위가 된다.")
+    @Test
+    void snapToTiles() {
+        StationViewport viewport = StationViewport.of(37.560, 126.970, 37.580, 126.990, 14);
+        StationViewport moved = StationViewport.of(37.561, 126.971, 37.581, 126.991, 14);
+
+        Assertions.assertThat(moved.getMinX()).isEqualTo(viewport.getMinX());
+        Assertions.assertThat(moved.getMaxY()).isEqualTo(viewport.getMaxY());
+        Assertions.assertThat(viewport.getMinLat()).isLessThanOrEqualTo(37.560);
+        Assertions.assertThat(viewport.getMaxLon()).isGreaterThanOrEqualTo(126.990);
+    }
+
+    @DisplayName("높은 줌에서는 범위 안의 정류장을 하나씩 반환한다.")
+    @Test
+    void individualStations() {
+        List<StationViewport.Marker> markers = StationViewport.of(37.560, 126.970, 37.580, 126.990, 16)
+                .query(timetable, false);
+
+        Assertions.assertThat(markers).extracting(StationViewport.Marker::stop).containsExactlyInAnyOrder(0, 1, 2);
+        Assertions.assertThat(markers).allMatch(marker -> marker.count() == 1);
+    }
+
+    @DisplayName("낮은 줌에서는 같은 칸의 정류장을 묶어 수와 평균 좌표를 반환한다.")
+    @Test
+    void clusterByCell() {
+        List<StationViewport.Marker> markers = StationViewport.of(37.49, 126.97, 37.58, 127.03, 10)
+                .query(timetable, true);
+
+        Assertions.assertThat(markers).extracting(StationViewport.Marker::count).containsExactlyInAnyOrder(3, 1);
+        StationViewport.Marker cityHall = markers.stream().filter(marker -> marker.count() == 3).findFirst().orElseThrow();
+        Assertions.assertThat(cityHall.lat()).isCloseTo((37.5665 + 37.5667 + 37.5759) / 3, Assertions.within(1e-9));
+    }
+}
@@ -0,0 +1,64 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+class TimetableSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private TransitTimetable timetable() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A", "출발정류장", 37.500, 127.000)
+                .addStop("B", null, 37.510, 127.000)
+                .addStop("C", "도착정류장", 37.520, 127.000);
+        builder.addRoute("R1", "100", 3);
+        builder.addStopTime("T1", "R1", "A", 1, "23:00:00")
+                .addStopTime("T1", "R1", "B", 2, "23:05:00")
+                .addStopTime("T1", "R1", "C", 3, "23:10:00")
+                .addStopTime("R1", "A", 1, "23:30:00");
+        return builder.build();
+    }
+
+    @DisplayName("스냅샷으로 저장했다 읽은 시간표는 원래 시간표와 같은 결과를 낸다.")
+    @Test
+    void roundTrip() throws IOException {
+        TransitTimetable original = timetable();
+        Path path = dir.resolve("timetable.bin");
+
+        TimetableSnapshot.write(original, "20241001", path);
+        TimetableSnapshot snapshot = TimetableSnapshot.read(path);
+        TransitTimetable restored = snapshot.getTimetable();
+
+        Assertions.assertThat(snapshot.getVersion()).isEqualTo("20241001");
+        Assertions.assertThat(TimetableSnapshot.readVersion(path)).isEqualTo("20241001");
+        Assertions.assertThat(restored.getStopName(0)).isEqualTo("출발정류장");
+        Assertions.assertThat(restored.getStopName(1)).isNull();
+        Assertions.assertThat(restored.getStopLat(2)).isEqualTo(37.520);
+        Assertions.assertThat(restored.getStopTimeCount()).isEqualTo(original.getStopTimeCount());
+        Assertions.assertThat(restored.getTrips().getTripId(0)).isEqualTo("T1");
+        Assertions.assertThat(restored.getFootpaths().getEdgeCount()).isEqualTo(original.getFootpaths().getEdgeCount());
+        Assertions.assertThat(restored.getFootpaths().getRadius()).isEqualTo(original.getFootpaths().getRadius());
+
+        int time = TransitTime.parse("22:00:00");
+        Assertions.assertThat(restored.nextRide(0, 2, time)).containsExactly(original.nextRide(0, 2, time));
+    }
+
+    @DisplayName("잘린 스냅샷 파일은 IOException 으로 알린다.")
+    @Test
+    void truncatedFile() throws IOException {
+        Path path = dir.resolve("timetable.bin");
+        TimetableSnapshot.write(timetable(), "20241001", path);
+        Files.write(path, Arrays.copyOf(Files.readAllBytes(path), 100));
+
+        Assertions.assertThatThrownBy(() -> TimetableSnapshot.read(path)).isInstanceOf(IOException.class);
+    }
+}
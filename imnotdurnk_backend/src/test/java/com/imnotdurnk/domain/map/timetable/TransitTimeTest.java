@@ -0,0 +1,41 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TransitTimeTest {
+
+    @DisplayName("24시를 넘는 GTFS 시각을 초 단위로 변환하고 다시 같은 문자열로 되돌린다.")
+    @Test
+    void parseAndFormatPastMidnight() {
+        int seconds = TransitTime.parse("25:10:05");
+
+        Assertions.assertThat(seconds).isEqualTo(25 * 3600 + 10 * 60 + 5);
+        Assertions.assertThat(TransitTime.format(seconds)).isEqualTo("25:10:05");
+    }
+
+    @DisplayName("한 자리 시각과 HH:mm 형식도 변환한다.")
+    @Test
+    void parseShortForms() {
+        Assertions.assertThat(TransitTime.parse("9:05:00")).isEqualTo(9 * 3600 + 5 * 60);
+        Assertions.assertThat(TransitTime.parse("23:40")).isEqualTo(23 * 3600 + 40 * 60);
+    }
+
+    @DisplayName("형식이 잘못된 시각은 IllegalArgumentException이 발생한다.")
+    @Test
+    void rejectInvalidTime() {
+        Assertions.assertThatThrownBy(() -> TransitTime.parse("23-40"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("자정 전후 시각 차이는 새벽 4시에 바뀌는 운행일 기준으로 계산한다.")
+    @Test
+    void secondsUntilAcrossMidnight() {
+        Assertions.assertThat(TransitTime.secondsUntil(TransitTime.parse("00:30"), TransitTime.parse("24:40"))).isEqualTo(600);
+        Assertions.assertThat(TransitTime.secondsUntil(TransitTime.parse("23:30"), TransitTime.parse("00:10"))).isEqualTo(2400);
+        Assertions.assertThat(TransitTime.secondsUntil(TransitTime.parse("01:00"), TransitTime.parse("23:50"))).isEqualTo(-4200);
+        Assertions.assertThat(TransitTime.secondsUntil(TransitTime.parse("11:00"), TransitTime.parse("23:30"))).isEqualTo(45000);
+        Assertions.assertThat(TransitTime.secondsUntil(TransitTime.parse("12:30"), TransitTime.parse("24:10"))).isEqualTo(42000);
+    }
+}
@@ -0,0 +1,59 @@
+package com.imnotdurnk.domain.map.timetable;
+
+import com.imnotdurnk.domain.map.dto.RouteDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TransitTimetableBuilderTest {
+
+    @DisplayName("한 route_id 에 양방향 운행이 섞여 있으면 방향별 노선으로 나눠서 정차 지점마다 정류장이 하나가 되게 한다.")
+    @Test
+    void splitDirections() {
+        TransitTimetableBuilder builder = new TransitTimetableBuilder();
+        builder.addStop("A", "첫정류장", 37.500, 127.000)
+                .addStop("B", "둘째정류장", 37.510, 127.000)
+                .addStop("C", "셋째정류장", 37.520, 127.000);
+        builder.addRoute("R1", "100", 3);
+        // GTFS 는 상행·하행을 direction_id 로만 나누고 route_id 는 같게 둠
+        builder.addStopTime("T1", "R1", "A", 1, "23:00:00")
+                .addStopTime("T1", "R1", "B", 2, "23:05:00")
+                .addStopTime("T1", "R1", "C", 3, "23:10:00")
+                .addStopTime("T2", "R1", "C", 1, "23:20:00")
+                .addStopTime("T2", "R1", "B", 2, "23:25:00")
+                .addStopTime("T2", "R1", "A", 3, "23:30:00")
+                // 단축 운행은 충돌이 없으므로 원래 방향 노선에 남음
+                .addStopTime("T3", "R1", "A", 1, "23:40:00")
+                .addStopTime("T3", "R1", "B", 2, "23:45:00");
+        TransitTimetable timetable = builder.build();
+
+        Assertions.assertThat(timetable.getRouteCount()).isEqualTo(2);
+        Assertions.assertThat(timetable.getRouteId(0)).isEqualTo("R1");
+        Assertions.assertThat(timetable.getRouteId(1)).isEqualTo("R1#1");
+        Assertions.assertThat(timetable.getRouteName(1)).isEqualTo("100");
+        Assertions.assertThat(slotStopNames(timetable, 0)).containsExactly("첫정류장", "둘째정류장", "셋째정류장");
+        Assertions.assertThat(slotStopNames(timetable, 1)).containsExactly("셋째정류장", "둘째정류장", "첫정류장");
+
+        // 첫정류장 승차 지점에는 정방향 운행의 출발만 있음
+        int board = timetable.getRouteSlotStart(0);
+        Assertions.assertThat(timetable.getSlotDepartureEnd(board) - timetable.getSlotDepartureStart(board)).isEqualTo(2);
+        int[] ride = timetable.nextRide(board, board + 2, TransitTime.parse("22:50:00"));
+        Assertions.assertThat(ride).isNotNull();
+        Assertions.assertThat(TransitTime.format(ride[1])).isEqualTo("23:10:00");
+
+        List<RouteDto> reverse = timetable.getRouteShapes().slice("R1#1", 1, 3);
+        Assertions.assertThat(reverse).extracting(stop -> stop.getStopName().orElse(null))
+                .containsExactly("셋째정류장", "둘째정류장", "첫정류장");
+    }
+
+    private List<String> slotStopNames(TransitTimetable timetable, int route) {
+        List<String> names = new ArrayList<>();
+        for (int slot = timetable.getRouteSlotStart(route); slot < timetable.getRouteSlotEnd(route); slot++) {
+            names.add(timetable.getStopName(timetable.getSlotStop(slot)));
+        }
+        return names;
+    }
+}
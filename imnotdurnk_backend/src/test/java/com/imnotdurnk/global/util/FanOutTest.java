@@ -0,0 +1,55 @@
+package com.imnotdurnk.global.util;
+
+import com.imnotdurnk.global.exception.ApiTimeOutException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class FanOutTest {
+
+    @DisplayName("결과는 끝난 순서와 관계없이 작업 순서대로 반환한다.")
+    @Test
+    void keepsTaskOrder() {
+        List<Callable<Integer>> tasks = List.of(
+                () -> { Thread.sleep(50); return 1; },
+                () -> 2,
+                () -> { Thread.sleep(20); return 3; });
+
+        Assertions.assertThat(FanOut.invokeAll(tasks, Duration.ofSeconds(1))).containsExactly(1, 2, 3);
+    }
+
+    @DisplayName("작업 하나가 실패하면 그 예외를 던지고 나머지 작업을 취소한다.")
+    @Test
+    void cancelsSiblingsOnFailure() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<Callable<Integer>> tasks = List.of(
+                () -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return 1;
+                },
+                () -> { throw new IllegalArgumentException("실패"); });
+
+        Assertions.assertThatThrownBy(() -> FanOut.invokeAll(tasks, Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @DisplayName("제한 시간 안에 끝나지 않으면 시간 초과 예외를 던진다.")
+    @Test
+    void timesOut() {
+        List<Callable<Integer>> tasks = List.of(() -> { Thread.sleep(10_000); return 1; });
+
+        Assertions.assertThatThrownBy(() -> FanOut.invokeAll(tasks, Duration.ofMillis(50)))
+                .isInstanceOf(ApiTimeOutException.class);
+    }
+}
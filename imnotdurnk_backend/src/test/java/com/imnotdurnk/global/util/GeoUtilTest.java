@@ -0,0 +1,42 @@
+package com.imnotdurnk.global.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class GeoUtilTest {
+
+    @DisplayName("반경 사각형은 중심에서 반경만큼 떨어진 동서남북 지점을 모두 포함한다.")
+    @Test
+    void boundingBoxContainsRadius() {
+        double lat = 37.56661;
+        double lon = 126.97842;
+        double[] box = parse(GeoUtil.boundingBox(lat, lon, 500));
+
+        // 북쪽 끝은 위도만 바뀌므로 정확히 반경, 동쪽 끝은 중심 위도에서 재면 반경보다 조금 짧음
+        Assertions.assertThat(GeoUtil.distance(lat, lon, box[3], lon)).isCloseTo(500, Assertions.within(0.1));
+        Assertions.assertThat(GeoUtil.distance(lat, lon, lat, box[2])).isBetween(499.0, 500.0);
+        Assertions.assertThat(box[0]).isLessThan(lon);
+        Assertions.assertThat(box[1]).isLessThan(lat);
+    }
+
+    @DisplayName("반경 사각형은 경도 위도 순서의 닫힌 WKT 폴리곤이다.")
+    @Test
+    void boundingBoxWkt() {
+        String wkt = GeoUtil.boundingBox(0.00001, 0.00001, 1);
+
+        Assertions.assertThat(wkt).startsWith("POLYGON((").doesNotContain("E");
+        String[] points = wkt.substring("POLYGON((".length(), wkt.length() - 2).split(", ");
+        Assertions.assertThat(points).hasSize(5);
+        Assertions.assertThat(points[0]).isEqualTo(points[4]);
+    }
+
+    // minLon, minLat, maxLon, maxLat
+    private static double[] parse(String wkt) {
+        String[] points = wkt.substring("POLYGON((".length(), wkt.length() - 2).split(", ");
+        String[] min = points[0].split(" ");
+        String[] max = points[2].split(" ");
+        return new double[]{Double.parseDouble(min[0]), Double.parseDouble(min[1]),
+                Double.parseDouble(max[0]), Double.parseDouble(max[1])};
+    }
+}
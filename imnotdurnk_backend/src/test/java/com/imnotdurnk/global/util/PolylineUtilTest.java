@@ -0,0 +1,30 @@
+package com.imnotdurnk.global.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PolylineUtilTest {
+
+    @DisplayName("Google Encoded Polyline 예제 좌표를 같은 문자열로 인코딩한다.")
+    @Test
+    void encodeReferenceExample() {
+        String polyline = PolylineUtil.encode(
+                new double[]{38.5, 40.7, 43.252},
+                new double[]{-120.2, -120.95, -126.453});
+
+        Assertions.assertThat(polyline).isEqualTo("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+    }
+
+    @DisplayName("인코딩한 polyline 을 복원하면 원래 좌표가 나온다.")
+    @Test
+    void decodeRoundTrip() {
+        double[][] points = PolylineUtil.decode(PolylineUtil.encode(
+                new double[]{37.56661, 37.49794},
+                new double[]{126.97842, 127.02762}));
+
+        Assertions.assertThat(points).hasNumberOfRows(2);
+        Assertions.assertThat(points[0]).containsExactly(37.56661, 126.97842);
+        Assertions.assertThat(points[1]).containsExactly(37.49794, 127.02762);
+    }
+}